@@ -0,0 +1,355 @@
+package org.jfree.date;
+
+/**
+ * The bulk operations shared by the columns of date serial numbers,
+ * written against a small storage accessor so that on-heap and off-heap
+ * columns use the same code.
+ * <p>
+ * The bulk accessors write into arrays supplied by the caller, and the bulk
+ * arithmetic updates the column in place, so none of them allocate.
+ *
+ * @see DayDateColumn
+ * @see OffHeapDayDateColumn
+ */
+public abstract class AbstractDayDateColumn {
+
+    AbstractDayDateColumn() {
+    }
+
+    /**
+     * Returns the number of dates in the column.
+     *
+     * @return The number of dates.
+     */
+    public abstract int size();
+
+    /**
+     * Returns the serial number at an index, without checking the index.
+     */
+    abstract int serialAt(int index);
+
+    /**
+     * Sets the serial number at an index, without checking the index or the
+     * serial number.
+     */
+    abstract void setSerialAt(int index, int serial);
+
+    /**
+     * Checks that the storage can be used; called once by each public
+     * operation before it touches the storage.
+     */
+    void checkAccess() {
+    }
+
+    public int getSerial(int index) {
+        checkAccess();
+        return serialAt(checkIndex(index));
+    }
+
+    public void setSerial(int index, int serial) {
+        checkAccess();
+        SpreadsheetDate.checkSerial(serial);
+        setSerialAt(checkIndex(index), serial);
+    }
+
+    /**
+     * Returns the date at the given index, made by {@link DayDateFactory}.
+     *
+     * @param index  the index.
+     * @return The date.
+     */
+    public DayDate get(int index) {
+        return DayDateFactory.makeDate(getSerial(index));
+    }
+
+    public void set(int index, DayDate date) {
+        setSerial(index, date.toSerial());
+    }
+
+    /**
+     * Copies the serial numbers into <code>result</code>.
+     *
+     * @param result  receives the serial numbers (at least {@link #size()}
+     *                long).
+     */
+    public void copyTo(int[] result) {
+        checkAccess();
+        checkResult(result.length);
+        final int size = size();
+        for (int i = 0; i < size; i++) {
+            result[i] = serialAt(i);
+        }
+    }
+
+    /**
+     * Writes the year of each date into <code>result</code>.
+     *
+     * @param result  receives the years (at least {@link #size()} long).
+     */
+    public void years(int[] result) {
+        checkAccess();
+        checkResult(result.length);
+        final int size = size();
+        for (int i = 0; i < size; i++) {
+            result[i] = SpreadsheetDate.packedYear(SpreadsheetDate.decodeSerial(serialAt(i)));
+        }
+    }
+
+    /**
+     * Writes the month (1 to 12) of each date into <code>result</code>.
+     *
+     * @param result  receives the months (at least {@link #size()} long).
+     */
+    public void months(int[] result) {
+        checkAccess();
+        checkResult(result.length);
+        final int size = size();
+        for (int i = 0; i < size; i++) {
+            result[i] = SpreadsheetDate.packedMonth(SpreadsheetDate.decodeSerial(serialAt(i)));
+        }
+    }
+
+    /**
+     * Writes the day of the month of each date into <code>result</code>.
+     *
+     * @param result  receives the days (at least {@link #size()} long).
+     */
+    public void daysOfMonth(int[] result) {
+        checkAccess();
+        checkResult(result.length);
+        final int size = size();
+        for (int i = 0; i < size; i++) {
+            result[i] = SpreadsheetDate.packedDay(SpreadsheetDate.decodeSerial(serialAt(i)));
+        }
+    }
+
+    /**
+     * Writes the day of the week of each date into <code>result</code>, using
+     * the same codes as {@link DayDate#getDayOfWeek()}.
+     *
+     * @param result  receives the day codes (at least {@link #size()} long).
+     */
+    public void daysOfWeek(int[] result) {
+        checkAccess();
+        checkResult(result.length);
+        final int size = size();
+        for (int i = 0; i < size; i++) {
+            result[i] = SpreadsheetDate.dayOfWeek(serialAt(i));
+        }
+    }
+
+    /**
+     * Adds a number of days to every date in the column.  The column is left
+     * unchanged if any result would fall outside the supported range.
+     *
+     * @param days  the number of days to add (can be negative).
+     */
+    public void addDays(int days) {
+        checkAccess();
+        final int size = size();
+        if (size > 0) {
+            SpreadsheetDate.checkSerial(minSerial() + days);
+            SpreadsheetDate.checkSerial(maxSerial() + days);
+        }
+        for (int i = 0; i < size; i++) {
+            setSerialAt(i, serialAt(i) + days);
+        }
+    }
+
+    /**
+     * Adds a number of months to every date in the column, with the same
+     * end-of-month adjustment as {@link DayDate#addMonths(int, DayDate)}.
+     * The column is left unchanged if any result would fall outside the
+     * supported range.
+     *
+     * @param months  the number of months to add (can be negative).
+     */
+    public void addMonths(int months) {
+        checkAccess();
+        final int size = size();
+        if (size > 0) {
+            checkYear(monthIndex(SpreadsheetDate.decodeSerial(minSerial()), months) / 12);
+            checkYear(monthIndex(SpreadsheetDate.decodeSerial(maxSerial()), months) / 12);
+        }
+        for (int i = 0; i < size; i++) {
+            final int packed = SpreadsheetDate.decodeSerial(serialAt(i));
+            final int total = monthIndex(packed, months);
+            final int yy = total / 12;
+            final int mm = total % 12 + 1;
+            final int dd = Math.min(SpreadsheetDate.packedDay(packed),
+                    DayDate.lastDayOfMonth(mm, yy));
+            setSerialAt(i, SpreadsheetDate.encodeSerial(dd, mm, yy));
+        }
+    }
+
+    /**
+     * Marks the dates that are before the given date.
+     *
+     * @param other  the date being compared to.
+     * @param result  receives the flags (at least {@link #size()} long).
+     * @return The number of dates before <code>other</code>.
+     */
+    public int isBefore(DayDate other, boolean[] result) {
+        checkAccess();
+        checkResult(result.length);
+        final int s = other.toSerial();
+        final int size = size();
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            final boolean match = serialAt(i) < s;
+            result[i] = match;
+            count += match ? 1 : 0;
+        }
+        return count;
+    }
+
+    /**
+     * Marks the dates that are on or before the given date.
+     *
+     * @param other  the date being compared to.
+     * @param result  receives the flags (at least {@link #size()} long).
+     * @return The number of dates on or before <code>other</code>.
+     */
+    public int isOnOrBefore(DayDate other, boolean[] result) {
+        checkAccess();
+        checkResult(result.length);
+        final int s = other.toSerial();
+        final int size = size();
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            final boolean match = serialAt(i) <= s;
+            result[i] = match;
+            count += match ? 1 : 0;
+        }
+        return count;
+    }
+
+    /**
+     * Marks the dates that are on the given date.
+     *
+     * @param other  the date being compared to.
+     * @param result  receives the flags (at least {@link #size()} long).
+     * @return The number of dates on <code>other</code>.
+     */
+    public int isOn(DayDate other, boolean[] result) {
+        checkAccess();
+        checkResult(result.length);
+        final int s = other.toSerial();
+        final int size = size();
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            final boolean match = serialAt(i) == s;
+            result[i] = match;
+            count += match ? 1 : 0;
+        }
+        return count;
+    }
+
+    /**
+     * Marks the dates that are on or after the given date.
+     *
+     * @param other  the date being compared to.
+     * @param result  receives the flags (at least {@link #size()} long).
+     * @return The number of dates on or after <code>other</code>.
+     */
+    public int isOnOrAfter(DayDate other, boolean[] result) {
+        checkAccess();
+        checkResult(result.length);
+        final int s = other.toSerial();
+        final int size = size();
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            final boolean match = serialAt(i) >= s;
+            result[i] = match;
+            count += match ? 1 : 0;
+        }
+        return count;
+    }
+
+    /**
+     * Marks the dates that are after the given date.
+     *
+     * @param other  the date being compared to.
+     * @param result  receives the flags (at least {@link #size()} long).
+     * @return The number of dates after <code>other</code>.
+     */
+    public int isAfter(DayDate other, boolean[] result) {
+        checkAccess();
+        checkResult(result.length);
+        final int s = other.toSerial();
+        final int size = size();
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            final boolean match = serialAt(i) > s;
+            result[i] = match;
+            count += match ? 1 : 0;
+        }
+        return count;
+    }
+
+    /**
+     * Writes the difference in days between each date and the given date,
+     * as {@link DayDate#compare(DayDate)} would return it.
+     *
+     * @param other  the date being compared to.
+     * @param result  receives the differences (at least {@link #size()} long).
+     */
+    public void compare(DayDate other, int[] result) {
+        checkAccess();
+        checkResult(result.length);
+        final int s = other.toSerial();
+        final int size = size();
+        for (int i = 0; i < size; i++) {
+            result[i] = serialAt(i) - s;
+        }
+    }
+
+    /**
+     * Returns the months since January of year 0 for a decoded date moved by
+     * a number of months.
+     */
+    private static int monthIndex(int packed, int months) {
+        return 12 * SpreadsheetDate.packedYear(packed)
+                + SpreadsheetDate.packedMonth(packed) + months - 1;
+    }
+
+    private static void checkYear(int year) {
+        if (year < 1900 || year > 9999) {
+            throw new IllegalArgumentException(
+                    "The result must be in the years 1900 to 9999.");
+        }
+    }
+
+    private int minSerial() {
+        int min = Integer.MAX_VALUE;
+        final int size = size();
+        for (int i = 0; i < size; i++) {
+            min = Math.min(min, serialAt(i));
+        }
+        return min;
+    }
+
+    private int maxSerial() {
+        int max = Integer.MIN_VALUE;
+        final int size = size();
+        for (int i = 0; i < size; i++) {
+            max = Math.max(max, serialAt(i));
+        }
+        return max;
+    }
+
+    final int checkIndex(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException(
+                    "Index " + index + " is outside a column of " + size());
+        }
+        return index;
+    }
+
+    private void checkResult(int length) {
+        if (length < size()) {
+            throw new IllegalArgumentException(
+                    "The result array holds " + length + " values but the column has " + size());
+        }
+    }
+}
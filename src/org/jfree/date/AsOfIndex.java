@@ -0,0 +1,255 @@
+package org.jfree.date;
+
+/**
+ * An immutable index of sorted serial numbers for "as of" lookups, such as
+ * the latest fixing on or before a date.
+ * <p>
+ * Results are positions in sorted order, from 0 to {@link #size()} - 1, so
+ * they can index a parallel array of values; -1 means there is no match.
+ * <p>
+ * Single lookups search a copy of the serials in Eytzinger order (the
+ * layout of a binary heap, where the children of entry <code>k</code> are at
+ * <code>2k</code> and <code>2k + 1</code>).  The first levels of every search
+ * share a few cache lines that stay hot, and each level's two candidates
+ * are adjacent in memory.  Batched lookups take a sorted array of probes and
+ * walk it together with the sorted serials in one merge pass, which is far
+ * cheaper per probe than any search when there are many probes.
+ */
+public class AsOfIndex {
+
+    private final int[] sorted;
+
+    /** The serials in Eytzinger order, from index 1. */
+    private final int[] eytzinger;
+
+    /** For each Eytzinger index, the position of that serial in sorted order. */
+    private final int[] positions;
+
+    /**
+     * Creates an index of the given serial numbers, which need not be
+     * sorted.  Duplicates are kept.
+     *
+     * @param serials  the serial numbers (the array is not changed).
+     */
+    public AsOfIndex(int[] serials) {
+        this.sorted = serials.clone();
+        if (!DayDateSort.isSorted(this.sorted)) {
+            DayDateSort.sort(this.sorted);
+        }
+        final int n = this.sorted.length;
+        this.eytzinger = new int[n + 1];
+        this.positions = new int[n + 1];
+        // an in-order walk of the implicit tree visits the entries in
+        // sorted order
+        int k = leftmost(1, n);
+        for (int i = 0; i < n; i++) {
+            this.eytzinger[k] = this.sorted[i];
+            this.positions[k] = i;
+            if (2 * k + 1 <= n) {
+                k = leftmost(2 * k + 1, n);
+            }
+            else {
+                // climb while k is a right child, then once more
+                k >>>= Integer.numberOfTrailingZeros(~k) + 1;
+            }
+        }
+    }
+
+    private static int leftmost(int k, int n) {
+        while (2 * k <= n) {
+            k = 2 * k;
+        }
+        return k;
+    }
+
+    /**
+     * Creates an index of the given dates.
+     *
+     * @param dates  the dates.
+     * @return An index.
+     */
+    public static AsOfIndex of(DayDate... dates) {
+        final int[] serials = new int[dates.length];
+        for (int i = 0; i < dates.length; i++) {
+            serials[i] = dates[i].toSerial();
+        }
+        return new AsOfIndex(serials);
+    }
+
+    public int size() {
+        return this.sorted.length;
+    }
+
+    /**
+     * Returns the serial number at a position in sorted order.
+     *
+     * @param position  the position.
+     * @return The serial number.
+     */
+    public int getSerial(int position) {
+        return this.sorted[position];
+    }
+
+    /**
+     * Returns the number of serials before the given one.
+     *
+     * @param serial  the serial number.
+     * @return The number of indexed serials less than <code>serial</code>.
+     */
+    public int rank(int serial) {
+        final int k = firstAbove(serial - 1);
+        return k == 0 ? this.sorted.length : this.positions[k];
+    }
+
+    public int rank(DayDate date) {
+        return rank(date.toSerial());
+    }
+
+    /**
+     * Returns the position of the last serial on or before the given one.
+     *
+     * @param serial  the serial number.
+     * @return The position, or -1 if every serial is after it.
+     */
+    public int floor(int serial) {
+        final int k = firstAbove(serial);
+        return (k == 0 ? this.sorted.length : this.positions[k]) - 1;
+    }
+
+    public int floor(DayDate date) {
+        return floor(date.toSerial());
+    }
+
+    /**
+     * Returns the position of the first serial on or after the given one.
+     *
+     * @param serial  the serial number.
+     * @return The position, or -1 if every serial is before it.
+     */
+    public int ceiling(int serial) {
+        final int k = firstAbove(serial - 1);
+        return k == 0 ? -1 : this.positions[k];
+    }
+
+    public int ceiling(DayDate date) {
+        return ceiling(date.toSerial());
+    }
+
+    /**
+     * Returns the position of the serial closest to the given one, taking
+     * the earlier one when two are equally close.
+     *
+     * @param serial  the serial number.
+     * @return The position, or -1 if the index is empty.
+     */
+    public int nearest(int serial) {
+        final int k = firstAbove(serial - 1);
+        final int after = k == 0 ? this.sorted.length : this.positions[k];
+        return closer(serial, after - 1, after);
+    }
+
+    public int nearest(DayDate date) {
+        return nearest(date.toSerial());
+    }
+
+    /**
+     * Looks up the floor of each probe in one pass.
+     *
+     * @param probes  serial numbers in ascending order.
+     * @param result  receives the position of each probe's floor, or -1
+     *                (at least as long as <code>probes</code>).
+     */
+    public void floor(int[] probes, int[] result) {
+        checkProbes(probes, result);
+        int p = 0;
+        for (int i = 0; i < probes.length; i++) {
+            p = advancePast(p, probes[i]);
+            result[i] = p - 1;
+        }
+    }
+
+    /**
+     * Looks up the ceiling of each probe in one pass.
+     *
+     * @param probes  serial numbers in ascending order.
+     * @param result  receives the position of each probe's ceiling, or -1
+     *                (at least as long as <code>probes</code>).
+     */
+    public void ceiling(int[] probes, int[] result) {
+        checkProbes(probes, result);
+        final int n = this.sorted.length;
+        int p = 0;
+        for (int i = 0; i < probes.length; i++) {
+            p = advancePast(p, probes[i] - 1);
+            result[i] = p < n ? p : -1;
+        }
+    }
+
+    /**
+     * Looks up the nearest serial to each probe in one pass.
+     *
+     * @param probes  serial numbers in ascending order.
+     * @param result  receives the position of each probe's nearest serial,
+     *                or -1 (at least as long as <code>probes</code>).
+     */
+    public void nearest(int[] probes, int[] result) {
+        checkProbes(probes, result);
+        int p = 0;
+        for (int i = 0; i < probes.length; i++) {
+            p = advancePast(p, probes[i] - 1);
+            result[i] = closer(probes[i], p - 1, p);
+        }
+    }
+
+    /**
+     * Returns the Eytzinger index of the first serial greater than the
+     * given one, or 0 if there is none.
+     */
+    private int firstAbove(int serial) {
+        final int[] e = this.eytzinger;
+        final int n = e.length - 1;
+        int k = 1;
+        while (k <= n) {
+            // a branch rather than a conditional move, so the processor can
+            // start loading the next level before this comparison resolves
+            if (e[k] <= serial) {
+                k = 2 * k + 1;
+            }
+            else {
+                k = 2 * k;
+            }
+        }
+        // undo the right turns taken after the last left turn
+        return k >>> (Integer.numberOfTrailingZeros(~k) + 1);
+    }
+
+    /** Moves a sorted position forward past every serial up to the given one. */
+    private int advancePast(int position, int serial) {
+        final int[] s = this.sorted;
+        while (position < s.length && s[position] <= serial) {
+            position++;
+        }
+        return position;
+    }
+
+    /** Picks whichever of two adjacent positions is closer to a serial. */
+    private int closer(int serial, int before, int after) {
+        if (after >= this.sorted.length) {
+            return before;
+        }
+        if (before < 0) {
+            return after;
+        }
+        return serial - this.sorted[before] <= this.sorted[after] - serial ? before : after;
+    }
+
+    private static void checkProbes(int[] probes, int[] result) {
+        if (result.length < probes.length) {
+            throw new IllegalArgumentException("The result array holds " + result.length
+                    + " values but there are " + probes.length + " probes.");
+        }
+        if (!DayDateSort.isSorted(probes)) {
+            throw new IllegalArgumentException("The probes must be in ascending order.");
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package org.jfree.date;
+
+import java.util.PrimitiveIterator;
+
+/**
+ * Matches each date in one sorted series (the left side, for example trade
+ * dates) with a date in another sorted series (the right side, for example
+ * market data dates), such as "the most recent date on or before".
+ * <p>
+ * The direction of the match follows {@link DayDate.WeekdayRange}:
+ * {@link DayDate.WeekdayRange#LAST LAST} looks backward,
+ * {@link DayDate.WeekdayRange#NEXT NEXT} forward, and
+ * {@link DayDate.WeekdayRange#NEAREST NEAREST} either way, taking the earlier
+ * date on a tie.  An equal date counts as a match unless exact matches are
+ * turned off, in which case LAST and NEXT mean strictly before and strictly
+ * after, as in {@link DayDate#getPreviousDayOfWeek(Day)} and
+ * {@link DayDate#getFollowingDayOfWeek(Day)}.  A tolerance limits how many
+ * days apart two matched dates may be.  When the right side repeats a date,
+ * a backward match takes the last copy and a forward match the first.
+ * <p>
+ * Both sides are walked once, together, so a join costs O(n + m) and
+ * allocates nothing per row.  Results are indices into the two sides.
+ */
+public class AsOfJoin {
+
+    /** A tolerance that allows any distance between matched dates. */
+    public static final int UNLIMITED = Integer.MAX_VALUE;
+
+    /**
+     * Receives the result of a streaming join.
+     */
+    public interface MatchHandler {
+
+        /**
+         * Called once for each left row, in order.
+         *
+         * @param leftIndex  the index of the left row.
+         * @param rightIndex  the index of the matching right row, or -1.
+         */
+        void match(int leftIndex, int rightIndex);
+    }
+
+    private final DayDate.WeekdayRange direction;
+
+    private final int tolerance;
+
+    private final boolean allowExactMatches;
+
+    /**
+     * Creates a join with no tolerance limit that accepts exact matches.
+     *
+     * @param direction  which way to look for a match.
+     */
+    public AsOfJoin(DayDate.WeekdayRange direction) {
+        this(direction, UNLIMITED, true);
+    }
+
+    /**
+     * Creates a join.
+     *
+     * @param direction  which way to look for a match.
+     * @param tolerance  the largest number of days between matched dates
+     *                   ({@link #UNLIMITED} for no limit).
+     * @param allowExactMatches  whether a right date equal to the left date
+     *                           is a match.
+     */
+    public AsOfJoin(DayDate.WeekdayRange direction, int tolerance, boolean allowExactMatches) {
+        if (tolerance < 0) {
+            throw new IllegalArgumentException("The tolerance cannot be negative.");
+        }
+        this.direction = direction;
+        this.tolerance = tolerance;
+        this.allowExactMatches = allowExactMatches;
+    }
+
+    /**
+     * Joins two series of serial numbers, writing the index of each left
+     * row's match (or -1) into <code>result</code>.
+     *
+     * @param left  the left serials, in ascending order.
+     * @param right  the right serials, in ascending order.
+     * @param result  receives the matches (at least as long as
+     *                <code>left</code>).
+     */
+    public void join(int[] left, int[] right, int[] result) {
+        checkSorted(left, "left");
+        checkSorted(right, "right");
+        if (result.length < left.length) {
+            throw new IllegalArgumentException("The result array holds " + result.length
+                    + " values but there are " + left.length + " rows.");
+        }
+        // atOrBelow and below count the right serials <= x and < x
+        int atOrBelow = 0;
+        int below = 0;
+        for (int i = 0; i < left.length; i++) {
+            final int x = left[i];
+            while (below < right.length && right[below] < x) {
+                below++;
+            }
+            if (atOrBelow < below) {
+                atOrBelow = below;
+            }
+            while (atOrBelow < right.length && right[atOrBelow] <= x) {
+                atOrBelow++;
+            }
+            final int before = this.allowExactMatches ? atOrBelow - 1 : below - 1;
+            final int after = this.allowExactMatches ? below : atOrBelow;
+            result[i] = choose(x,
+                    before, before >= 0 ? right[before] : 0,
+                    after, after < right.length ? right[after] : 0,
+                    after < right.length);
+        }
+    }
+
+    /**
+     * Joins two series of serial numbers, writing only the matched pairs.
+     *
+     * @param left  the left serials, in ascending order.
+     * @param right  the right serials, in ascending order.
+     * @param leftIndices  receives the left index of each pair (at least as
+     *                     long as <code>left</code>).
+     * @param rightIndices  receives the right index of each pair (at least
+     *                      as long as <code>left</code>).
+     * @return The number of pairs.
+     */
+    public int join(int[] left, int[] right, int[] leftIndices, int[] rightIndices) {
+        if (leftIndices.length < left.length) {
+            throw new IllegalArgumentException("The result array holds " + leftIndices.length
+                    + " values but there are " + left.length + " rows.");
+        }
+        join(left, right, rightIndices);
+        int count = 0;
+        for (int i = 0; i < left.length; i++) {
+            if (rightIndices[i] >= 0) {
+                leftIndices[count] = i;
+                rightIndices[count++] = rightIndices[i];
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Joins two streams of serial numbers, reading each once and keeping
+     * only a few values of the right stream at a time.
+     *
+     * @param left  the left serials, in ascending order.
+     * @param right  the right serials, in ascending order.
+     * @param handler  receives the match for each left row.
+     */
+    public void join(PrimitiveIterator.OfInt left, PrimitiveIterator.OfInt right,
+                     MatchHandler handler) {
+        final Cursor cursor = new Cursor(right);
+        int previous = Integer.MIN_VALUE;
+        for (int i = 0; left.hasNext(); i++) {
+            final int x = left.nextInt();
+            if (x < previous) {
+                throw new IllegalArgumentException("The left serials must be in ascending order.");
+            }
+            previous = x;
+            cursor.advanceTo(x);
+            final boolean equal = this.allowExactMatches && cursor.firstEqual >= 0;
+            final int before = equal ? cursor.lastEqual : cursor.lessIndex;
+            final int after = equal ? cursor.firstEqual : cursor.peekIndex;
+            handler.match(i, choose(x,
+                    before, equal ? x : cursor.lessValue,
+                    after, equal ? x : cursor.peekValue,
+                    after >= 0));
+        }
+    }
+
+    /**
+     * Picks the match for <code>x</code> from the nearest candidate on each
+     * side.
+     */
+    private int choose(int x, int before, int beforeValue, int after, int afterValue,
+                       boolean hasAfter) {
+        final boolean useBefore = before >= 0 && (long) x - beforeValue <= this.tolerance;
+        final boolean useAfter = hasAfter && (long) afterValue - x <= this.tolerance;
+        switch (this.direction) {
+            case LAST:
+                return useBefore ? before : -1;
+            case NEXT:
+                return useAfter ? after : -1;
+            default:
+                if (useBefore && useAfter) {
+                    return x - beforeValue <= afterValue - x ? before : after;
+                }
+                return useBefore ? before : (useAfter ? after : -1);
+        }
+    }
+
+    private static void checkSorted(int[] serials, String side) {
+        if (!DayDateSort.isSorted(serials)) {
+            throw new IllegalArgumentException(
+                    "The " + side + " serials must be in ascending order.");
+        }
+    }
+
+    /**
+     * A position in the right stream: the last value below the current left
+     * serial, the run of values equal to it, and the first value above it.
+     */
+    private static final class Cursor {
+
+        private final PrimitiveIterator.OfInt values;
+
+        private int read;
+
+        private int current = Integer.MIN_VALUE;
+
+        int lessIndex = -1;
+
+        int lessValue;
+
+        int firstEqual = -1;
+
+        int lastEqual = -1;
+
+        int peekIndex = -1;
+
+        int peekValue;
+
+        Cursor(PrimitiveIterator.OfInt values) {
+            this.values = values;
+            load();
+        }
+
+        void advanceTo(int x) {
+            if (x != this.current && this.lastEqual >= 0) {
+                this.lessIndex = this.lastEqual;
+                this.lessValue = this.current;
+                this.firstEqual = -1;
+                this.lastEqual = -1;
+            }
+            this.current = x;
+            while (this.peekIndex >= 0 && this.peekValue < x) {
+                this.lessIndex = this.peekIndex;
+                this.lessValue = this.peekValue;
+                load();
+            }
+            while (this.peekIndex >= 0 && this.peekValue == x) {
+                if (this.firstEqual < 0) {
+                    this.firstEqual = this.peekIndex;
+                }
+                this.lastEqual = this.peekIndex;
+                load();
+            }
+        }
+
+        private void load() {
+            if (!this.values.hasNext()) {
+                this.peekIndex = -1;
+                return;
+            }
+            final int value = this.values.nextInt();
+            if (this.read > 0 && value < this.peekValue) {
+                throw new IllegalArgumentException("The right serials must be in ascending order.");
+            }
+            this.peekIndex = this.read++;
+            this.peekValue = value;
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package org.jfree.date;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Business calendars registered by name (for example "NYC" and "LON"),
+ * together with a cache of the joint calendars built from them.
+ * <p>
+ * The registry's contents are an immutable, versioned {@link Snapshot}
+ * published through an atomic reference.  Readers never block: they read
+ * the current snapshot and query it.  An update copies the snapshot, applies
+ * the change and publishes the copy with a compare-and-set, so a reader sees
+ * either all of an update or none of it.  A long-running batch can call
+ * {@link #snapshot()} once and keep using that snapshot, unaffected by later
+ * updates.
+ * <p>
+ * A joint calendar is built the first time a particular combination of
+ * names and {@link BusinessDayCalendar.JoinRule} is asked for in a snapshot
+ * and is then served from that snapshot's cache.  An update carries forward
+ * the cached joint calendars whose members it did not change.
+ */
+public class BusinessCalendarRegistry {
+
+    private final AtomicReference<Snapshot> current =
+            new AtomicReference<Snapshot>(new Snapshot(0,
+                    Collections.<String, BusinessDayCalendar>emptyMap()));
+
+    /**
+     * Returns the current snapshot.
+     *
+     * @return The snapshot.
+     */
+    public Snapshot snapshot() {
+        return this.current.get();
+    }
+
+    /**
+     * Returns the current version (0 before anything is registered).
+     *
+     * @return The version.
+     */
+    public long getVersion() {
+        return this.current.get().version;
+    }
+
+    /**
+     * Registers a calendar, replacing any calendar already registered under
+     * the name.
+     *
+     * @param name  the name.
+     * @param calendar  the calendar.
+     * @return The version of the snapshot that holds the new calendar.
+     */
+    public long put(String name, BusinessDayCalendar calendar) {
+        return putAll(Collections.singletonMap(name, calendar));
+    }
+
+    /**
+     * Registers several calendars as a single update.
+     *
+     * @param updates  the calendars, by name.
+     * @return The version of the snapshot that holds the new calendars.
+     */
+    public long putAll(Map<String, BusinessDayCalendar> updates) {
+        for (BusinessDayCalendar calendar : updates.values()) {
+            if (calendar == null) {
+                throw new IllegalArgumentException("Null 'calendar' argument.");
+            }
+        }
+        while (true) {
+            final Snapshot old = this.current.get();
+            final Map<String, BusinessDayCalendar> calendars =
+                    new HashMap<String, BusinessDayCalendar>(old.calendars);
+            calendars.putAll(updates);
+            final Snapshot next = new Snapshot(old.version + 1, calendars);
+            for (Map.Entry<JointKey, BusinessDayCalendar> entry : old.joints.entrySet()) {
+                if (!entry.getKey().includesAny(updates.keySet())) {
+                    next.joints.put(entry.getKey(), entry.getValue());
+                }
+            }
+            if (this.current.compareAndSet(old, next)) {
+                return next.version;
+            }
+        }
+    }
+
+    /**
+     * Returns the calendar registered under a name in the current snapshot.
+     *
+     * @param name  the name.
+     * @return The calendar.
+     */
+    public BusinessDayCalendar get(String name) {
+        return this.current.get().get(name);
+    }
+
+    /**
+     * Returns the joint calendar for the named calendars in the current
+     * snapshot.
+     *
+     * @param rule  how to combine the calendars.
+     * @param names  the names of the calendars.
+     * @return The joint calendar.
+     */
+    public BusinessDayCalendar joint(BusinessDayCalendar.JoinRule rule, String... names) {
+        return this.current.get().joint(rule, names);
+    }
+
+    /**
+     * An immutable view of the registry at one version.
+     */
+    public static final class Snapshot {
+
+        private final long version;
+
+        private final Map<String, BusinessDayCalendar> calendars;
+
+        private final ConcurrentMap<JointKey, BusinessDayCalendar> joints =
+                new ConcurrentHashMap<JointKey, BusinessDayCalendar>();
+
+        private Snapshot(long version, Map<String, BusinessDayCalendar> calendars) {
+            this.version = version;
+            this.calendars = Collections.unmodifiableMap(calendars);
+        }
+
+        public long getVersion() {
+            return this.version;
+        }
+
+        public Set<String> getNames() {
+            return this.calendars.keySet();
+        }
+
+        /**
+         * Returns the calendar registered under a name.
+         *
+         * @param name  the name.
+         * @return The calendar.
+         */
+        public BusinessDayCalendar get(String name) {
+            final BusinessDayCalendar calendar = this.calendars.get(name);
+            if (calendar == null) {
+                throw new IllegalArgumentException("No calendar is registered as " + name);
+            }
+            return calendar;
+        }
+
+        /**
+         * Returns the joint calendar for the named calendars, building it if
+         * it is not already cached.  The order of the names does not matter.
+         *
+         * @param rule  how to combine the calendars.
+         * @param names  the names of the calendars.
+         * @return The joint calendar.
+         */
+        public BusinessDayCalendar joint(BusinessDayCalendar.JoinRule rule, String... names) {
+            final JointKey key = new JointKey(rule, names);
+            final BusinessDayCalendar cached = this.joints.get(key);
+            if (cached != null) {
+                return cached;
+            }
+            final BusinessDayCalendar[] members = new BusinessDayCalendar[key.names.length];
+            for (int i = 0; i < members.length; i++) {
+                members[i] = get(key.names[i]);
+            }
+            final BusinessDayCalendar joint = BusinessDayCalendar.join(rule, members);
+            final BusinessDayCalendar raced = this.joints.putIfAbsent(key, joint);
+            return raced != null ? raced : joint;
+        }
+    }
+
+    /**
+     * Identifies a joint calendar by its rule and its sorted, distinct
+     * member names.
+     */
+    private static final class JointKey {
+
+        private final BusinessDayCalendar.JoinRule rule;
+
+        private final String[] names;
+
+        JointKey(BusinessDayCalendar.JoinRule rule, String[] names) {
+            if (names.length == 0) {
+                throw new IllegalArgumentException("At least one calendar name is required.");
+            }
+            final String[] sorted = names.clone();
+            Arrays.sort(sorted);
+            int count = 1;
+            for (int i = 1; i < sorted.length; i++) {
+                if (!sorted[i].equals(sorted[count - 1])) {
+                    sorted[count++] = sorted[i];
+                }
+            }
+            this.rule = rule;
+            this.names = Arrays.copyOf(sorted, count);
+        }
+
+        boolean includesAny(Set<String> names) {
+            for (String name : this.names) {
+                if (names.contains(name)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        public boolean equals(Object object) {
+            if (!(object instanceof JointKey)) {
+                return false;
+            }
+            final JointKey other = (JointKey) object;
+            return this.rule == other.rule && Arrays.equals(this.names, other.names);
+        }
+
+        public int hashCode() {
+            return 31 * this.rule.hashCode() + Arrays.hashCode(this.names);
+        }
+    }
+}
@@ -0,0 +1,280 @@
+package org.jfree.date;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * An immutable calendar of business days: every day that is neither a
+ * weekend day nor a holiday.
+ * <p>
+ * Nothing here walks from day to day.  Weekends repeat every seven days, so
+ * the number of working weekdays before any serial number comes from a
+ * seven-entry prefix table.  Holidays that fall on working weekdays are kept
+ * as a sorted array together with the number of business days before each
+ * one, so counting business days costs a binary search over the holidays,
+ * and so does finding the n-th business day after a date.
+ */
+public class BusinessDayCalendar {
+
+    /**
+     * How the business days of several calendars are combined.
+     */
+    public enum JoinRule {
+        /** A day is a business day only if it is one in every calendar. */
+        JOIN_HOLIDAYS,
+        /** A day is a business day if it is one in any calendar. */
+        JOIN_BUSINESS_DAYS
+    }
+
+    private final Set<Day> weekendDays;
+
+    /** Working weekdays among the serials 0 to i - 1, for i = 0 to 7. */
+    private final int[] workingBefore = new int[8];
+
+    /** The offset within a week of each working weekday. */
+    private final int[] workingOffset;
+
+    /** Holidays that fall on working weekdays, in serial order. */
+    private final int[] holidays;
+
+    /** For each holiday, the number of business days before it. */
+    private final int[] businessBeforeHoliday;
+
+    /**
+     * Creates a calendar with Saturday and Sunday as the weekend.
+     *
+     * @param holidays  the holidays.
+     */
+    public BusinessDayCalendar(DayDateSet holidays) {
+        this(EnumSet.of(Day.SATURDAY, Day.SUNDAY), holidays);
+    }
+
+    /**
+     * Creates a calendar.
+     *
+     * @param weekendDays  the days of the week that are never business days.
+     * @param holidays  the holidays (those that fall on a weekend are
+     *                  ignored).
+     */
+    public BusinessDayCalendar(Set<Day> weekendDays, DayDateSet holidays) {
+        if (weekendDays.size() == Day.values().length) {
+            throw new IllegalArgumentException("A calendar needs at least one working day.");
+        }
+        this.weekendDays = weekendDays.isEmpty()
+                ? EnumSet.noneOf(Day.class) : EnumSet.copyOf(weekendDays);
+
+        this.workingOffset = new int[7 - this.weekendDays.size()];
+        for (int r = 0; r < 7; r++) {
+            final boolean working = !this.weekendDays.contains(Day.make(SpreadsheetDate.dayOfWeek(r)));
+            this.workingBefore[r + 1] = this.workingBefore[r] + (working ? 1 : 0);
+            if (working) {
+                this.workingOffset[this.workingBefore[r]] = r;
+            }
+        }
+
+        final int[] all = holidays.toSerialArray();
+        int count = 0;
+        for (int serial : all) {
+            if (isWorkingWeekday(serial)) {
+                all[count++] = serial;
+            }
+        }
+        this.holidays = Arrays.copyOf(all, count);
+        this.businessBeforeHoliday = new int[count];
+        for (int i = 0; i < count; i++) {
+            this.businessBeforeHoliday[i] = workingBefore(this.holidays[i]) - i;
+        }
+    }
+
+    /**
+     * Combines several calendars into one.  With
+     * {@link JoinRule#JOIN_HOLIDAYS} the result has every weekend day and
+     * holiday of every calendar; with {@link JoinRule#JOIN_BUSINESS_DAYS} a
+     * day is only a non-business day if it is one in all the calendars.
+     *
+     * @param rule  how to combine the calendars.
+     * @param calendars  the calendars (at least one).
+     * @return The combined calendar.
+     */
+    public static BusinessDayCalendar join(JoinRule rule, BusinessDayCalendar... calendars) {
+        if (calendars.length == 0) {
+            throw new IllegalArgumentException("At least one calendar is required.");
+        }
+        final EnumSet<Day> weekend = EnumSet.copyOf(calendars[0].weekendDays);
+        final DayDateSet candidates = new DayDateSet();
+        for (BusinessDayCalendar calendar : calendars) {
+            if (rule == JoinRule.JOIN_HOLIDAYS) {
+                weekend.addAll(calendar.weekendDays);
+            }
+            else {
+                weekend.retainAll(calendar.weekendDays);
+            }
+            for (int serial : calendar.holidays) {
+                candidates.add(serial);
+            }
+        }
+        if (rule == JoinRule.JOIN_HOLIDAYS) {
+            return new BusinessDayCalendar(weekend, candidates);
+        }
+        final DayDateSet holidays = new DayDateSet();
+        for (int s = candidates.nextSerial(0); s >= 0; s = candidates.nextSerial(s + 1)) {
+            if (!isBusinessDayInAny(s, calendars)) {
+                holidays.add(s);
+            }
+        }
+        return new BusinessDayCalendar(weekend, holidays);
+    }
+
+    private static boolean isBusinessDayInAny(int serial, BusinessDayCalendar[] calendars) {
+        for (BusinessDayCalendar calendar : calendars) {
+            if (calendar.isBusinessDay(serial)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public Set<Day> getWeekendDays() {
+        return EnumSet.copyOf(this.weekendDays);
+    }
+
+    /**
+     * Returns the holidays that fall on working weekdays.
+     *
+     * @return The holidays.
+     */
+    public DayDateSet getHolidays() {
+        return DayDateSet.ofSerials(this.holidays);
+    }
+
+    public boolean isBusinessDay(DayDate date) {
+        return isBusinessDay(date.toSerial());
+    }
+
+    public boolean isBusinessDay(int serial) {
+        return isWorkingWeekday(serial) && Arrays.binarySearch(this.holidays, serial) < 0;
+    }
+
+    /**
+     * Returns the number of business days on or after <code>d1</code> and
+     * before <code>d2</code>.  The result is negative if <code>d2</code> is
+     * before <code>d1</code>.
+     *
+     * @param d1  the first date.
+     * @param d2  the second date.
+     * @return The number of business days between the dates.
+     */
+    public int businessDaysBetween(DayDate d1, DayDate d2) {
+        return businessDaysBetween(d1.toSerial(), d2.toSerial());
+    }
+
+    public int businessDaysBetween(int serial1, int serial2) {
+        return businessBefore(serial2) - businessBefore(serial1);
+    }
+
+    /**
+     * Returns the date that is a given number of business days after (or,
+     * for a negative number, before) the base date.  Adding zero business
+     * days returns the base date.
+     *
+     * @param days  the number of business days to add (can be negative).
+     * @param base  the base date.
+     * @return A new date.
+     */
+    public DayDate addBusinessDays(int days, DayDate base) {
+        return DayDateFactory.makeDate(addBusinessDays(days, base.toSerial()));
+    }
+
+    public int addBusinessDays(int days, int serial) {
+        if (days == 0) {
+            return serial;
+        }
+        final int index = days > 0
+                ? businessBefore(serial + 1) + days - 1
+                : businessBefore(serial) + days;
+        final int result = selectBusinessDay(index);
+        SpreadsheetDate.checkSerial(result);
+        return result;
+    }
+
+    /**
+     * Returns the first business day on or after the given date.
+     *
+     * @param date  the date.
+     * @return A business day.
+     */
+    public DayDate nextOrSame(DayDate date) {
+        return DayDateFactory.makeDate(nextOrSame(date.toSerial()));
+    }
+
+    public int nextOrSame(int serial) {
+        return isBusinessDay(serial) ? serial : addBusinessDays(1, serial);
+    }
+
+    /**
+     * Returns the last business day on or before the given date.
+     *
+     * @param date  the date.
+     * @return A business day.
+     */
+    public DayDate previousOrSame(DayDate date) {
+        return DayDateFactory.makeDate(previousOrSame(date.toSerial()));
+    }
+
+    public int previousOrSame(int serial) {
+        return isBusinessDay(serial) ? serial : addBusinessDays(-1, serial);
+    }
+
+    /**
+     * Returns the number of business days among the serial numbers from 0
+     * to <code>serial - 1</code>.
+     */
+    private int businessBefore(int serial) {
+        return workingBefore(serial) - holidaysBefore(serial);
+    }
+
+    /**
+     * Returns the serial number of the business day with the given index,
+     * counting from 0 for the first business day on or after serial 0.
+     */
+    private int selectBusinessDay(int index) {
+        if (index < 0) {
+            throw new IllegalArgumentException(
+                    "The result is before the start of the supported range.");
+        }
+        // the holidays before the answer are those with at most 'index'
+        // business days before them
+        int lo = 0;
+        int hi = this.holidays.length;
+        while (lo < hi) {
+            final int mid = (lo + hi) >>> 1;
+            if (this.businessBeforeHoliday[mid] <= index) {
+                lo = mid + 1;
+            }
+            else {
+                hi = mid;
+            }
+        }
+        return selectWorkingWeekday(index + lo);
+    }
+
+    private int holidaysBefore(int serial) {
+        final int i = Arrays.binarySearch(this.holidays, serial);
+        return i >= 0 ? i : -i - 1;
+    }
+
+    private int workingBefore(int serial) {
+        return (serial / 7) * this.workingOffset.length + this.workingBefore[serial % 7];
+    }
+
+    private int selectWorkingWeekday(int index) {
+        final int perWeek = this.workingOffset.length;
+        return (index / perWeek) * 7 + this.workingOffset[index % perWeek];
+    }
+
+    private boolean isWorkingWeekday(int serial) {
+        final int r = serial % 7;
+        return this.workingBefore[r + 1] != this.workingBefore[r];
+    }
+}
@@ -0,0 +1,301 @@
+package org.jfree.date;
+
+/**
+ * The common part of a daily time series stored as a primitive array
+ * indexed by <code>serial - first serial</code>, with one bit per day saying
+ * whether the day has a value.
+ * <p>
+ * Because serial numbers are consecutive integers, finding a day's value is
+ * a subtraction and an array access, and each day costs the size of its
+ * value plus one bit, rather than the map entry, boxed value and date
+ * object of a <code>TreeMap&lt;DayDate, Double&gt;</code>.
+ * <p>
+ * A series covers a fixed range of days, chosen when it is created; every
+ * day in the range starts out missing.  A slice is a view of part of the
+ * range that shares the values and the bitmap of the series it came from,
+ * so changes through either are seen by both.
+ * <p>
+ * Arithmetic follows one rule: a missing day stays missing.  Adding or
+ * multiplying by a constant changes only the days that have values, and
+ * combining two series day by day leaves a day missing if it is missing
+ * from either of them.  Slicing and series arithmetic are written here,
+ * once; each subclass supplies only its typed array and the operations on
+ * single elements of it.
+ *
+ * @param <S>  the type of the series itself.
+ *
+ * @see DoubleDailySeries
+ * @see LongDailySeries
+ * @see IntDailySeries
+ */
+public abstract class DailySeries<S extends DailySeries<S>> {
+
+    /** The serial number of the first day in this series or slice. */
+    final int first;
+
+    /** The number of days. */
+    final int length;
+
+    /** The array index of the first day. */
+    final int offset;
+
+    /** One bit per array index, set if the day has a value. */
+    final long[] present;
+
+    /**
+     * Creates a series covering the days from <code>firstSerial</code> to
+     * <code>lastSerial</code> (inclusive), all missing.
+     */
+    DailySeries(int firstSerial, int lastSerial) {
+        SpreadsheetDate.checkSerial(firstSerial);
+        SpreadsheetDate.checkSerial(lastSerial);
+        if (firstSerial > lastSerial) {
+            throw new IllegalArgumentException("The first day is after the last day.");
+        }
+        this.first = firstSerial;
+        this.length = lastSerial - firstSerial + 1;
+        this.offset = 0;
+        this.present = new long[(this.length + 63) >>> 6];
+    }
+
+    /**
+     * Creates a view of part of another series.
+     */
+    DailySeries(DailySeries<S> parent, int firstSerial, int lastSerial) {
+        if (firstSerial < parent.first || lastSerial > parent.getLastSerial()
+                || firstSerial > lastSerial + 1) {
+            throw new IllegalArgumentException("The slice is outside the series.");
+        }
+        this.first = firstSerial;
+        this.length = lastSerial - firstSerial + 1;
+        this.offset = parent.offset + (firstSerial - parent.first);
+        this.present = parent.present;
+    }
+
+    public int getFirstSerial() {
+        return this.first;
+    }
+
+    public int getLastSerial() {
+        return this.first + this.length - 1;
+    }
+
+    /**
+     * Returns the number of days covered, whether or not they have values.
+     *
+     * @return The number of days.
+     */
+    public int size() {
+        return this.length;
+    }
+
+    /**
+     * Returns <code>true</code> if the day is in the range covered by this
+     * series.
+     *
+     * @param serial  the serial number.
+     * @return A boolean.
+     */
+    public boolean covers(int serial) {
+        return serial - this.first >= 0 && serial - this.first < this.length;
+    }
+
+    public boolean covers(DayDate date) {
+        return covers(date.toSerial());
+    }
+
+    public boolean isMissing(DayDate date) {
+        return isMissing(date.toSerial());
+    }
+
+    public boolean isMissing(int serial) {
+        return !isPresentAt(index(serial));
+    }
+
+    /**
+     * Marks a day as missing.
+     *
+     * @param serial  the serial number.
+     */
+    public void remove(int serial) {
+        final int i = index(serial);
+        clearAt(i);
+        setMissingAt(i);
+    }
+
+    public void remove(DayDate date) {
+        remove(date.toSerial());
+    }
+
+    /**
+     * Returns a view of the days from <code>from</code> to <code>to</code>
+     * (inclusive) that shares this series' storage.
+     *
+     * @param from  the first day.
+     * @param to  the last day.
+     * @return A view.
+     */
+    public S slice(DayDate from, DayDate to) {
+        return slice(from, to, DayDate.DateInterval.CLOSED);
+    }
+
+    /**
+     * Returns a view of the days between two dates that shares this series'
+     * storage.  As with {@link DayDate#isInRange(DayDate, DayDate, int)}, the
+     * interval says whether the boundary dates are included.
+     *
+     * @param d1  one boundary date.
+     * @param d2  the other boundary date.
+     * @param interval  whether the boundary dates are included.
+     * @return A view.
+     */
+    public S slice(DayDate d1, DayDate d2, DayDate.DateInterval interval) {
+        final int s1 = d1.toSerial();
+        final int s2 = d2.toSerial();
+        final int first = DayDateRange.firstSerial(s1, s2, interval);
+        final int last = DayDateRange.lastSerial(s1, s2, interval);
+        // an open interval between adjacent or equal dates is empty
+        return slice(first, Math.max(last, first - 1));
+    }
+
+    public S slice(int firstSerial, int lastSerial) {
+        return view(firstSerial, lastSerial);
+    }
+
+    /**
+     * Adds another series, day by day, over the days the two have in common.
+     * A day missing from either series is missing in the result.
+     *
+     * @param other  the other series.
+     */
+    public void add(S other) {
+        final int from = overlapStart(other);
+        final int n = overlapEnd(other) - from + 1;
+        final int i0 = index(from);
+        final int j0 = other.index(from);
+        for (int k = 0; k < n; k++) {
+            addAt(i0 + k, other, j0 + k);
+        }
+        mergeMissing(other, i0, j0, n);
+    }
+
+    /**
+     * Subtracts another series, day by day, over the days the two have in
+     * common.  A day missing from either series is missing in the result.
+     *
+     * @param other  the other series.
+     */
+    public void subtract(S other) {
+        final int from = overlapStart(other);
+        final int n = overlapEnd(other) - from + 1;
+        final int i0 = index(from);
+        final int j0 = other.index(from);
+        for (int k = 0; k < n; k++) {
+            subtractAt(i0 + k, other, j0 + k);
+        }
+        mergeMissing(other, i0, j0, n);
+    }
+
+    /**
+     * Multiplies by another series, day by day, over the days the two have
+     * in common.  A day missing from either series is missing in the
+     * result.
+     *
+     * @param other  the other series.
+     */
+    public void multiply(S other) {
+        final int from = overlapStart(other);
+        final int n = overlapEnd(other) - from + 1;
+        final int i0 = index(from);
+        final int j0 = other.index(from);
+        for (int k = 0; k < n; k++) {
+            multiplyAt(i0 + k, other, j0 + k);
+        }
+        mergeMissing(other, i0, j0, n);
+    }
+
+    /**
+     * Returns the number of days that have values.
+     *
+     * @return The number of days.
+     */
+    public int presentCount() {
+        int count = 0;
+        for (int i = this.offset; i < this.offset + this.length; i++) {
+            if (isPresentAt(i)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns a view of part of this series.
+     */
+    abstract S view(int firstSerial, int lastSerial);
+
+    /** Adds element <code>j</code> of another series to element <code>i</code>. */
+    abstract void addAt(int i, S other, int j);
+
+    abstract void subtractAt(int i, S other, int j);
+
+    abstract void multiplyAt(int i, S other, int j);
+
+    /** Sets element <code>i</code> to the value a missing day reads as. */
+    abstract void clearAt(int i);
+
+    /**
+     * Returns the array index for a serial number in this series.
+     */
+    final int index(int serial) {
+        if (!covers(serial)) {
+            throw new IllegalArgumentException("Serial " + serial + " is outside the series "
+                    + this.first + ".." + getLastSerial());
+        }
+        return this.offset + serial - this.first;
+    }
+
+    final boolean isPresentAt(int i) {
+        return (this.present[i >>> 6] & (1L << i)) != 0;
+    }
+
+    final void setPresentAt(int i) {
+        this.present[i >>> 6] |= 1L << i;
+    }
+
+    final void setMissingAt(int i) {
+        this.present[i >>> 6] &= ~(1L << i);
+    }
+
+    /**
+     * Returns the first serial of the days this series shares with
+     * another, after checking that they share at least one.
+     */
+    private int overlapStart(S other) {
+        final int from = Math.max(this.first, other.first);
+        final int to = Math.min(getLastSerial(), other.getLastSerial());
+        if (from > to) {
+            throw new IllegalArgumentException("The series have no days in common.");
+        }
+        return from;
+    }
+
+    private int overlapEnd(S other) {
+        return Math.min(getLastSerial(), other.getLastSerial());
+    }
+
+    /**
+     * Marks the days missing from another series as missing here, and
+     * clears their values, after a day-by-day operation.
+     */
+    private void mergeMissing(S other, int i0, int j0, int n) {
+        for (int k = 0; k < n; k++) {
+            if (!other.isPresentAt(j0 + k)) {
+                setMissingAt(i0 + k);
+            }
+            if (!isPresentAt(i0 + k)) {
+                clearAt(i0 + k);
+            }
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package org.jfree.date;
+
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Conventions for measuring the time between two dates as a fraction of a
+ * year, as used to accrue interest.
+ * <p>
+ * Each convention works on serial numbers, one pair at a time or over
+ * parallel columns of start and end serials.  The column methods write into
+ * a caller-supplied <code>double[]</code>; the actual/fixed conventions run
+ * as a plain subtract-and-scale loop that the JIT compiler can vectorise,
+ * and {@link #parallelYearFractions(int[], int[], double[])} splits large
+ * columns across the common fork-join pool.
+ */
+public enum DayCountConvention {
+
+    /** Actual days divided by 360. */
+    ACT_360 {
+        public double yearFraction(int startSerial, int endSerial) {
+            return (endSerial - startSerial) / 360.0;
+        }
+
+        void fill(int[] startSerials, int[] endSerials, double[] result, int from, int to) {
+            for (int i = from; i < to; i++) {
+                result[i] = (endSerials[i] - startSerials[i]) / 360.0;
+            }
+        }
+    },
+
+    /** Actual days divided by 365, in leap years too. */
+    ACT_365_FIXED {
+        public double yearFraction(int startSerial, int endSerial) {
+            return (endSerial - startSerial) / 365.0;
+        }
+
+        void fill(int[] startSerials, int[] endSerials, double[] result, int from, int to) {
+            for (int i = from; i < to; i++) {
+                result[i] = (endSerials[i] - startSerials[i]) / 365.0;
+            }
+        }
+    },
+
+    /**
+     * 30/360 (bond basis): a start on the 31st counts as the 30th, and an
+     * end on the 31st counts as the 30th if the start is the 30th or 31st.
+     */
+    THIRTY_360 {
+        public int dayCount(int startSerial, int endSerial) {
+            final int p1 = SpreadsheetDate.decodeSerial(startSerial);
+            final int p2 = SpreadsheetDate.decodeSerial(endSerial);
+            final int d1 = Math.min(SpreadsheetDate.packedDay(p1), 30);
+            int d2 = SpreadsheetDate.packedDay(p2);
+            if (d2 == 31 && d1 == 30) {
+                d2 = 30;
+            }
+            return thirty360(p1, d1, p2, d2);
+        }
+
+        public double yearFraction(int startSerial, int endSerial) {
+            return dayCount(startSerial, endSerial) / 360.0;
+        }
+    },
+
+    /** 30E/360 (Eurobond basis): the 31st always counts as the 30th. */
+    THIRTY_E_360 {
+        public int dayCount(int startSerial, int endSerial) {
+            final int p1 = SpreadsheetDate.decodeSerial(startSerial);
+            final int p2 = SpreadsheetDate.decodeSerial(endSerial);
+            return thirty360(p1, Math.min(SpreadsheetDate.packedDay(p1), 30),
+                    p2, Math.min(SpreadsheetDate.packedDay(p2), 30));
+        }
+
+        public double yearFraction(int startSerial, int endSerial) {
+            return dayCount(startSerial, endSerial) / 360.0;
+        }
+    },
+
+    /**
+     * Actual/actual (ISDA): the days in each calendar year are divided by
+     * the length of that year, 365 or 366.
+     */
+    ACT_ACT_ISDA {
+        public double yearFraction(int startSerial, int endSerial) {
+            if (endSerial < startSerial) {
+                return -yearFraction(endSerial, startSerial);
+            }
+            final int y1 = SpreadsheetDate.packedYear(SpreadsheetDate.decodeSerial(startSerial));
+            final int y2 = SpreadsheetDate.packedYear(SpreadsheetDate.decodeSerial(endSerial));
+            if (y1 == y2) {
+                return (endSerial - startSerial) / (double) daysInYear(y1);
+            }
+            final int endOfFirst = SpreadsheetDate.encodeSerial(1, 1, y1 + 1);
+            final int startOfLast = SpreadsheetDate.encodeSerial(1, 1, y2);
+            return (endOfFirst - startSerial) / (double) daysInYear(y1)
+                    + (y2 - y1 - 1)
+                    + (endSerial - startOfLast) / (double) daysInYear(y2);
+        }
+    };
+
+    /** Columns shorter than this are not split for parallel evaluation. */
+    private static final int PARALLEL_CHUNK = 1 << 14;
+
+    /**
+     * Returns the fraction of a year from the start date to the end date,
+     * negative if the end is before the start.
+     *
+     * @param startSerial  the serial number of the start date.
+     * @param endSerial  the serial number of the end date.
+     * @return The year fraction.
+     */
+    public abstract double yearFraction(int startSerial, int endSerial);
+
+    /**
+     * Returns the fraction of a year from the start date to the end date.
+     *
+     * @param start  the start date.
+     * @param end  the end date.
+     * @return The year fraction.
+     */
+    public double yearFraction(DayDate start, DayDate end) {
+        return yearFraction(start.toSerial(), end.toSerial());
+    }
+
+    /**
+     * Returns the number of days from the start date to the end date as this
+     * convention counts them (the actual number of days unless the
+     * convention says otherwise).
+     *
+     * @param startSerial  the serial number of the start date.
+     * @param endSerial  the serial number of the end date.
+     * @return The number of days.
+     */
+    public int dayCount(int startSerial, int endSerial) {
+        return endSerial - startSerial;
+    }
+
+    /**
+     * Writes the year fraction for each pair of start and end serial numbers
+     * into <code>result</code>.
+     *
+     * @param startSerials  the start dates.
+     * @param endSerials  the end dates (the same length as the start dates).
+     * @param result  receives the year fractions (at least as long as the
+     *                start dates).
+     */
+    public void yearFractions(int[] startSerials, int[] endSerials, double[] result) {
+        checkLengths(startSerials, endSerials, result);
+        fill(startSerials, endSerials, result, 0, startSerials.length);
+    }
+
+    /**
+     * Returns the year fraction for each pair of start and end serial
+     * numbers.
+     *
+     * @param startSerials  the start dates.
+     * @param endSerials  the end dates (the same length as the start dates).
+     * @return The year fractions.
+     */
+    public double[] yearFractions(int[] startSerials, int[] endSerials) {
+        final double[] result = new double[startSerials.length];
+        yearFractions(startSerials, endSerials, result);
+        return result;
+    }
+
+    /**
+     * As {@link #yearFractions(int[], int[], double[])}, but splits the
+     * columns into chunks that are evaluated in parallel.
+     *
+     * @param startSerials  the start dates.
+     * @param endSerials  the end dates (the same length as the start dates).
+     * @param result  receives the year fractions (at least as long as the
+     *                start dates).
+     */
+    public void parallelYearFractions(final int[] startSerials, final int[] endSerials,
+                                      final double[] result) {
+        checkLengths(startSerials, endSerials, result);
+        final int length = startSerials.length;
+        final int chunks = (length + PARALLEL_CHUNK - 1) / PARALLEL_CHUNK;
+        IntStream.range(0, chunks).parallel().forEach(new IntConsumer() {
+            public void accept(int chunk) {
+                final int from = chunk * PARALLEL_CHUNK;
+                fill(startSerials, endSerials, result, from,
+                        Math.min(from + PARALLEL_CHUNK, length));
+            }
+        });
+    }
+
+    /**
+     * Writes the year fractions for the pairs from index <code>from</code>
+     * (inclusive) to <code>to</code> (exclusive).
+     */
+    void fill(int[] startSerials, int[] endSerials, double[] result, int from, int to) {
+        for (int i = from; i < to; i++) {
+            result[i] = yearFraction(startSerials[i], endSerials[i]);
+        }
+    }
+
+    private static int thirty360(int packed1, int d1, int packed2, int d2) {
+        return 360 * (SpreadsheetDate.packedYear(packed2) - SpreadsheetDate.packedYear(packed1))
+                + 30 * (SpreadsheetDate.packedMonth(packed2) - SpreadsheetDate.packedMonth(packed1))
+                + (d2 - d1);
+    }
+
+    private static int daysInYear(int year) {
+        return DayDate.isLeapYear(year) ? 366 : 365;
+    }
+
+    private static void checkLengths(int[] startSerials, int[] endSerials, double[] result) {
+        if (endSerials.length != startSerials.length) {
+            throw new IllegalArgumentException("There are " + startSerials.length
+                    + " start dates but " + endSerials.length + " end dates.");
+        }
+        if (result.length < startSerials.length) {
+            throw new IllegalArgumentException("The result array holds " + result.length
+                    + " values but there are " + startSerials.length + " dates.");
+        }
+    }
+}
@@ -162,9 +162,21 @@ public abstract class DayDate implements Comparable,
      * @return the number of the last day of the month.
      */
     public static int lastDayOfMonth(Month month, int yyyy) {
+        return lastDayOfMonth(month.index, yyyy);
+    }
+
+    /**
+     * Returns the number of the last day of the month, taking into account
+     * leap years.
+     *
+     * @param month the month (1 to 12).
+     * @param yyyy  the year (in the range 1900 to 9999).
+     * @return the number of the last day of the month.
+     */
+    public static int lastDayOfMonth(int month, int yyyy) {
 
-        int result = LAST_DAY_OF_MONTH[month.index];
-        if (month != Month.FEBRUARY) {
+        int result = LAST_DAY_OF_MONTH[month];
+        if (month != Month.FEBRUARY.index) {
             return result;
         } else if (isLeapYear(yyyy)) {
             return result + 1;
@@ -0,0 +1,266 @@
+package org.jfree.date;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A running total per day, for many threads adding at once, over a fixed
+ * range of days.
+ * <p>
+ * Because serial numbers in the range are consecutive, the totals are kept
+ * in arrays indexed by <code>serial - first serial</code>, rather than in a
+ * map of date keys to <code>LongAdder</code>s.  Contention is avoided by
+ * striping: there are several arrays, each thread adds to the one picked by
+ * its probe (a per-thread hash), and a total is the sum of its cell in
+ * every array.  As in <code>LongAdder</code>, an addition is a single
+ * compare-and-set, and the stripes grow with contention: there is one
+ * stripe to begin with, and each time a compare-and-set fails because
+ * another thread got there first the number in use is doubled, up to the
+ * maximum given when the accumulator is created, and the thread moves to a
+ * new probe, and so to another stripe, before retrying.  A stripe is only
+ * created when a thread first uses it, and costs 8 bytes per day in the
+ * range (about 23 MB for the whole supported range), so an accumulator
+ * that is never contended holds a single copy of the totals.
+ * <p>
+ * Reading a total while other threads are adding gives a value that
+ * includes some subset of the concurrent additions, as for
+ * <code>LongAdder.sum()</code>.
+ */
+public class DayDateAccumulator {
+
+    /**
+     * The most stripes used when no maximum is given: one per processor,
+     * since no more threads than that can be adding at the same moment.
+     */
+    private static final int DEFAULT_STRIPES = Runtime.getRuntime().availableProcessors();
+
+    /** Hands out starting probes. */
+    private static final AtomicInteger PROBE_SEED = new AtomicInteger();
+
+    /** Each thread's probe, which picks its stripe. */
+    private static final ThreadLocal<int[]> PROBE = new ThreadLocal<int[]>() {
+        protected int[] initialValue() {
+            // mix the seed so that every bit varies from thread to thread,
+            // and keep the probe away from 0, where xorshift would stay
+            int h = PROBE_SEED.getAndAdd(0x9E3779B9);
+            h = (h ^ (h >>> 16)) * 0x85EBCA6B;
+            h = (h ^ (h >>> 13)) * 0xC2B2AE35;
+            h ^= h >>> 16;
+            return new int[] {h == 0 ? 0x9E3779B9 : h};
+        }
+    };
+
+    private final int first;
+
+    private final int length;
+
+    private final int mask;
+
+    private final AtomicReferenceArray<AtomicLongArray> stripes;
+
+    /** The number of stripes in use, a power of two up to the maximum. */
+    private final AtomicInteger active = new AtomicInteger(1);
+
+    /**
+     * Creates an accumulator covering the days from <code>first</code> to
+     * <code>last</code> (inclusive), with at most one stripe per available
+     * processor (rounded up to a power of two).  Each stripe in use costs 8
+     * bytes per day in the range.
+     *
+     * @param first  the first day.
+     * @param last  the last day.
+     */
+    public DayDateAccumulator(DayDate first, DayDate last) {
+        this(first.toSerial(), last.toSerial(), DEFAULT_STRIPES);
+    }
+
+    /**
+     * Creates an accumulator covering the days from
+     * <code>firstSerial</code> to <code>lastSerial</code> (inclusive).  Each
+     * stripe in use costs 8 bytes per day in the range, and under
+     * contention every one of them may come into use.
+     *
+     * @param firstSerial  the first serial number.
+     * @param lastSerial  the last serial number.
+     * @param stripes  the most stripes to use (rounded up to a power of
+     *                 two).
+     */
+    public DayDateAccumulator(int firstSerial, int lastSerial, int stripes) {
+        SpreadsheetDate.checkSerial(firstSerial);
+        SpreadsheetDate.checkSerial(lastSerial);
+        if (firstSerial > lastSerial) {
+            throw new IllegalArgumentException("The first day is after the last day.");
+        }
+        if (stripes < 1) {
+            throw new IllegalArgumentException("There must be at least one stripe.");
+        }
+        final int count = Integer.highestOneBit(stripes * 2 - 1);
+        this.first = firstSerial;
+        this.length = lastSerial - firstSerial + 1;
+        this.mask = count - 1;
+        this.stripes = new AtomicReferenceArray<AtomicLongArray>(count);
+    }
+
+    public int getFirstSerial() {
+        return this.first;
+    }
+
+    public int getLastSerial() {
+        return this.first + this.length - 1;
+    }
+
+    public void increment(DayDate date) {
+        add(date.toSerial(), 1L);
+    }
+
+    public void increment(int serial) {
+        add(serial, 1L);
+    }
+
+    public void add(DayDate date, long amount) {
+        add(date.toSerial(), amount);
+    }
+
+    /**
+     * Adds to the total for a day.
+     *
+     * @param serial  the serial number.
+     * @param amount  the amount to add.
+     */
+    public void add(int serial, long amount) {
+        addAt(index(serial), amount);
+    }
+
+    public long sum(DayDate date) {
+        return sum(date.toSerial());
+    }
+
+    /**
+     * Returns the total for a day.
+     *
+     * @param serial  the serial number.
+     * @return The total.
+     */
+    public long sum(int serial) {
+        final int i = index(serial);
+        long sum = 0L;
+        for (int s = 0; s <= this.mask; s++) {
+            final AtomicLongArray stripe = this.stripes.get(s);
+            if (stripe != null) {
+                sum += stripe.get(i);
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Returns the totals for every day in the range, each one present in
+     * the series.
+     *
+     * @return A new series.
+     */
+    public LongDailySeries snapshot() {
+        final long[] totals = totals();
+        final LongDailySeries series = new LongDailySeries(this.first, getLastSerial());
+        for (int i = 0; i < this.length; i++) {
+            series.put(this.first + i, totals[i]);
+        }
+        return series;
+    }
+
+    /**
+     * Adds another accumulator's totals to this one, for the days the two
+     * have in common.  The other accumulator is not changed.
+     *
+     * @param other  the other accumulator.
+     */
+    public void merge(DayDateAccumulator other) {
+        final int from = Math.max(this.first, other.first);
+        final int to = Math.min(getLastSerial(), other.getLastSerial());
+        if (from > to) {
+            return;
+        }
+        final long[] totals = other.totals();
+        for (int serial = from; serial <= to; serial++) {
+            final long total = totals[serial - other.first];
+            if (total != 0L) {
+                addAt(serial - this.first, total);
+            }
+        }
+    }
+
+    /**
+     * Sets every total to zero.  Additions made at the same time may or may
+     * not be kept.
+     */
+    public void reset() {
+        for (int s = 0; s <= this.mask; s++) {
+            final AtomicLongArray stripe = this.stripes.get(s);
+            if (stripe != null) {
+                for (int i = 0; i < this.length; i++) {
+                    stripe.set(i, 0L);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the sum over all stripes of each cell.
+     */
+    private long[] totals() {
+        final long[] totals = new long[this.length];
+        for (int s = 0; s <= this.mask; s++) {
+            final AtomicLongArray stripe = this.stripes.get(s);
+            if (stripe != null) {
+                for (int i = 0; i < this.length; i++) {
+                    totals[i] += stripe.get(i);
+                }
+            }
+        }
+        return totals;
+    }
+
+    /**
+     * Adds to a cell in the current thread's stripe.  Each time the
+     * compare-and-set loses a race, more stripes are brought into use (up to
+     * the maximum) and the thread moves to another one.
+     */
+    private void addAt(int i, long amount) {
+        final int[] probe = PROBE.get();
+        AtomicLongArray stripe = stripe(probe[0]);
+        long value = stripe.get(i);
+        while (!stripe.compareAndSet(i, value, value + amount)) {
+            final int n = this.active.get();
+            if (n <= this.mask) {
+                this.active.compareAndSet(n, 2 * n);
+            }
+            // xorshift, as ThreadLocalRandom advances a contended probe
+            int h = probe[0];
+            h ^= h << 13;
+            h ^= h >>> 17;
+            h ^= h << 5;
+            probe[0] = h;
+            stripe = stripe(h);
+            value = stripe.get(i);
+        }
+    }
+
+    private AtomicLongArray stripe(int probe) {
+        final int s = probe & (this.active.get() - 1);
+        AtomicLongArray stripe = this.stripes.get(s);
+        if (stripe == null) {
+            this.stripes.compareAndSet(s, null, new AtomicLongArray(this.length));
+            stripe = this.stripes.get(s);
+        }
+        return stripe;
+    }
+
+    private int index(int serial) {
+        if (serial - this.first < 0 || serial - this.first >= this.length) {
+            throw new IllegalArgumentException("Serial " + serial + " is outside the range "
+                    + this.first + ".." + getLastSerial());
+        }
+        return serial - this.first;
+    }
+}
@@ -0,0 +1,317 @@
+package org.jfree.date;
+
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Groups serial numbers into weeks, months, quarters or years, for
+ * aggregating columns of dates without creating a {@link DayDate} or
+ * decoding each serial into day, month and year.
+ * <p>
+ * Each grouping numbers its buckets from 0, in date order, over the whole
+ * supported range: month 0 is January 1900, quarter 0 is the first quarter
+ * of 1900, year 0 is 1900 and week 0 is the week holding 1 January 1900.
+ * {@link #getStart(int)} and {@link #getEnd(int)} give the days in a
+ * bucket.
+ * <p>
+ * Weeks are a division by 7.  For the other groupings a table holds the
+ * serial number of the first day of every bucket.  A serial's bucket is
+ * estimated from the average bucket length over a 400 year cycle, and the
+ * estimate is never more than one bucket out, so one comparison with the
+ * table corrects it.  The bulk methods make a single pass over the column,
+ * checking each serial as they bucket it, and the parallel variants split
+ * long columns into chunks.
+ */
+public final class DayDateBuckets {
+
+    /** Columns shorter than this are not split for parallel evaluation. */
+    private static final int PARALLEL_CHUNK = 1 << 16;
+
+    /** The number of days in a 400 year cycle. */
+    private static final int DAYS_PER_CYCLE = 146097;
+
+    private static final int FIRST_YEAR = 1900;
+
+    private static final int YEARS = 9999 - FIRST_YEAR + 1;
+
+    /**
+     * The first serial of each bucket, followed by the serial after the
+     * last bucket; <code>null</code> for weeks.
+     */
+    private final int[] starts;
+
+    /** The number of buckets in a 400 year cycle. */
+    private final int perCycle;
+
+    /** The serial of the first day of week 0 (can be before serial 2). */
+    private final int origin;
+
+    private final int count;
+
+    private DayDateBuckets(int monthsPerBucket) {
+        this.count = YEARS * 12 / monthsPerBucket;
+        this.perCycle = 400 * 12 / monthsPerBucket;
+        this.origin = SpreadsheetDate.SERIAL_LOWER_BOUND;
+        this.starts = new int[this.count + 1];
+        for (int b = 0; b < this.count; b++) {
+            final int month = b * monthsPerBucket;
+            this.starts[b] = SpreadsheetDate.encodeSerial(1, month % 12 + 1,
+                    FIRST_YEAR + month / 12);
+        }
+        this.starts[this.count] = SpreadsheetDate.SERIAL_UPPER_BOUND + 1;
+    }
+
+    private DayDateBuckets(Day firstDay) {
+        final int lower = SpreadsheetDate.SERIAL_LOWER_BOUND;
+        this.origin = lower - (SpreadsheetDate.dayOfWeek(lower) - firstDay.index + 7) % 7;
+        this.count = (SpreadsheetDate.SERIAL_UPPER_BOUND - this.origin) / 7 + 1;
+        this.perCycle = 0;
+        this.starts = null;
+    }
+
+    /**
+     * Returns the grouping into weeks that start on the given day.
+     *
+     * @param firstDay  the first day of each week.
+     * @return The grouping.
+     */
+    public static DayDateBuckets weeks(Day firstDay) {
+        return new DayDateBuckets(firstDay);
+    }
+
+    public static DayDateBuckets months() {
+        return Months.INSTANCE;
+    }
+
+    public static DayDateBuckets quarters() {
+        return Quarters.INSTANCE;
+    }
+
+    public static DayDateBuckets years() {
+        return Years.INSTANCE;
+    }
+
+    /**
+     * Returns the number of buckets in the supported range of dates.
+     *
+     * @return The number of buckets.
+     */
+    public int bucketCount() {
+        return this.count;
+    }
+
+    /**
+     * Returns the bucket holding a day.
+     *
+     * @param serial  the serial number.
+     * @return The bucket, from 0 to {@link #bucketCount()} - 1.
+     */
+    public int bucketOf(int serial) {
+        SpreadsheetDate.checkSerial(serial);
+        return this.starts == null ? (serial - this.origin) / 7 : tableBucket(serial);
+    }
+
+    public int bucketOf(DayDate date) {
+        return bucketOf(date.toSerial());
+    }
+
+    /**
+     * Returns the serial number of the first day of a bucket, or of
+     * 1-Jan-1900 for a week that starts before it.
+     *
+     * @param bucket  the bucket.
+     * @return The serial number.
+     */
+    public int getStart(int bucket) {
+        checkBucket(bucket);
+        if (this.starts == null) {
+            return Math.max(this.origin + 7 * bucket, SpreadsheetDate.SERIAL_LOWER_BOUND);
+        }
+        return this.starts[bucket];
+    }
+
+    /**
+     * Returns the serial number of the last day of a bucket, or of
+     * 31-Dec-9999 for a week that ends after it.
+     *
+     * @param bucket  the bucket.
+     * @return The serial number.
+     */
+    public int getEnd(int bucket) {
+        checkBucket(bucket);
+        if (this.starts == null) {
+            return Math.min(this.origin + 7 * bucket + 6, SpreadsheetDate.SERIAL_UPPER_BOUND);
+        }
+        return this.starts[bucket + 1] - 1;
+    }
+
+    /**
+     * Writes the bucket of each serial number into <code>result</code>.  If
+     * a serial number is outside the supported range an
+     * <code>IllegalArgumentException</code> is thrown, and the buckets
+     * before it will already have been written.
+     *
+     * @param serials  the serial numbers.
+     * @param result  receives the buckets (at least as long as
+     *                <code>serials</code>).
+     */
+    public void bucketsOf(int[] serials, int[] result) {
+        checkResult(serials, result);
+        fill(serials, result, 0, serials.length);
+    }
+
+    /**
+     * As {@link #bucketsOf(int[], int[])}, but splits the column into chunks
+     * that are evaluated in parallel.  If a serial number is outside the
+     * supported range an <code>IllegalArgumentException</code> is thrown,
+     * and any part of <code>result</code> may already have been written.
+     *
+     * @param serials  the serial numbers.
+     * @param result  receives the buckets (at least as long as
+     *                <code>serials</code>).
+     */
+    public void parallelBucketsOf(final int[] serials, final int[] result) {
+        checkResult(serials, result);
+        final int length = serials.length;
+        final int chunks = (length + PARALLEL_CHUNK - 1) / PARALLEL_CHUNK;
+        IntStream.range(0, chunks).parallel().forEach(new IntConsumer() {
+            public void accept(int chunk) {
+                final int from = chunk * PARALLEL_CHUNK;
+                fill(serials, result, from, Math.min(from + PARALLEL_CHUNK, length));
+            }
+        });
+    }
+
+    /**
+     * Counts the serial numbers in each of the buckets from
+     * <code>firstBucket</code> to <code>firstBucket + counts.length - 1</code>,
+     * adding to <code>counts</code>.  Serials in other buckets are not
+     * counted.  If a serial number is outside the supported range an
+     * <code>IllegalArgumentException</code> is thrown, and the serials
+     * before it will already have been counted.
+     *
+     * @param serials  the serial numbers.
+     * @param firstBucket  the bucket counted in <code>counts[0]</code>.
+     * @param counts  the counts to add to.
+     * @return The number of serials counted.
+     */
+    public int histogram(int[] serials, int firstBucket, long[] counts) {
+        return count(serials, 0, serials.length, firstBucket, counts);
+    }
+
+    /**
+     * As {@link #histogram(int[], int, long[])}, but splits the column into
+     * one chunk per processor, each counted in parallel into its own array.
+     * The arrays are only added to <code>counts</code> once every chunk has
+     * been counted, so an invalid serial number leaves <code>counts</code>
+     * unchanged.
+     *
+     * @param serials  the serial numbers.
+     * @param firstBucket  the bucket counted in <code>counts[0]</code>.
+     * @param counts  the counts to add to.
+     * @return The number of serials counted.
+     */
+    public int parallelHistogram(final int[] serials, final int firstBucket,
+                                 final long[] counts) {
+        final int length = serials.length;
+        // one chunk per processor, since each needs a full set of counts
+        final int chunks = Math.max(1, Math.min((length + PARALLEL_CHUNK - 1) / PARALLEL_CHUNK,
+                Runtime.getRuntime().availableProcessors()));
+        final int chunkSize = (length + chunks - 1) / chunks;
+        final long[][] partial = new long[chunks][];
+        final int[] counted = new int[chunks];
+        IntStream.range(0, chunks).parallel().forEach(new IntConsumer() {
+            public void accept(int chunk) {
+                final int from = chunk * chunkSize;
+                final int to = Math.min(from + chunkSize, length);
+                partial[chunk] = new long[counts.length];
+                counted[chunk] = count(serials, from, to, firstBucket, partial[chunk]);
+            }
+        });
+        int total = 0;
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            for (int b = 0; b < counts.length; b++) {
+                counts[b] += partial[chunk][b];
+            }
+            total += counted[chunk];
+        }
+        return total;
+    }
+
+    /**
+     * Writes the buckets for the serials from index <code>from</code>
+     * (inclusive) to <code>to</code> (exclusive), checking each serial.
+     */
+    private void fill(int[] serials, int[] result, int from, int to) {
+        if (this.starts == null) {
+            for (int i = from; i < to; i++) {
+                final int serial = serials[i];
+                SpreadsheetDate.checkSerial(serial);
+                result[i] = (serial - this.origin) / 7;
+            }
+        }
+        else {
+            for (int i = from; i < to; i++) {
+                final int serial = serials[i];
+                SpreadsheetDate.checkSerial(serial);
+                result[i] = tableBucket(serial);
+            }
+        }
+    }
+
+    private int count(int[] serials, int from, int to, int firstBucket, long[] counts) {
+        int counted = 0;
+        for (int i = from; i < to; i++) {
+            final int serial = serials[i];
+            SpreadsheetDate.checkSerial(serial);
+            final int b = (this.starts == null ? (serial - this.origin) / 7 : tableBucket(serial))
+                    - firstBucket;
+            if (b >= 0 && b < counts.length) {
+                counts[b]++;
+                counted++;
+            }
+        }
+        return counted;
+    }
+
+    private int tableBucket(int serial) {
+        int b = (int) ((long) (serial - SpreadsheetDate.SERIAL_LOWER_BOUND) * this.perCycle
+                / DAYS_PER_CYCLE);
+        if (b >= this.count) {
+            b = this.count - 1;
+        }
+        if (this.starts[b] > serial) {
+            b--;
+        }
+        else if (this.starts[b + 1] <= serial) {
+            b++;
+        }
+        return b;
+    }
+
+    private void checkBucket(int bucket) {
+        if (bucket < 0 || bucket >= this.count) {
+            throw new IndexOutOfBoundsException(
+                    "Bucket " + bucket + " is outside 0.." + (this.count - 1));
+        }
+    }
+
+    private static void checkResult(int[] serials, int[] result) {
+        if (result.length < serials.length) {
+            throw new IllegalArgumentException("The result array holds " + result.length
+                    + " values but there are " + serials.length + " serials.");
+        }
+    }
+
+    private static final class Months {
+        static final DayDateBuckets INSTANCE = new DayDateBuckets(1);
+    }
+
+    private static final class Quarters {
+        static final DayDateBuckets INSTANCE = new DayDateBuckets(3);
+    }
+
+    private static final class Years {
+        static final DayDateBuckets INSTANCE = new DayDateBuckets(12);
+    }
+}
@@ -0,0 +1,120 @@
+package org.jfree.date;
+
+import java.util.Arrays;
+
+/**
+ * A fixed-length column of dates stored as serial numbers (see
+ * {@link SpreadsheetDate}) in an <code>int[]</code>, for working with large
+ * numbers of dates without creating a {@link DayDate} for each one.
+ * <p>
+ * The bulk operations are those of {@link AbstractDayDateColumn}.  A
+ * column can be a view of part of another column or of a caller's array;
+ * views share storage, so a change made through one is seen by the others.
+ */
+public class DayDateColumn extends AbstractDayDateColumn {
+
+    private final int[] serials;
+
+    private final int offset;
+
+    private final int size;
+
+    /**
+     * Creates a column of the given size, with every entry set to
+     * 1-Jan-1900.
+     *
+     * @param size  the number of dates.
+     */
+    public DayDateColumn(int size) {
+        this.serials = new int[size];
+        this.offset = 0;
+        this.size = size;
+        Arrays.fill(this.serials, SpreadsheetDate.SERIAL_LOWER_BOUND);
+    }
+
+    private DayDateColumn(int[] serials, int offset, int size) {
+        this.serials = serials;
+        this.offset = offset;
+        this.size = size;
+    }
+
+    /**
+     * Creates a column holding the serial numbers of the given dates.
+     *
+     * @param dates  the dates.
+     * @return A new column.
+     */
+    public static DayDateColumn of(DayDate... dates) {
+        final int[] serials = new int[dates.length];
+        for (int i = 0; i < dates.length; i++) {
+            serials[i] = dates[i].toSerial();
+        }
+        return new DayDateColumn(serials, 0, serials.length);
+    }
+
+    /**
+     * Creates a column backed by the given array, without copying it.
+     *
+     * @param serials  the serial numbers (each in the range 2 to 2958465).
+     * @return A column that reads and writes <code>serials</code>.
+     */
+    public static DayDateColumn wrap(int[] serials) {
+        return wrap(serials, 0, serials.length);
+    }
+
+    /**
+     * Creates a column backed by part of the given array, without copying it.
+     *
+     * @param serials  the serial numbers (each in the range 2 to 2958465).
+     * @param offset  the index of the first serial number in the column.
+     * @param size  the number of serial numbers in the column.
+     * @return A column that reads and writes part of <code>serials</code>.
+     */
+    public static DayDateColumn wrap(int[] serials, int offset, int size) {
+        if (offset < 0 || size < 0 || offset + size > serials.length) {
+            throw new IndexOutOfBoundsException(
+                    "Range " + offset + "+" + size + " is outside an array of " + serials.length);
+        }
+        for (int i = offset; i < offset + size; i++) {
+            SpreadsheetDate.checkSerial(serials[i]);
+        }
+        return new DayDateColumn(serials, offset, size);
+    }
+
+    /**
+     * Returns a view of the dates from <code>from</code> (inclusive) to
+     * <code>to</code> (exclusive), sharing this column's storage.
+     *
+     * @param from  the first index in the view.
+     * @param to  the index after the last one in the view.
+     * @return A view of part of this column.
+     */
+    public DayDateColumn view(int from, int to) {
+        if (from < 0 || to > this.size || from > to) {
+            throw new IndexOutOfBoundsException(
+                    "View " + from + ".." + to + " is outside a column of " + this.size);
+        }
+        return new DayDateColumn(this.serials, this.offset + from, to - from);
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    int serialAt(int index) {
+        return this.serials[this.offset + index];
+    }
+
+    void setSerialAt(int index, int serial) {
+        this.serials[this.offset + index] = serial;
+    }
+
+    /**
+     * Copies the serial numbers into a new array.
+     *
+     * @return The serial numbers.
+     */
+    public int[] toSerialArray() {
+        return Arrays.copyOfRange(this.serials, this.offset, this.offset + this.size);
+    }
+}
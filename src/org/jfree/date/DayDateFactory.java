@@ -16,6 +16,10 @@ public abstract class DayDateFactory {
     protected abstract int _getMinimumYear();
     protected abstract int _getMaximumYear();
 
+    protected DayDate _intern(DayDate date) {
+        return date;
+    }
+
     public static DayDate makeDate(int ordinal) {
         return factory._makeDate(ordinal);
     }
@@ -32,6 +36,14 @@ public abstract class DayDateFactory {
         return factory._makeDate(date);
     }
 
+    /**
+     * Returns the canonical instance equal to the given date, or the date
+     * itself when the installed factory does not intern dates.
+     */
+    public static DayDate intern(DayDate date) {
+        return factory._intern(date);
+    }
+
     public static int getMinimumYear() {
         return factory._getMinimumYear();
     }
@@ -0,0 +1,427 @@
+package org.jfree.date;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * An index of date ranges that answers "which ranges contain this date" and
+ * "which ranges overlap this window" in O(log n + k) expected time for k
+ * matches.
+ * <p>
+ * Each range is held as a closed pair of serial numbers and identified by an
+ * int id: its position in the arrays given to
+ * {@link #DayDateIntervalIndex(int[], int[])}, or the value returned by
+ * {@link #insert(int, int)}.  The id of a removed range is handed out
+ * again by a later insert, so the arrays only grow with the number of
+ * ranges held at once, not with the number ever inserted.  Ranges given
+ * as {@link DayDate}s follow
+ * {@link DayDate#isInRange(DayDate, DayDate, int)}: the order of the two
+ * dates is not important and a {@link DayDate.DateInterval} says whether
+ * each end point is included.
+ * <p>
+ * The ranges form a binary search tree ordered by start, in which every node
+ * also records the latest end in its subtree, so a query skips any subtree
+ * that ends before the window.  The tree is a treap (each node has a random
+ * priority and rotations keep the priorities in heap order), which keeps it
+ * balanced under inserts and removes.  Nodes live in parallel int arrays
+ * indexed by id, so the index holds no per-range objects.
+ */
+public class DayDateIntervalIndex {
+
+    private static final int NONE = -1;
+
+    private int[] starts;
+
+    private int[] ends;
+
+    /** The latest end in the subtree rooted at each node. */
+    private int[] maxEnds;
+
+    private int[] lefts;
+
+    private int[] rights;
+
+    private int[] priorities;
+
+    /** For each id, whether the range is currently in the tree. */
+    private boolean[] present;
+
+    private int nextId;
+
+    /** The most recently removed id, linked through <code>lefts</code>. */
+    private int free = NONE;
+
+    private int size;
+
+    private int root = NONE;
+
+    private final Random random = new Random();
+
+    /**
+     * Creates an empty index.
+     */
+    public DayDateIntervalIndex() {
+        this(new int[0], new int[0]);
+    }
+
+    /**
+     * Creates an index of the closed ranges <code>[starts[i], ends[i]]</code>;
+     * the range at position <code>i</code> gets id <code>i</code>.  The tree
+     * is built balanced in O(n log n).
+     *
+     * @param starts  the first serial number of each range.
+     * @param ends  the last serial number of each range (the same length as
+     *              <code>starts</code>).
+     */
+    public DayDateIntervalIndex(int[] starts, int[] ends) {
+        if (starts.length != ends.length) {
+            throw new IllegalArgumentException("There are " + starts.length
+                    + " starts but " + ends.length + " ends.");
+        }
+        final int n = starts.length;
+        final int capacity = Math.max(n, 16);
+        this.starts = new int[capacity];
+        this.ends = new int[capacity];
+        this.maxEnds = new int[capacity];
+        this.lefts = new int[capacity];
+        this.rights = new int[capacity];
+        this.priorities = new int[capacity];
+        this.present = new boolean[capacity];
+        final long[] keys = new long[n];
+        for (int i = 0; i < n; i++) {
+            checkRange(starts[i], ends[i]);
+            this.starts[i] = starts[i];
+            this.ends[i] = ends[i];
+            this.present[i] = true;
+            keys[i] = ((long) starts[i] << 32) | i;
+        }
+        Arrays.sort(keys);
+        final int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = (int) keys[i];
+        }
+        // a pre-order walk hands out priorities in descending order, so
+        // each node outranks its children
+        final int[] pool = new int[n];
+        for (int i = 0; i < n; i++) {
+            pool[i] = this.random.nextInt();
+        }
+        Arrays.sort(pool);
+        this.nextId = n;
+        this.size = n;
+        this.root = build(order, 0, n, pool, new int[] {n});
+    }
+
+    private int build(int[] order, int from, int to, int[] pool, int[] remaining) {
+        if (from >= to) {
+            return NONE;
+        }
+        final int mid = (from + to) >>> 1;
+        final int node = order[mid];
+        this.priorities[node] = pool[--remaining[0]];
+        this.lefts[node] = build(order, from, mid, pool, remaining);
+        this.rights[node] = build(order, mid + 1, to, pool, remaining);
+        update(node);
+        return node;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public boolean contains(int id) {
+        return id >= 0 && id < this.nextId && this.present[id];
+    }
+
+    public int getStart(int id) {
+        return this.starts[checkId(id)];
+    }
+
+    public int getEnd(int id) {
+        return this.ends[checkId(id)];
+    }
+
+    /**
+     * Adds a range.
+     *
+     * @param d1  one boundary date for the range.
+     * @param d2  the other boundary date for the range.
+     * @param interval  whether the boundary dates are included.
+     * @return The id of the new range.
+     */
+    public int insert(DayDate d1, DayDate d2, DayDate.DateInterval interval) {
+        final int s1 = d1.toSerial();
+        final int s2 = d2.toSerial();
+        return insert(DayDateRange.firstSerial(s1, s2, interval),
+                DayDateRange.lastSerial(s1, s2, interval));
+    }
+
+    /**
+     * Adds the closed range <code>[start, end]</code>.
+     *
+     * @param start  the first serial number in the range.
+     * @param end  the last serial number in the range.
+     * @return The id of the new range.
+     */
+    public int insert(int start, int end) {
+        checkRange(start, end);
+        final int node;
+        if (this.free != NONE) {
+            node = this.free;
+            this.free = this.lefts[node];
+        }
+        else {
+            if (this.nextId == this.starts.length) {
+                grow();
+            }
+            node = this.nextId++;
+        }
+        this.starts[node] = start;
+        this.ends[node] = end;
+        this.lefts[node] = NONE;
+        this.rights[node] = NONE;
+        this.priorities[node] = this.random.nextInt();
+        this.present[node] = true;
+        update(node);
+        this.root = insertNode(this.root, node);
+        this.size++;
+        return node;
+    }
+
+    /**
+     * Removes a range.  Its id may be given to a range inserted later.
+     *
+     * @param id  the id of the range.
+     * @return <code>true</code> if the range was in the index.
+     */
+    public boolean remove(int id) {
+        if (!contains(id)) {
+            return false;
+        }
+        this.root = removeNode(this.root, id);
+        this.present[id] = false;
+        this.lefts[id] = this.free;
+        this.free = id;
+        this.size--;
+        return true;
+    }
+
+    /**
+     * Returns the ids of the ranges that contain a date.
+     *
+     * @param date  the date.
+     * @return The ids, in order of start.
+     */
+    public int[] stab(DayDate date) {
+        return stab(date.toSerial());
+    }
+
+    public int[] stab(int serial) {
+        return overlapping(serial, serial);
+    }
+
+    /**
+     * Returns the ids of the ranges that share at least one day with a
+     * window.
+     *
+     * @param d1  one boundary date for the window.
+     * @param d2  the other boundary date for the window.
+     * @param interval  whether the boundary dates are in the window.
+     * @return The ids, in order of start.
+     */
+    public int[] overlapping(DayDate d1, DayDate d2, DayDate.DateInterval interval) {
+        final int s1 = d1.toSerial();
+        final int s2 = d2.toSerial();
+        final int first = DayDateRange.firstSerial(s1, s2, interval);
+        final int last = DayDateRange.lastSerial(s1, s2, interval);
+        return first <= last ? overlapping(first, last) : new int[0];
+    }
+
+    /**
+     * Returns the ids of the ranges that share at least one day with the
+     * closed window <code>[from, to]</code>.
+     *
+     * @param from  the first serial number in the window.
+     * @param to  the last serial number in the window.
+     * @return The ids, in order of start.
+     */
+    public int[] overlapping(int from, int to) {
+        final Matches matches = new Matches();
+        collect(this.root, from, to, matches);
+        return Arrays.copyOf(matches.ids, matches.count);
+    }
+
+    /**
+     * Returns the number of ranges that share at least one day with the
+     * closed window <code>[from, to]</code>.
+     *
+     * @param from  the first serial number in the window.
+     * @param to  the last serial number in the window.
+     * @return The number of ranges.
+     */
+    public int countOverlapping(int from, int to) {
+        return count(this.root, from, to);
+    }
+
+    private void collect(int node, int from, int to, Matches matches) {
+        while (node != NONE && this.maxEnds[node] >= from) {
+            collect(this.lefts[node], from, to, matches);
+            if (this.starts[node] > to) {
+                return;
+            }
+            if (this.ends[node] >= from) {
+                matches.add(node);
+            }
+            node = this.rights[node];
+        }
+    }
+
+    /**
+     * The same walk as <code>collect</code>, counting instead of recording
+     * the matches.
+     */
+    private int count(int node, int from, int to) {
+        int count = 0;
+        while (node != NONE && this.maxEnds[node] >= from) {
+            count += count(this.lefts[node], from, to);
+            if (this.starts[node] > to) {
+                return count;
+            }
+            if (this.ends[node] >= from) {
+                count++;
+            }
+            node = this.rights[node];
+        }
+        return count;
+    }
+
+    private int insertNode(int t, int node) {
+        if (t == NONE) {
+            return node;
+        }
+        if (less(node, t)) {
+            this.lefts[t] = insertNode(this.lefts[t], node);
+            if (this.priorities[this.lefts[t]] > this.priorities[t]) {
+                return rotateRight(t);
+            }
+        }
+        else {
+            this.rights[t] = insertNode(this.rights[t], node);
+            if (this.priorities[this.rights[t]] > this.priorities[t]) {
+                return rotateLeft(t);
+            }
+        }
+        update(t);
+        return t;
+    }
+
+    private int removeNode(int t, int node) {
+        if (t == node) {
+            return merge(this.lefts[t], this.rights[t]);
+        }
+        if (less(node, t)) {
+            this.lefts[t] = removeNode(this.lefts[t], node);
+        }
+        else {
+            this.rights[t] = removeNode(this.rights[t], node);
+        }
+        update(t);
+        return t;
+    }
+
+    /** Joins two treaps in which every key of <code>a</code> is less. */
+    private int merge(int a, int b) {
+        if (a == NONE) {
+            return b;
+        }
+        if (b == NONE) {
+            return a;
+        }
+        if (this.priorities[a] > this.priorities[b]) {
+            this.rights[a] = merge(this.rights[a], b);
+            update(a);
+            return a;
+        }
+        this.lefts[b] = merge(a, this.lefts[b]);
+        update(b);
+        return b;
+    }
+
+    private int rotateRight(int t) {
+        final int l = this.lefts[t];
+        this.lefts[t] = this.rights[l];
+        this.rights[l] = t;
+        update(t);
+        update(l);
+        return l;
+    }
+
+    private int rotateLeft(int t) {
+        final int r = this.rights[t];
+        this.rights[t] = this.lefts[r];
+        this.lefts[r] = t;
+        update(t);
+        update(r);
+        return r;
+    }
+
+    private void update(int node) {
+        int max = this.ends[node];
+        final int l = this.lefts[node];
+        final int r = this.rights[node];
+        if (l != NONE && this.maxEnds[l] > max) {
+            max = this.maxEnds[l];
+        }
+        if (r != NONE && this.maxEnds[r] > max) {
+            max = this.maxEnds[r];
+        }
+        this.maxEnds[node] = max;
+    }
+
+    /** Orders nodes by start, then by id. */
+    private boolean less(int a, int b) {
+        return this.starts[a] < this.starts[b]
+                || (this.starts[a] == this.starts[b] && a < b);
+    }
+
+    private void grow() {
+        final int capacity = this.starts.length * 2;
+        this.starts = Arrays.copyOf(this.starts, capacity);
+        this.ends = Arrays.copyOf(this.ends, capacity);
+        this.maxEnds = Arrays.copyOf(this.maxEnds, capacity);
+        this.lefts = Arrays.copyOf(this.lefts, capacity);
+        this.rights = Arrays.copyOf(this.rights, capacity);
+        this.priorities = Arrays.copyOf(this.priorities, capacity);
+        this.present = Arrays.copyOf(this.present, capacity);
+    }
+
+    private int checkId(int id) {
+        if (!contains(id)) {
+            throw new IllegalArgumentException("No range has id " + id);
+        }
+        return id;
+    }
+
+    private static void checkRange(int start, int end) {
+        SpreadsheetDate.checkSerial(start);
+        SpreadsheetDate.checkSerial(end);
+        if (start > end) {
+            throw new IllegalArgumentException("The range contains no days.");
+        }
+    }
+
+    /** A growable buffer of matching ids. */
+    private static final class Matches {
+
+        private int[] ids = new int[16];
+
+        private int count;
+
+        void add(int id) {
+            if (this.count == this.ids.length) {
+                this.ids = Arrays.copyOf(this.ids, 2 * this.count);
+            }
+            this.ids[this.count++] = id;
+        }
+    }
+}
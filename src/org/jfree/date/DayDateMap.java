@@ -0,0 +1,292 @@
+package org.jfree.date;
+
+import java.util.Arrays;
+
+/**
+ * The common part of the maps keyed by serial number: an open-addressing
+ * hash table of <code>int</code> keys.
+ * <p>
+ * The entries are kept in arrays in the order they were added, and the hash
+ * table holds only an entry number for each slot.  Looking a serial up
+ * hashes it, then probes consecutive slots until it finds the serial or an
+ * empty slot; nothing is boxed and no <code>hashCode()</code> or
+ * <code>equals()</code> method is called, so <code>get</code> and an update
+ * of an existing key never allocate.  Because a serial number is never 0,
+ * 0 marks an empty slot and a removed entry.
+ * <p>
+ * Removing a key leaves a hole in the entries, which is squeezed out the
+ * next time the arrays grow, and shifts later colliding slots back so that
+ * no markers are left in the hash table.  Entries can be visited in the
+ * order they were added or in serial order.
+ *
+ * @see DayDateToIntMap
+ * @see DayDateToDoubleMap
+ * @see DayDateToObjectMap
+ */
+public abstract class DayDateMap {
+
+    private static final int MIN_CAPACITY = 8;
+
+    /** For each slot, the entry number + 1, or 0 if the slot is empty. */
+    private int[] table;
+
+    /** The shift that takes a 32-bit hash down to a slot number. */
+    private int shift;
+
+    /** The serial of each entry, in the order added; 0 if removed. */
+    int[] keys;
+
+    /** The number of entries used, including removed ones. */
+    int entries;
+
+    private int size;
+
+    DayDateMap(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("The expected size cannot be negative.");
+        }
+        allocate(Math.max(MIN_CAPACITY, expectedSize));
+    }
+
+    /**
+     * Returns the number of keys.
+     *
+     * @return The number of keys.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    public boolean containsKey(DayDate date) {
+        return containsKey(date.toSerial());
+    }
+
+    public boolean containsKey(int serial) {
+        return find(serial) >= 0;
+    }
+
+    public boolean remove(DayDate date) {
+        return remove(date.toSerial());
+    }
+
+    /**
+     * Removes a key and its value.
+     *
+     * @param serial  the serial number.
+     * @return <code>true</code> if the key was present.
+     */
+    public boolean remove(int serial) {
+        final int slot = findSlot(serial);
+        if (slot < 0) {
+            return false;
+        }
+        final int entry = this.table[slot] - 1;
+        this.keys[entry] = 0;
+        clearValue(entry);
+        this.size--;
+        deleteSlot(slot);
+        return true;
+    }
+
+    /**
+     * Removes every key, keeping the current capacity.
+     */
+    public void clear() {
+        for (int entry = 0; entry < this.entries; entry++) {
+            this.keys[entry] = 0;
+            clearValue(entry);
+        }
+        Arrays.fill(this.table, 0);
+        this.entries = 0;
+        this.size = 0;
+    }
+
+    /**
+     * Returns the keys in the order they were added.
+     *
+     * @return A new array of serial numbers.
+     */
+    public int[] serials() {
+        final int[] serials = new int[this.size];
+        int n = 0;
+        for (int entry = 0; entry < this.entries; entry++) {
+            if (this.keys[entry] != 0) {
+                serials[n++] = this.keys[entry];
+            }
+        }
+        return serials;
+    }
+
+    /**
+     * Returns the keys in ascending order.
+     *
+     * @return A new array of serial numbers.
+     */
+    public int[] sortedSerials() {
+        final int[] serials = serials();
+        DayDateSort.sort(serials);
+        return serials;
+    }
+
+    /**
+     * Returns the entry numbers of the keys, in the order they were added or
+     * in serial order.
+     */
+    final int[] entryOrder(boolean serialOrder) {
+        final int[] order = new int[this.size];
+        int n = 0;
+        for (int entry = 0; entry < this.entries; entry++) {
+            if (this.keys[entry] != 0) {
+                order[n++] = entry;
+            }
+        }
+        if (serialOrder) {
+            final int[] serials = new int[n];
+            for (int i = 0; i < n; i++) {
+                serials[i] = this.keys[order[i]];
+            }
+            final int[] sorted = DayDateSort.permutation(serials, false);
+            for (int i = 0; i < n; i++) {
+                sorted[i] = order[sorted[i]];
+            }
+            return sorted;
+        }
+        return order;
+    }
+
+    /**
+     * Returns the entry number for a serial, or -1 if it is not a key.
+     */
+    final int find(int serial) {
+        final int slot = findSlot(serial);
+        return slot < 0 ? -1 : this.table[slot] - 1;
+    }
+
+    /**
+     * Returns the entry number for a serial, adding an entry (whose value
+     * the caller must set) if it is not already a key.
+     */
+    final int insert(int serial) {
+        final int mask = this.table.length - 1;
+        int slot = hash(serial);
+        int e;
+        while ((e = this.table[slot]) != 0) {
+            if (this.keys[e - 1] == serial) {
+                return e - 1;
+            }
+            slot = (slot + 1) & mask;
+        }
+        SpreadsheetDate.checkSerial(serial);
+        if (this.entries == this.keys.length) {
+            rebuild();
+            return insert(serial);
+        }
+        final int entry = this.entries++;
+        this.keys[entry] = serial;
+        this.table[slot] = entry + 1;
+        this.size++;
+        return entry;
+    }
+
+    /**
+     * Resizes the value storage to the given capacity, keeping the value of
+     * entry <code>from[i]</code> as entry <code>i</code> for the first
+     * <code>count</code> entries.
+     */
+    abstract void moveValues(int[] from, int count, int capacity);
+
+    /**
+     * Releases the value of a removed entry.
+     */
+    abstract void clearValue(int entry);
+
+    private int hash(int serial) {
+        // Fibonacci hashing spreads runs of consecutive serials over the table
+        return (serial * 0x9E3779B9) >>> this.shift;
+    }
+
+    private int findSlot(int serial) {
+        final int mask = this.table.length - 1;
+        int slot = hash(serial);
+        int e;
+        while ((e = this.table[slot]) != 0) {
+            if (this.keys[e - 1] == serial) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Empties a slot, moving back any later entry in the same run that
+     * would otherwise no longer be found from its home slot.
+     */
+    private void deleteSlot(int slot) {
+        final int mask = this.table.length - 1;
+        int hole = slot;
+        int next = slot;
+        while (true) {
+            next = (next + 1) & mask;
+            final int e = this.table[next];
+            if (e == 0) {
+                break;
+            }
+            final int home = hash(this.keys[e - 1]);
+            // move the entry unless its home slot lies in (hole, next]
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                this.table[hole] = e;
+                hole = next;
+            }
+        }
+        this.table[hole] = 0;
+    }
+
+    /**
+     * Squeezes out removed entries, doubling the capacity if the map is
+     * more than half full of live entries.
+     */
+    private void rebuild() {
+        final int capacity = this.size >= this.keys.length / 2
+                ? this.keys.length * 2 : this.keys.length;
+        final int[] from = new int[this.size];
+        int n = 0;
+        for (int entry = 0; entry < this.entries; entry++) {
+            if (this.keys[entry] != 0) {
+                from[n++] = entry;
+            }
+        }
+        final int[] oldKeys = this.keys;
+        allocate(capacity);
+        moveValues(from, n, capacity);
+        final int mask = this.table.length - 1;
+        for (int i = 0; i < n; i++) {
+            final int serial = oldKeys[from[i]];
+            this.keys[i] = serial;
+            int slot = hash(serial);
+            while (this.table[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            this.table[slot] = i + 1;
+        }
+        this.entries = n;
+        this.size = n;
+    }
+
+    /**
+     * Creates empty arrays for the given number of entries, with a hash
+     * table at most half full.
+     */
+    private void allocate(int capacity) {
+        final int slots = Integer.highestOneBit(capacity * 2 - 1) << 1;
+        this.table = new int[slots];
+        this.shift = Integer.numberOfLeadingZeros(slots) + 1;
+        this.keys = new int[capacity];
+        this.entries = 0;
+        this.size = 0;
+    }
+}
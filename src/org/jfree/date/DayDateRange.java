@@ -0,0 +1,211 @@
+package org.jfree.date;
+
+import java.util.AbstractList;
+import java.util.Comparator;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+/**
+ * An immutable list of the consecutive days between two dates, with the end
+ * points included or excluded as given by a {@link DayDate.DateInterval}.
+ * <p>
+ * The range holds only its first and last serial numbers.  Each element is
+ * made by {@link DayDateFactory} when it is asked for, so {@link #get(int)},
+ * {@link #size()}, {@link #contains(Object)} and {@link #indexOf(Object)}
+ * take constant time, and the range's {@link Spliterator} splits exactly in
+ * half, so <code>range.parallelStream()</code> divides the days evenly
+ * between threads.
+ */
+public class DayDateRange extends AbstractList<DayDate> implements RandomAccess {
+
+    private final int first;
+
+    private final int size;
+
+    /**
+     * Creates the range of days from <code>start</code> to <code>end</code>,
+     * both included.
+     *
+     * @param start  the first date.
+     * @param end  the last date.
+     */
+    public DayDateRange(DayDate start, DayDate end) {
+        this(start, end, DayDate.DateInterval.CLOSED);
+    }
+
+    /**
+     * Creates the range of days between two dates.  As with
+     * {@link DayDate#isInRange(DayDate, DayDate, int)}, the order of the
+     * dates is not important.
+     *
+     * @param start  one boundary date for the range.
+     * @param end  the other boundary date for the range.
+     * @param interval  whether the boundary dates are included.
+     */
+    public DayDateRange(DayDate start, DayDate end, DayDate.DateInterval interval) {
+        final int s1 = start.toSerial();
+        final int s2 = end.toSerial();
+        final int first = firstSerial(s1, s2, interval);
+        final int last = lastSerial(s1, s2, interval);
+        this.first = first;
+        this.size = Math.max(0, last - first + 1);
+    }
+
+    private DayDateRange(int first, int size) {
+        this.first = first;
+        this.size = size;
+    }
+
+    /**
+     * Returns the serial number of the first day, whether or not the range
+     * is empty.
+     *
+     * @return The serial number.
+     */
+    public int getFirstSerial() {
+        return this.first;
+    }
+
+    public int getSerial(int index) {
+        return this.first + checkIndex(index);
+    }
+
+    public DayDate get(int index) {
+        return DayDateFactory.makeDate(getSerial(index));
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    public boolean contains(int serial) {
+        return serial - this.first >= 0 && serial - this.first < this.size;
+    }
+
+    public int indexOf(Object o) {
+        if (!(o instanceof DayDate)) {
+            return -1;
+        }
+        final int serial = ((DayDate) o).toSerial();
+        return contains(serial) ? serial - this.first : -1;
+    }
+
+    public int lastIndexOf(Object o) {
+        return indexOf(o);
+    }
+
+    /**
+     * Returns the days from index <code>from</code> (inclusive) to
+     * <code>to</code> (exclusive) as another range.
+     *
+     * @param from  the first index.
+     * @param to  the index after the last one.
+     * @return A range.
+     */
+    public DayDateRange subList(int from, int to) {
+        if (from < 0 || to > this.size || from > to) {
+            throw new IndexOutOfBoundsException(
+                    "Sub-list " + from + ".." + to + " is outside a range of " + this.size);
+        }
+        return new DayDateRange(this.first + from, to - from);
+    }
+
+    /**
+     * Returns the serial numbers of the days as a stream.
+     *
+     * @return A stream of serial numbers.
+     */
+    public IntStream serials() {
+        return IntStream.range(this.first, this.first + this.size);
+    }
+
+    public Spliterator<DayDate> spliterator() {
+        return new RangeSpliterator(this.first, this.first + this.size);
+    }
+
+    /**
+     * Returns the first serial number in a range given as two boundary
+     * serials in either order, following the rules of
+     * {@link DayDate#isInRange(DayDate, DayDate, int)}.
+     */
+    static int firstSerial(int s1, int s2, DayDate.DateInterval interval) {
+        return Math.min(s1, s2) + ((interval.index & 1) != 0 ? 0 : 1);
+    }
+
+    /**
+     * Returns the last serial number in a range given as two boundary
+     * serials in either order; it is before the first if the range is
+     * empty.
+     */
+    static int lastSerial(int s1, int s2, DayDate.DateInterval interval) {
+        return Math.max(s1, s2) - ((interval.index & 2) != 0 ? 0 : 1);
+    }
+
+    private int checkIndex(int index) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException(
+                    "Index " + index + " is outside a range of " + this.size);
+        }
+        return index;
+    }
+
+    /**
+     * Splits a run of serial numbers in half, making each date only when it
+     * is consumed.
+     */
+    private static final class RangeSpliterator implements Spliterator<DayDate> {
+
+        private int next;
+
+        private final int end;
+
+        RangeSpliterator(int next, int end) {
+            this.next = next;
+            this.end = end;
+        }
+
+        public boolean tryAdvance(Consumer<? super DayDate> action) {
+            if (this.next >= this.end) {
+                return false;
+            }
+            action.accept(DayDateFactory.makeDate(this.next++));
+            return true;
+        }
+
+        public void forEachRemaining(Consumer<? super DayDate> action) {
+            final int end = this.end;
+            for (int s = this.next; s < end; s++) {
+                action.accept(DayDateFactory.makeDate(s));
+            }
+            this.next = end;
+        }
+
+        public Spliterator<DayDate> trySplit() {
+            final int mid = (this.next + this.end) >>> 1;
+            if (mid <= this.next) {
+                return null;
+            }
+            final Spliterator<DayDate> prefix = new RangeSpliterator(this.next, mid);
+            this.next = mid;
+            return prefix;
+        }
+
+        public long estimateSize() {
+            return this.end - this.next;
+        }
+
+        public int characteristics() {
+            return ORDERED | SORTED | DISTINCT | NONNULL | IMMUTABLE | SIZED | SUBSIZED;
+        }
+
+        public Comparator<? super DayDate> getComparator() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,299 @@
+package org.jfree.date;
+
+import java.util.Arrays;
+
+/**
+ * An immutable set of days held as sorted, disjoint closed ranges of serial
+ * numbers, with union, intersection and difference.
+ * <p>
+ * {@link #coalesce(int[], int[])} turns an unsorted list of possibly
+ * overlapping ranges into this form by sorting the ranges on their start
+ * and sweeping once, merging ranges that overlap or touch.  The starts are
+ * sorted with the radix sort in {@link DayDateSort}, which takes linear time
+ * rather than O(n log n).  Two coalesced sets are combined by a single
+ * linear merge.
+ */
+public class DayDateRanges {
+
+    private static final DayDateRanges EMPTY = new DayDateRanges(new int[0], new int[0], 0);
+
+    private final int[] starts;
+
+    private final int[] ends;
+
+    private final int count;
+
+    private DayDateRanges(int[] starts, int[] ends, int count) {
+        this.starts = starts;
+        this.ends = ends;
+        this.count = count;
+    }
+
+    /**
+     * Returns the set of days covered by any of the closed ranges
+     * <code>[starts[i], ends[i]]</code>.  A pair whose end is before its
+     * start contains no days and is ignored.
+     *
+     * @param starts  the first serial number of each range.
+     * @param ends  the last serial number of each range (the same length as
+     *              <code>starts</code>).
+     * @return The coalesced ranges.
+     */
+    public static DayDateRanges coalesce(int[] starts, int[] ends) {
+        if (starts.length != ends.length) {
+            throw new IllegalArgumentException("There are " + starts.length
+                    + " starts but " + ends.length + " ends.");
+        }
+        int[] keys = new int[starts.length];
+        int[] lasts = new int[starts.length];
+        int n = 0;
+        for (int i = 0; i < starts.length; i++) {
+            SpreadsheetDate.checkSerial(starts[i]);
+            SpreadsheetDate.checkSerial(ends[i]);
+            if (starts[i] <= ends[i]) {
+                keys[n] = starts[i];
+                lasts[n++] = ends[i];
+            }
+        }
+        if (n == 0) {
+            return EMPTY;
+        }
+        keys = Arrays.copyOf(keys, n);
+        final int[] order = DayDateSort.permutation(keys, false);
+
+        final int[] outStarts = new int[n];
+        final int[] outEnds = new int[n];
+        int out = 0;
+        int start = keys[0];
+        int end = lasts[order[0]];
+        for (int i = 1; i < n; i++) {
+            final int s = keys[i];
+            final int e = lasts[order[i]];
+            if (s <= end + 1) {
+                end = Math.max(end, e);
+            }
+            else {
+                outStarts[out] = start;
+                outEnds[out++] = end;
+                start = s;
+                end = e;
+            }
+        }
+        outStarts[out] = start;
+        outEnds[out++] = end;
+        return new DayDateRanges(outStarts, outEnds, out);
+    }
+
+    /**
+     * Returns the set of days covered by any of the ranges
+     * <code>d1[i]</code> to <code>d2[i]</code>.  As with
+     * {@link DayDate#isInRange(DayDate, DayDate, int)}, the order of each
+     * pair is not important and the interval says whether the boundary
+     * dates are included.
+     *
+     * @param d1  one boundary date of each range.
+     * @param d2  the other boundary date of each range.
+     * @param interval  whether the boundary dates are included.
+     * @return The coalesced ranges.
+     */
+    public static DayDateRanges coalesce(DayDate[] d1, DayDate[] d2,
+                                         DayDate.DateInterval interval) {
+        if (d1.length != d2.length) {
+            throw new IllegalArgumentException("There are " + d1.length
+                    + " start dates but " + d2.length + " end dates.");
+        }
+        final int[] starts = new int[d1.length];
+        final int[] ends = new int[d1.length];
+        int n = 0;
+        for (int i = 0; i < d1.length; i++) {
+            final int s1 = d1[i].toSerial();
+            final int s2 = d2[i].toSerial();
+            final int first = DayDateRange.firstSerial(s1, s2, interval);
+            final int last = DayDateRange.lastSerial(s1, s2, interval);
+            // an empty range at either end of the supported range has a
+            // bound outside it, so is dropped before coalesce() checks them
+            if (first <= last) {
+                starts[n] = first;
+                ends[n++] = last;
+            }
+        }
+        return coalesce(Arrays.copyOf(starts, n), Arrays.copyOf(ends, n));
+    }
+
+    /**
+     * Returns the number of disjoint ranges.
+     *
+     * @return The number of ranges.
+     */
+    public int size() {
+        return this.count;
+    }
+
+    public boolean isEmpty() {
+        return this.count == 0;
+    }
+
+    public int getStart(int index) {
+        return this.starts[checkIndex(index)];
+    }
+
+    public int getEnd(int index) {
+        return this.ends[checkIndex(index)];
+    }
+
+    /**
+     * Returns the total number of days in the ranges.
+     *
+     * @return The number of days.
+     */
+    public long dayCount() {
+        long days = 0;
+        for (int i = 0; i < this.count; i++) {
+            days += this.ends[i] - this.starts[i] + 1;
+        }
+        return days;
+    }
+
+    public boolean contains(DayDate date) {
+        return contains(date.toSerial());
+    }
+
+    public boolean contains(int serial) {
+        final int i = Arrays.binarySearch(this.starts, 0, this.count, serial);
+        if (i >= 0) {
+            return true;
+        }
+        final int before = -i - 2;
+        return before >= 0 && this.ends[before] >= serial;
+    }
+
+    /**
+     * Returns the days in either set.
+     *
+     * @param other  the other set.
+     * @return A new set.
+     */
+    public DayDateRanges union(DayDateRanges other) {
+        final int[] outStarts = new int[this.count + other.count];
+        final int[] outEnds = new int[outStarts.length];
+        int out = 0;
+        int i = 0;
+        int j = 0;
+        while (i < this.count || j < other.count) {
+            final int s;
+            final int e;
+            if (j == other.count || (i < this.count && this.starts[i] <= other.starts[j])) {
+                s = this.starts[i];
+                e = this.ends[i++];
+            }
+            else {
+                s = other.starts[j];
+                e = other.ends[j++];
+            }
+            if (out > 0 && s <= outEnds[out - 1] + 1) {
+                outEnds[out - 1] = Math.max(outEnds[out - 1], e);
+            }
+            else {
+                outStarts[out] = s;
+                outEnds[out++] = e;
+            }
+        }
+        return new DayDateRanges(outStarts, outEnds, out);
+    }
+
+    /**
+     * Returns the days in both sets.
+     *
+     * @param other  the other set.
+     * @return A new set.
+     */
+    public DayDateRanges intersection(DayDateRanges other) {
+        final int[] outStarts = new int[this.count + other.count];
+        final int[] outEnds = new int[outStarts.length];
+        int out = 0;
+        int i = 0;
+        int j = 0;
+        while (i < this.count && j < other.count) {
+            final int s = Math.max(this.starts[i], other.starts[j]);
+            final int e = Math.min(this.ends[i], other.ends[j]);
+            if (s <= e) {
+                outStarts[out] = s;
+                outEnds[out++] = e;
+            }
+            if (this.ends[i] < other.ends[j]) {
+                i++;
+            }
+            else {
+                j++;
+            }
+        }
+        return new DayDateRanges(outStarts, outEnds, out);
+    }
+
+    /**
+     * Returns the days in this set that are not in the other set.
+     *
+     * @param other  the other set.
+     * @return A new set.
+     */
+    public DayDateRanges difference(DayDateRanges other) {
+        final int[] outStarts = new int[this.count + other.count];
+        final int[] outEnds = new int[outStarts.length];
+        int out = 0;
+        int j = 0;
+        for (int i = 0; i < this.count; i++) {
+            int s = this.starts[i];
+            final int e = this.ends[i];
+            while (j < other.count && other.ends[j] < s) {
+                j++;
+            }
+            // cut out each range of the other set that overlaps [s, e]
+            int k = j;
+            while (k < other.count && other.starts[k] <= e) {
+                if (other.starts[k] > s) {
+                    outStarts[out] = s;
+                    outEnds[out++] = other.starts[k] - 1;
+                }
+                s = Math.max(s, other.ends[k] + 1);
+                k++;
+            }
+            if (s <= e) {
+                outStarts[out] = s;
+                outEnds[out++] = e;
+            }
+        }
+        return new DayDateRanges(outStarts, outEnds, out);
+    }
+
+    public boolean equals(Object object) {
+        if (!(object instanceof DayDateRanges)) {
+            return false;
+        }
+        final DayDateRanges other = (DayDateRanges) object;
+        if (this.count != other.count) {
+            return false;
+        }
+        for (int i = 0; i < this.count; i++) {
+            if (this.starts[i] != other.starts[i] || this.ends[i] != other.ends[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public int hashCode() {
+        int result = 1;
+        for (int i = 0; i < this.count; i++) {
+            result = 31 * (31 * result + this.starts[i]) + this.ends[i];
+        }
+        return result;
+    }
+
+    private int checkIndex(int index) {
+        if (index < 0 || index >= this.count) {
+            throw new IndexOutOfBoundsException(
+                    "Index " + index + " is outside " + this.count + " ranges");
+        }
+        return index;
+    }
+}
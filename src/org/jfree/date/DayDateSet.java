@@ -0,0 +1,604 @@
+package org.jfree.date;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A set of dates held as a bitmap over serial numbers.
+ * <p>
+ * The serial range is split into chunks of 512 days (8 longs), and the
+ * chunks into groups of 128 (about 180 years).  A chunk is only allocated
+ * once it holds a date, and a group's directory of chunks once one of its
+ * chunks is, so an empty set is a directory of 46 groups and a set of a
+ * few hundred holidays spread over a century costs a few kilobytes.
+ * Membership tests are a shift and a mask, set algebra works a word at a
+ * time, and iteration is always in date order.  {@link #rank(int)} and
+ * {@link #select(int)} use per-group and per-chunk counts that are rebuilt
+ * lazily after the set changes.
+ * <p>
+ * This class is not thread-safe.
+ */
+public class DayDateSet implements Iterable<DayDate> {
+
+    private static final int CHUNK_SHIFT = 9;
+
+    private static final int WORDS_PER_CHUNK = (1 << CHUNK_SHIFT) / 64;
+
+    private static final int CHUNK_COUNT =
+            (SpreadsheetDate.SERIAL_UPPER_BOUND >>> CHUNK_SHIFT) + 1;
+
+    private static final int GROUP_SHIFT = 7;
+
+    private static final int CHUNKS_PER_GROUP = 1 << GROUP_SHIFT;
+
+    private static final int GROUP_COUNT = ((CHUNK_COUNT - 1) >>> GROUP_SHIFT) + 1;
+
+    /** The chunks of each group, or null if none of them is allocated. */
+    private final long[][][] groups = new long[GROUP_COUNT][][];
+
+    private int cardinality;
+
+    /** The number of dates before each group, or null if out of date. */
+    private int[] groupRanks;
+
+    /**
+     * For each allocated group, the number of its dates before each of its
+     * chunks; rebuilt with <code>groupRanks</code>.
+     */
+    private int[][] chunkRanks;
+
+    public DayDateSet() {
+    }
+
+    /**
+     * Creates a set holding the given serial numbers.
+     *
+     * @param serials  the serial numbers (each in the range 2 to 2958465).
+     * @return A new set.
+     */
+    public static DayDateSet ofSerials(int... serials) {
+        final DayDateSet set = new DayDateSet();
+        for (int serial : serials) {
+            set.add(serial);
+        }
+        return set;
+    }
+
+    /**
+     * Creates a set holding the given dates.
+     *
+     * @param dates  the dates.
+     * @return A new set.
+     */
+    public static DayDateSet of(DayDate... dates) {
+        final DayDateSet set = new DayDateSet();
+        for (DayDate date : dates) {
+            set.add(date);
+        }
+        return set;
+    }
+
+    public boolean add(DayDate date) {
+        return add(date.toSerial());
+    }
+
+    /**
+     * Adds a date to the set.
+     *
+     * @param serial  the serial number of the date.
+     * @return <code>true</code> if the set did not already hold the date.
+     */
+    public boolean add(int serial) {
+        SpreadsheetDate.checkSerial(serial);
+        final int c = serial >>> CHUNK_SHIFT;
+        long[] chunk = chunk(c);
+        if (chunk == null) {
+            chunk = new long[WORDS_PER_CHUNK];
+            setChunk(c, chunk);
+        }
+        final int w = (serial >>> 6) & (WORDS_PER_CHUNK - 1);
+        final long bit = 1L << serial;
+        if ((chunk[w] & bit) != 0) {
+            return false;
+        }
+        chunk[w] |= bit;
+        this.cardinality++;
+        invalidateRanks();
+        return true;
+    }
+
+    public boolean remove(DayDate date) {
+        return remove(date.toSerial());
+    }
+
+    /**
+     * Removes a date from the set.
+     *
+     * @param serial  the serial number of the date.
+     * @return <code>true</code> if the set held the date.
+     */
+    public boolean remove(int serial) {
+        if (!contains(serial)) {
+            return false;
+        }
+        final int c = serial >>> CHUNK_SHIFT;
+        final long[] chunk = chunk(c);
+        chunk[(serial >>> 6) & (WORDS_PER_CHUNK - 1)] &= ~(1L << serial);
+        this.cardinality--;
+        invalidateRanks();
+        if (isEmpty(chunk)) {
+            setChunk(c, null);
+        }
+        return true;
+    }
+
+    public boolean contains(DayDate date) {
+        return contains(date.toSerial());
+    }
+
+    public boolean contains(int serial) {
+        if (serial < SpreadsheetDate.SERIAL_LOWER_BOUND
+                || serial > SpreadsheetDate.SERIAL_UPPER_BOUND) {
+            return false;
+        }
+        final long[] chunk = chunk(serial >>> CHUNK_SHIFT);
+        return chunk != null
+                && (chunk[(serial >>> 6) & (WORDS_PER_CHUNK - 1)] & (1L << serial)) != 0;
+    }
+
+    public int cardinality() {
+        return this.cardinality;
+    }
+
+    public boolean isEmpty() {
+        return this.cardinality == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(this.groups, null);
+        this.cardinality = 0;
+        invalidateRanks();
+    }
+
+    /**
+     * Returns a new set holding the dates in this set or the other one.
+     *
+     * @param other  the other set.
+     * @return The union.
+     */
+    public DayDateSet union(DayDateSet other) {
+        final DayDateSet result = copy();
+        result.addAll(other);
+        return result;
+    }
+
+    /**
+     * Returns a new set holding the dates in both this set and the other one.
+     *
+     * @param other  the other set.
+     * @return The intersection.
+     */
+    public DayDateSet intersection(DayDateSet other) {
+        final DayDateSet result = copy();
+        result.retainAll(other);
+        return result;
+    }
+
+    /**
+     * Returns a new set holding the dates in this set but not the other one.
+     *
+     * @param other  the other set.
+     * @return The difference.
+     */
+    public DayDateSet difference(DayDateSet other) {
+        final DayDateSet result = copy();
+        result.removeAll(other);
+        return result;
+    }
+
+    /**
+     * Adds every date in the other set to this one.
+     *
+     * @param other  the other set.
+     */
+    public void addAll(DayDateSet other) {
+        for (int g = 0; g < GROUP_COUNT; g++) {
+            if (other.groups[g] == null) {
+                continue;
+            }
+            for (int c = g << GROUP_SHIFT; c < groupEnd(g); c++) {
+                final long[] theirs = other.chunk(c);
+                if (theirs == null) {
+                    continue;
+                }
+                final long[] mine = chunk(c);
+                if (mine == null) {
+                    setChunk(c, theirs.clone());
+                }
+                else {
+                    for (int w = 0; w < WORDS_PER_CHUNK; w++) {
+                        mine[w] |= theirs[w];
+                    }
+                }
+            }
+        }
+        recount();
+    }
+
+    /**
+     * Removes every date that is not also in the other set.
+     *
+     * @param other  the other set.
+     */
+    public void retainAll(DayDateSet other) {
+        for (int g = 0; g < GROUP_COUNT; g++) {
+            if (this.groups[g] == null) {
+                continue;
+            }
+            if (other.groups[g] == null) {
+                this.groups[g] = null;
+                continue;
+            }
+            for (int c = g << GROUP_SHIFT; c < groupEnd(g); c++) {
+                final long[] mine = chunk(c);
+                if (mine == null) {
+                    continue;
+                }
+                final long[] theirs = other.chunk(c);
+                if (theirs == null) {
+                    setChunk(c, null);
+                    continue;
+                }
+                for (int w = 0; w < WORDS_PER_CHUNK; w++) {
+                    mine[w] &= theirs[w];
+                }
+                if (isEmpty(mine)) {
+                    setChunk(c, null);
+                }
+            }
+        }
+        recount();
+    }
+
+    /**
+     * Removes every date that is in the other set.
+     *
+     * @param other  the other set.
+     */
+    public void removeAll(DayDateSet other) {
+        for (int g = 0; g < GROUP_COUNT; g++) {
+            if (this.groups[g] == null || other.groups[g] == null) {
+                continue;
+            }
+            for (int c = g << GROUP_SHIFT; c < groupEnd(g); c++) {
+                final long[] mine = chunk(c);
+                final long[] theirs = other.chunk(c);
+                if (mine == null || theirs == null) {
+                    continue;
+                }
+                for (int w = 0; w < WORDS_PER_CHUNK; w++) {
+                    mine[w] &= ~theirs[w];
+                }
+                if (isEmpty(mine)) {
+                    setChunk(c, null);
+                }
+            }
+        }
+        recount();
+    }
+
+    /**
+     * Returns the number of dates in the set that are on or before the given
+     * serial number.
+     *
+     * @param serial  the serial number.
+     * @return The rank of <code>serial</code>.
+     */
+    public int rank(int serial) {
+        if (serial < SpreadsheetDate.SERIAL_LOWER_BOUND) {
+            return 0;
+        }
+        if (serial >= SpreadsheetDate.SERIAL_UPPER_BOUND) {
+            return this.cardinality;
+        }
+        final int c = serial >>> CHUNK_SHIFT;
+        int rank = chunkRank(c);
+        final long[] chunk = chunk(c);
+        if (chunk != null) {
+            final int w = (serial >>> 6) & (WORDS_PER_CHUNK - 1);
+            for (int i = 0; i < w; i++) {
+                rank += Long.bitCount(chunk[i]);
+            }
+            rank += Long.bitCount(chunk[w] & (-1L >>> (63 - (serial & 63))));
+        }
+        return rank;
+    }
+
+    public int rank(DayDate date) {
+        return rank(date.toSerial());
+    }
+
+    /**
+     * Returns the serial number of the date at the given position in date
+     * order.
+     *
+     * @param index  the position (0 for the earliest date).
+     * @return The serial number.
+     */
+    public int select(int index) {
+        if (index < 0 || index >= this.cardinality) {
+            throw new IndexOutOfBoundsException(
+                    "Index " + index + " is outside a set of " + this.cardinality);
+        }
+        buildRanks();
+        final int g = lastAtOrBelow(this.groupRanks, GROUP_COUNT, index);
+        final int[] before = this.chunkRanks[g];
+        int remaining = index - this.groupRanks[g];
+        final int lo = (g << GROUP_SHIFT)
+                + lastAtOrBelow(before, groupEnd(g) - (g << GROUP_SHIFT), remaining);
+        remaining -= before[lo & (CHUNKS_PER_GROUP - 1)];
+        final long[] chunk = chunk(lo);
+        for (int w = 0; w < WORDS_PER_CHUNK; w++) {
+            long word = chunk[w];
+            final int count = Long.bitCount(word);
+            if (remaining < count) {
+                for (int i = 0; i < remaining; i++) {
+                    word &= word - 1;
+                }
+                return (lo << CHUNK_SHIFT) + w * 64 + Long.numberOfTrailingZeros(word);
+            }
+            remaining -= count;
+        }
+        throw new IllegalStateException("Chunk counts are out of date.");
+    }
+
+    /**
+     * Returns the first serial number in the set that is on or after the
+     * given one.
+     *
+     * @param from  the serial number to start from.
+     * @return The serial number, or -1 if there is none.
+     */
+    public int nextSerial(int from) {
+        int serial = Math.max(from, SpreadsheetDate.SERIAL_LOWER_BOUND);
+        while (serial <= SpreadsheetDate.SERIAL_UPPER_BOUND) {
+            final int c = serial >>> CHUNK_SHIFT;
+            if (this.groups[c >>> GROUP_SHIFT] == null) {
+                serial = ((c >>> GROUP_SHIFT) + 1) << (GROUP_SHIFT + CHUNK_SHIFT);
+                continue;
+            }
+            final long[] chunk = chunk(c);
+            if (chunk == null) {
+                serial = (c + 1) << CHUNK_SHIFT;
+                continue;
+            }
+            int w = (serial >>> 6) & (WORDS_PER_CHUNK - 1);
+            long word = chunk[w] & (-1L << serial);
+            while (true) {
+                if (word != 0) {
+                    return (c << CHUNK_SHIFT) + w * 64 + Long.numberOfTrailingZeros(word);
+                }
+                if (++w == WORDS_PER_CHUNK) {
+                    break;
+                }
+                word = chunk[w];
+            }
+            serial = (c + 1) << CHUNK_SHIFT;
+        }
+        return -1;
+    }
+
+    /**
+     * Copies the serial numbers, in date order, into a new array.
+     *
+     * @return The serial numbers.
+     */
+    public int[] toSerialArray() {
+        final int[] result = new int[this.cardinality];
+        int i = 0;
+        for (int s = nextSerial(0); s >= 0; s = nextSerial(s + 1)) {
+            result[i++] = s;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the dates in date order, made by {@link DayDateFactory}.
+     *
+     * @return An iterator.
+     */
+    public Iterator<DayDate> iterator() {
+        return new Iterator<DayDate>() {
+            private int next = nextSerial(0);
+
+            public boolean hasNext() {
+                return this.next >= 0;
+            }
+
+            public DayDate next() {
+                if (this.next < 0) {
+                    throw new NoSuchElementException();
+                }
+                final DayDate result = DayDateFactory.makeDate(this.next);
+                this.next = nextSerial(this.next + 1);
+                return result;
+            }
+
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    public boolean equals(Object object) {
+        if (!(object instanceof DayDateSet)) {
+            return false;
+        }
+        final DayDateSet other = (DayDateSet) object;
+        if (other.cardinality != this.cardinality) {
+            return false;
+        }
+        for (int c = 0; c < CHUNK_COUNT; c++) {
+            final long[] mine = chunk(c);
+            final long[] theirs = other.chunk(c);
+            if (mine == null ? theirs != null : !Arrays.equals(mine, theirs)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public int hashCode() {
+        int result = this.cardinality;
+        for (int c = 0; c < CHUNK_COUNT; c++) {
+            final long[] chunk = chunk(c);
+            if (chunk != null) {
+                result = 31 * result + c;
+                result = 31 * result + Arrays.hashCode(chunk);
+            }
+        }
+        return result;
+    }
+
+    private DayDateSet copy() {
+        final DayDateSet result = new DayDateSet();
+        for (int c = 0; c < CHUNK_COUNT; c++) {
+            final long[] chunk = chunk(c);
+            if (chunk != null) {
+                result.setChunk(c, chunk.clone());
+            }
+        }
+        result.cardinality = this.cardinality;
+        return result;
+    }
+
+    private void recount() {
+        int count = 0;
+        for (long[][] group : this.groups) {
+            if (group != null) {
+                for (long[] chunk : group) {
+                    count += bitCount(chunk);
+                }
+            }
+        }
+        this.cardinality = count;
+        invalidateRanks();
+    }
+
+    private long[] chunk(int c) {
+        final long[][] group = this.groups[c >>> GROUP_SHIFT];
+        return group == null ? null : group[c & (CHUNKS_PER_GROUP - 1)];
+    }
+
+    /**
+     * Sets or clears a chunk, allocating its group's directory when the
+     * first chunk is set and dropping it when the last one is cleared.
+     */
+    private void setChunk(int c, long[] chunk) {
+        final int g = c >>> GROUP_SHIFT;
+        long[][] group = this.groups[g];
+        if (group == null) {
+            if (chunk == null) {
+                return;
+            }
+            group = new long[CHUNKS_PER_GROUP][];
+            this.groups[g] = group;
+        }
+        group[c & (CHUNKS_PER_GROUP - 1)] = chunk;
+        if (chunk == null) {
+            for (long[] other : group) {
+                if (other != null) {
+                    return;
+                }
+            }
+            this.groups[g] = null;
+        }
+    }
+
+    /**
+     * Returns the chunk after the last one in a group.
+     */
+    private static int groupEnd(int g) {
+        return Math.min((g + 1) << GROUP_SHIFT, CHUNK_COUNT);
+    }
+
+    private void invalidateRanks() {
+        this.groupRanks = null;
+        this.chunkRanks = null;
+    }
+
+    /**
+     * Returns the number of dates before a chunk.
+     */
+    private int chunkRank(int c) {
+        buildRanks();
+        final int g = c >>> GROUP_SHIFT;
+        final int[] before = this.chunkRanks[g];
+        return this.groupRanks[g]
+                + (before == null ? 0 : before[c & (CHUNKS_PER_GROUP - 1)]);
+    }
+
+    private void buildRanks() {
+        if (this.groupRanks != null) {
+            return;
+        }
+        final int[] groupRanks = new int[GROUP_COUNT];
+        final int[][] chunkRanks = new int[GROUP_COUNT][];
+        int count = 0;
+        for (int g = 0; g < GROUP_COUNT; g++) {
+            groupRanks[g] = count;
+            final long[][] group = this.groups[g];
+            if (group != null) {
+                final int[] before = new int[CHUNKS_PER_GROUP];
+                int inGroup = 0;
+                for (int i = 0; i < CHUNKS_PER_GROUP; i++) {
+                    before[i] = inGroup;
+                    inGroup += bitCount(group[i]);
+                }
+                chunkRanks[g] = before;
+                count += inGroup;
+            }
+        }
+        this.groupRanks = groupRanks;
+        this.chunkRanks = chunkRanks;
+    }
+
+    /**
+     * Returns the last position among the first <code>length</code> of the
+     * ascending counts whose count is at most <code>index</code>.
+     */
+    private static int lastAtOrBelow(int[] counts, int length, int index) {
+        int lo = 0;
+        int hi = length - 1;
+        while (lo < hi) {
+            final int mid = (lo + hi + 1) >>> 1;
+            if (counts[mid] <= index) {
+                lo = mid;
+            }
+            else {
+                hi = mid - 1;
+            }
+        }
+        return lo;
+    }
+
+    private static int bitCount(long[] chunk) {
+        int count = 0;
+        if (chunk != null) {
+            for (long word : chunk) {
+                count += Long.bitCount(word);
+            }
+        }
+        return count;
+    }
+
+    private static boolean isEmpty(long[] chunk) {
+        for (long word : chunk) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
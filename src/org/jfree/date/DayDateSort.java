@@ -0,0 +1,350 @@
+package org.jfree.date;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Sorting for date serial numbers and {@link DayDate} arrays.
+ * <p>
+ * Serial numbers fit in 22 bits, so they are sorted with a least-significant
+ * digit radix sort: each pass counts 11-bit digits and scatters the values
+ * into a buffer, and the number of passes is set by the spread between the
+ * smallest and largest value (one pass for dates within about five and a
+ * half years of each other, two for the whole supported range).  The sort
+ * is stable and never compares two values.
+ * <p>
+ * A {@link DayDate} array is sorted by extracting each date's serial number
+ * once, sorting the serials together with their original positions, and
+ * permuting the dates, so no <code>compareTo</code> or
+ * <code>toSerial()</code> call is made during the sort itself.  The parallel
+ * variants split each counting and scattering pass into chunks that run in
+ * the common fork-join pool.
+ */
+public class DayDateSort {
+
+    private static final int RADIX_BITS = 11;
+
+    private static final int RADIX = 1 << RADIX_BITS;
+
+    private static final int RADIX_MASK = RADIX - 1;
+
+    /** Below this size an insertion or library sort is used instead. */
+    private static final int SMALL = 64;
+
+    /** Below this size the parallel variants sort sequentially. */
+    private static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    private static final int PARALLEL_CHUNK = 1 << 15;
+
+    private DayDateSort() {
+    }
+
+    /**
+     * Sorts an array of serial numbers into ascending order.
+     *
+     * @param serials  the serial numbers.
+     */
+    public static void sort(int[] serials) {
+        sort(serials, 0, serials.length);
+    }
+
+    /**
+     * Sorts the serial numbers from index <code>from</code> (inclusive) to
+     * <code>to</code> (exclusive) into ascending order.
+     *
+     * @param serials  the serial numbers.
+     * @param from  the first index to sort.
+     * @param to  the index after the last one to sort.
+     */
+    public static void sort(int[] serials, int from, int to) {
+        checkRange(serials.length, from, to);
+        if (to - from < SMALL) {
+            Arrays.sort(serials, from, to);
+            return;
+        }
+        final int[] keys = from == 0 && to == serials.length
+                ? serials : Arrays.copyOfRange(serials, from, to);
+        radixSort(keys, null, keys.length, false);
+        if (keys != serials) {
+            System.arraycopy(keys, 0, serials, from, keys.length);
+        }
+    }
+
+    /**
+     * Sorts an array of serial numbers into ascending order, splitting the
+     * work across the common fork-join pool for large arrays.
+     *
+     * @param serials  the serial numbers.
+     */
+    public static void parallelSort(int[] serials) {
+        if (serials.length < PARALLEL_THRESHOLD) {
+            sort(serials);
+            return;
+        }
+        radixSort(serials, null, serials.length, true);
+    }
+
+    /**
+     * Returns the permutation that sorts the given serial numbers: the
+     * index of the smallest value first, and equal values in their
+     * original order.  The array itself is not changed.
+     *
+     * @param serials  the serial numbers.
+     * @return The indices of the values in sorted order.
+     */
+    public static int[] sortPermutation(int[] serials) {
+        return permutation(serials.clone(), false);
+    }
+
+    /**
+     * Sorts dates into ascending order.  The sort is stable.
+     *
+     * @param dates  the dates.
+     */
+    public static void sort(DayDate[] dates) {
+        final int[] keys = new int[dates.length];
+        for (int i = 0; i < dates.length; i++) {
+            keys[i] = dates[i].toSerial();
+        }
+        final int[] order = permutation(keys, false);
+        final DayDate[] copy = dates.clone();
+        for (int i = 0; i < order.length; i++) {
+            dates[i] = copy[order[i]];
+        }
+    }
+
+    /**
+     * Sorts dates into ascending order, splitting the work across the common
+     * fork-join pool for large arrays.  The sort is stable.
+     *
+     * @param dates  the dates.
+     */
+    public static void parallelSort(final DayDate[] dates) {
+        if (dates.length < PARALLEL_THRESHOLD) {
+            sort(dates);
+            return;
+        }
+        final int[] keys = new int[dates.length];
+        forEachChunk(dates.length, new ChunkTask() {
+            public void run(int from, int to) {
+                for (int i = from; i < to; i++) {
+                    keys[i] = dates[i].toSerial();
+                }
+            }
+        });
+        final int[] order = permutation(keys, true);
+        final DayDate[] copy = dates.clone();
+        forEachChunk(dates.length, new ChunkTask() {
+            public void run(int from, int to) {
+                for (int i = from; i < to; i++) {
+                    dates[i] = copy[order[i]];
+                }
+            }
+        });
+    }
+
+    /**
+     * Returns <code>true</code> if the serial numbers are in ascending order.
+     *
+     * @param serials  the serial numbers.
+     * @return A boolean.
+     */
+    public static boolean isSorted(int[] serials) {
+        for (int i = 1; i < serials.length; i++) {
+            if (serials[i] < serials[i - 1]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Moves the distinct values of a sorted array to its front.
+     *
+     * @param sorted  serial numbers in ascending order.
+     * @param length  the number of values to consider.
+     * @return The number of distinct values.
+     */
+    public static int unique(int[] sorted, int length) {
+        if (length == 0) {
+            return 0;
+        }
+        int count = 1;
+        for (int i = 1; i < length; i++) {
+            if (sorted[i] != sorted[count - 1]) {
+                sorted[count++] = sorted[i];
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Sorts <code>keys</code> (which is changed) and returns the original
+     * index of each sorted key.
+     */
+    static int[] permutation(int[] keys, boolean parallel) {
+        final int n = keys.length;
+        final int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        if (n < SMALL) {
+            for (int i = 1; i < n; i++) {
+                final int k = keys[i];
+                final int v = order[i];
+                int j = i - 1;
+                while (j >= 0 && keys[j] > k) {
+                    keys[j + 1] = keys[j];
+                    order[j + 1] = order[j];
+                    j--;
+                }
+                keys[j + 1] = k;
+                order[j + 1] = v;
+            }
+            return order;
+        }
+        radixSort(keys, order, n, parallel && n >= PARALLEL_THRESHOLD);
+        return order;
+    }
+
+    /**
+     * Sorts the first <code>n</code> keys, moving the matching entries of
+     * <code>values</code> (if not <code>null</code>) with them.
+     */
+    private static void radixSort(int[] keys, int[] values, int n, boolean parallel) {
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        for (int i = 0; i < n; i++) {
+            min = Math.min(min, keys[i]);
+            max = Math.max(max, keys[i]);
+        }
+        final long spread = (long) max - min;
+        if (spread == 0) {
+            return;
+        }
+        final int bits = 64 - Long.numberOfLeadingZeros(spread);
+        final int passes = (bits + RADIX_BITS - 1) / RADIX_BITS;
+
+        int[] fromKeys = keys;
+        int[] toKeys = new int[n];
+        int[] fromValues = values;
+        int[] toValues = values == null ? null : new int[n];
+        for (int pass = 0; pass < passes; pass++) {
+            final int shift = pass * RADIX_BITS;
+            if (parallel) {
+                parallelPass(fromKeys, toKeys, fromValues, toValues, n, min, shift);
+            }
+            else {
+                pass(fromKeys, toKeys, fromValues, toValues, 0, n, min, shift,
+                        offsets(fromKeys, 0, n, min, shift));
+            }
+            int[] t = fromKeys;
+            fromKeys = toKeys;
+            toKeys = t;
+            t = fromValues;
+            fromValues = toValues;
+            toValues = t;
+        }
+        if (fromKeys != keys) {
+            System.arraycopy(fromKeys, 0, keys, 0, n);
+            if (values != null) {
+                System.arraycopy(fromValues, 0, values, 0, n);
+            }
+        }
+    }
+
+    /** Counts the digits in a chunk and returns each digit's start. */
+    private static int[] offsets(int[] keys, int from, int to, int min, int shift) {
+        final int[] counts = count(keys, from, to, min, shift);
+        int sum = 0;
+        for (int b = 0; b < RADIX; b++) {
+            final int c = counts[b];
+            counts[b] = sum;
+            sum += c;
+        }
+        return counts;
+    }
+
+    private static int[] count(int[] keys, int from, int to, int min, int shift) {
+        final int[] counts = new int[RADIX];
+        for (int i = from; i < to; i++) {
+            counts[((keys[i] - min) >>> shift) & RADIX_MASK]++;
+        }
+        return counts;
+    }
+
+    private static void pass(int[] fromKeys, int[] toKeys, int[] fromValues, int[] toValues,
+                             int from, int to, int min, int shift, int[] offsets) {
+        if (fromValues == null) {
+            for (int i = from; i < to; i++) {
+                final int k = fromKeys[i];
+                toKeys[offsets[((k - min) >>> shift) & RADIX_MASK]++] = k;
+            }
+        }
+        else {
+            for (int i = from; i < to; i++) {
+                final int k = fromKeys[i];
+                final int slot = offsets[((k - min) >>> shift) & RADIX_MASK]++;
+                toKeys[slot] = k;
+                toValues[slot] = fromValues[i];
+            }
+        }
+    }
+
+    /**
+     * One pass split into chunks: each chunk counts its own digits, the
+     * counts are turned into per-chunk starting offsets (digit by digit, in
+     * chunk order, which keeps the sort stable), and each chunk then
+     * scatters its own values.
+     */
+    private static void parallelPass(final int[] fromKeys, final int[] toKeys,
+                                     final int[] fromValues, final int[] toValues,
+                                     final int n, final int min, final int shift) {
+        final int chunks = (n + PARALLEL_CHUNK - 1) / PARALLEL_CHUNK;
+        final int[][] counts = new int[chunks][];
+        IntStream.range(0, chunks).parallel().forEach(new IntConsumer() {
+            public void accept(int c) {
+                final int from = c * PARALLEL_CHUNK;
+                counts[c] = count(fromKeys, from, Math.min(from + PARALLEL_CHUNK, n), min, shift);
+            }
+        });
+        int sum = 0;
+        for (int b = 0; b < RADIX; b++) {
+            for (int c = 0; c < chunks; c++) {
+                final int count = counts[c][b];
+                counts[c][b] = sum;
+                sum += count;
+            }
+        }
+        IntStream.range(0, chunks).parallel().forEach(new IntConsumer() {
+            public void accept(int c) {
+                final int from = c * PARALLEL_CHUNK;
+                pass(fromKeys, toKeys, fromValues, toValues, from,
+                        Math.min(from + PARALLEL_CHUNK, n), min, shift, counts[c]);
+            }
+        });
+    }
+
+    /** Work on one chunk of an array. */
+    private interface ChunkTask {
+        void run(int from, int to);
+    }
+
+    private static void forEachChunk(final int n, final ChunkTask task) {
+        final int chunks = (n + PARALLEL_CHUNK - 1) / PARALLEL_CHUNK;
+        IntStream.range(0, chunks).parallel().forEach(new IntConsumer() {
+            public void accept(int c) {
+                final int from = c * PARALLEL_CHUNK;
+                task.run(from, Math.min(from + PARALLEL_CHUNK, n));
+            }
+        });
+    }
+
+    private static void checkRange(int length, int from, int to) {
+        if (from < 0 || to > length || from > to) {
+            throw new IndexOutOfBoundsException(
+                    "Range " + from + ".." + to + " is outside an array of " + length);
+        }
+    }
+}
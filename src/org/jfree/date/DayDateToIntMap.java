@@ -0,0 +1,129 @@
+package org.jfree.date;
+
+/**
+ * A map from days to <code>int</code> values, keyed by serial number.
+ *
+ * @see DayDateMap
+ */
+public class DayDateToIntMap extends DayDateMap {
+
+    /**
+     * Receives the entries of a map.
+     */
+    public interface Visitor {
+
+        /**
+         * Called once for each entry.
+         *
+         * @param serial  the key.
+         * @param value  the value.
+         */
+        void visit(int serial, int value);
+    }
+
+    private int[] values;
+
+    /**
+     * Creates an empty map.
+     */
+    public DayDateToIntMap() {
+        this(0);
+    }
+
+    /**
+     * Creates an empty map that can hold <code>expectedSize</code> keys
+     * before it has to grow.
+     *
+     * @param expectedSize  the expected number of keys.
+     */
+    public DayDateToIntMap(int expectedSize) {
+        super(expectedSize);
+        this.values = new int[this.keys.length];
+    }
+
+    public int get(DayDate date, int defaultValue) {
+        return get(date.toSerial(), defaultValue);
+    }
+
+    /**
+     * Returns the value for a day.
+     *
+     * @param serial  the serial number.
+     * @param defaultValue  the value to return if the day is not a key.
+     * @return The value.
+     */
+    public int get(int serial, int defaultValue) {
+        final int entry = find(serial);
+        return entry < 0 ? defaultValue : this.values[entry];
+    }
+
+    public void put(DayDate date, int value) {
+        put(date.toSerial(), value);
+    }
+
+    /**
+     * Sets the value for a day.
+     *
+     * @param serial  the serial number.
+     * @param value  the value.
+     */
+    public void put(int serial, int value) {
+        // insert() may replace the values array, so call it first
+        final int entry = insert(serial);
+        this.values[entry] = value;
+    }
+
+    public int addTo(DayDate date, int amount) {
+        return addTo(date.toSerial(), amount);
+    }
+
+    /**
+     * Adds to the value for a day, treating a missing key as 0.
+     *
+     * @param serial  the serial number.
+     * @param amount  the amount to add.
+     * @return The new value.
+     */
+    public int addTo(int serial, int amount) {
+        final int entry = insert(serial);
+        return this.values[entry] += amount;
+    }
+
+    /**
+     * Visits the entries in the order their keys were added.
+     *
+     * @param visitor  the visitor.
+     */
+    public void forEach(Visitor visitor) {
+        visit(entryOrder(false), visitor);
+    }
+
+    /**
+     * Visits the entries in ascending order of serial number.
+     *
+     * @param visitor  the visitor.
+     */
+    public void forEachInSerialOrder(Visitor visitor) {
+        visit(entryOrder(true), visitor);
+    }
+
+    private void visit(int[] order, Visitor visitor) {
+        final int[] keys = this.keys;
+        final int[] values = this.values;
+        for (int entry : order) {
+            visitor.visit(keys[entry], values[entry]);
+        }
+    }
+
+    void moveValues(int[] from, int count, int capacity) {
+        final int[] moved = new int[capacity];
+        for (int i = 0; i < count; i++) {
+            moved[i] = this.values[from[i]];
+        }
+        this.values = moved;
+    }
+
+    void clearValue(int entry) {
+        this.values[entry] = 0;
+    }
+}
@@ -0,0 +1,128 @@
+package org.jfree.date;
+
+/**
+ * A map from days to objects, keyed by serial number.  Unlike a
+ * <code>HashMap&lt;DayDate, V&gt;</code>, it holds no key objects and finds
+ * a key without calling <code>hashCode()</code> or <code>equals()</code>.
+ * Values may not be <code>null</code>.
+ *
+ * @param <V>  the type of the values.
+ *
+ * @see DayDateMap
+ */
+public class DayDateToObjectMap<V> extends DayDateMap {
+
+    /**
+     * Receives the entries of a map.
+     *
+     * @param <V>  the type of the values.
+     */
+    public interface Visitor<V> {
+
+        /**
+         * Called once for each entry.
+         *
+         * @param serial  the key.
+         * @param value  the value.
+         */
+        void visit(int serial, V value);
+    }
+
+    private Object[] values;
+
+    /**
+     * Creates an empty map.
+     */
+    public DayDateToObjectMap() {
+        this(0);
+    }
+
+    /**
+     * Creates an empty map that can hold <code>expectedSize</code> keys
+     * before it has to grow.
+     *
+     * @param expectedSize  the expected number of keys.
+     */
+    public DayDateToObjectMap(int expectedSize) {
+        super(expectedSize);
+        this.values = new Object[this.keys.length];
+    }
+
+    public V get(DayDate date) {
+        return get(date.toSerial());
+    }
+
+    /**
+     * Returns the value for a day.
+     *
+     * @param serial  the serial number.
+     * @return The value, or <code>null</code> if the day is not a key.
+     */
+    @SuppressWarnings("unchecked")
+    public V get(int serial) {
+        final int entry = find(serial);
+        return entry < 0 ? null : (V) this.values[entry];
+    }
+
+    public V put(DayDate date, V value) {
+        return put(date.toSerial(), value);
+    }
+
+    /**
+     * Sets the value for a day.
+     *
+     * @param serial  the serial number.
+     * @param value  the value (<code>null</code> not permitted).
+     * @return The previous value, or <code>null</code> if the day was not a
+     *         key.
+     */
+    @SuppressWarnings("unchecked")
+    public V put(int serial, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Null 'value' argument.");
+        }
+        final int entry = insert(serial);
+        final V previous = (V) this.values[entry];
+        this.values[entry] = value;
+        return previous;
+    }
+
+    /**
+     * Visits the entries in the order their keys were added.
+     *
+     * @param visitor  the visitor.
+     */
+    public void forEach(Visitor<? super V> visitor) {
+        visit(entryOrder(false), visitor);
+    }
+
+    /**
+     * Visits the entries in ascending order of serial number.
+     *
+     * @param visitor  the visitor.
+     */
+    public void forEachInSerialOrder(Visitor<? super V> visitor) {
+        visit(entryOrder(true), visitor);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void visit(int[] order, Visitor<? super V> visitor) {
+        final int[] keys = this.keys;
+        final Object[] values = this.values;
+        for (int entry : order) {
+            visitor.visit(keys[entry], (V) values[entry]);
+        }
+    }
+
+    void moveValues(int[] from, int count, int capacity) {
+        final Object[] moved = new Object[capacity];
+        for (int i = 0; i < count; i++) {
+            moved[i] = this.values[from[i]];
+        }
+        this.values = moved;
+    }
+
+    void clearValue(int entry) {
+        this.values[entry] = null;
+    }
+}
@@ -0,0 +1,148 @@
+package org.jfree.date;
+
+import java.util.Arrays;
+
+/**
+ * A daily time series of <code>double</code> values.  Missing days read as
+ * <code>NaN</code>.
+ *
+ * @see DailySeries
+ */
+public class DoubleDailySeries extends DailySeries<DoubleDailySeries> {
+
+    /** The values, shared with slices; read directly by {@link Resampler}. */
+    final double[] values;
+
+    /**
+     * Creates a series covering the days from <code>first</code> to
+     * <code>last</code> (inclusive), all missing.
+     *
+     * @param first  the first day.
+     * @param last  the last day.
+     */
+    public DoubleDailySeries(DayDate first, DayDate last) {
+        this(first.toSerial(), last.toSerial());
+    }
+
+    public DoubleDailySeries(int firstSerial, int lastSerial) {
+        super(firstSerial, lastSerial);
+        this.values = new double[this.length];
+        Arrays.fill(this.values, Double.NaN);
+    }
+
+    private DoubleDailySeries(DoubleDailySeries parent, int firstSerial, int lastSerial) {
+        super(parent, firstSerial, lastSerial);
+        this.values = parent.values;
+    }
+
+    public double get(DayDate date) {
+        return get(date.toSerial());
+    }
+
+    /**
+     * Returns the value for a day.
+     *
+     * @param serial  the serial number of the day.
+     * @return The value, or <code>NaN</code> if the day is missing.
+     */
+    public double get(int serial) {
+        return this.values[index(serial)];
+    }
+
+    public void put(DayDate date, double value) {
+        put(date.toSerial(), value);
+    }
+
+    /**
+     * Sets the value for a day.
+     *
+     * @param serial  the serial number of the day.
+     * @param value  the value.
+     */
+    public void put(int serial, double value) {
+        final int i = index(serial);
+        this.values[i] = value;
+        setPresentAt(i);
+    }
+
+    /**
+     * Adds a constant to every value that is present.
+     *
+     * @param amount  the amount to add.
+     */
+    public void add(double amount) {
+        for (int i = this.offset; i < this.offset + this.length; i++) {
+            if (isPresentAt(i)) {
+                this.values[i] += amount;
+            }
+        }
+    }
+
+    /**
+     * Multiplies every value that is present by a constant.
+     *
+     * @param factor  the factor.
+     */
+    public void multiply(double factor) {
+        for (int i = this.offset; i < this.offset + this.length; i++) {
+            if (isPresentAt(i)) {
+                this.values[i] *= factor;
+            }
+        }
+    }
+
+    /**
+     * Returns the sum of the values, skipping missing days.
+     *
+     * @return The sum.
+     */
+    public double sum() {
+        double sum = 0.0;
+        for (int i = this.offset; i < this.offset + this.length; i++) {
+            if (isPresentAt(i)) {
+                sum += this.values[i];
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Returns the mean of the values, skipping missing days.
+     *
+     * @return The mean, or <code>NaN</code> if every day is missing.
+     */
+    public double mean() {
+        final int count = presentCount();
+        return count == 0 ? Double.NaN : sum() / count;
+    }
+
+    /**
+     * Returns a copy of the values, one per day, with <code>NaN</code> for
+     * missing days.
+     *
+     * @return The values.
+     */
+    public double[] toArray() {
+        return Arrays.copyOfRange(this.values, this.offset, this.offset + this.length);
+    }
+
+    DoubleDailySeries view(int firstSerial, int lastSerial) {
+        return new DoubleDailySeries(this, firstSerial, lastSerial);
+    }
+
+    void addAt(int i, DoubleDailySeries other, int j) {
+        this.values[i] += other.values[j];
+    }
+
+    void subtractAt(int i, DoubleDailySeries other, int j) {
+        this.values[i] -= other.values[j];
+    }
+
+    void multiplyAt(int i, DoubleDailySeries other, int j) {
+        this.values[i] *= other.values[j];
+    }
+
+    void clearAt(int i) {
+        this.values[i] = Double.NaN;
+    }
+}
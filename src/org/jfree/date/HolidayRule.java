@@ -0,0 +1,170 @@
+package org.jfree.date;
+
+/**
+ * A rule that picks out one holiday in each year, such as "25 December",
+ * "the fourth Thursday in November", "the last Monday in May" or "two days
+ * before Easter Sunday".
+ * <p>
+ * Rules work on serial numbers and compute each year's date directly, so
+ * they are cheap to evaluate for thousands of years; {@link HolidayRuleSet}
+ * uses them to build a {@link DayDateSet} once, after which looking up a
+ * holiday is a bitmap test.
+ */
+public abstract class HolidayRule {
+
+    /**
+     * How a holiday that falls on a weekend is moved to a weekday.
+     */
+    public enum Observance {
+        /** The holiday is not moved. */
+        NONE,
+        /** Saturday moves back to Friday and Sunday forward to Monday. */
+        NEAREST_WEEKDAY,
+        /** Sunday moves forward to Monday; Saturday is not moved. */
+        SUNDAY_TO_MONDAY,
+        /** Saturday and Sunday both move forward to Monday. */
+        NEXT_MONDAY;
+
+        int adjust(int serial) {
+            final int dow = SpreadsheetDate.dayOfWeek(serial);
+            switch (this) {
+                case NEAREST_WEEKDAY:
+                    if (dow == Day.SATURDAY.index) {
+                        return serial - 1;
+                    }
+                    return dow == Day.SUNDAY.index ? serial + 1 : serial;
+                case SUNDAY_TO_MONDAY:
+                    return dow == Day.SUNDAY.index ? serial + 1 : serial;
+                case NEXT_MONDAY:
+                    if (dow == Day.SATURDAY.index) {
+                        return serial + 2;
+                    }
+                    return dow == Day.SUNDAY.index ? serial + 1 : serial;
+                default:
+                    return serial;
+            }
+        }
+    }
+
+    /**
+     * Returns the serial number of the holiday in the given year.  The result
+     * may fall just outside the year (for example when New Year's Day is
+     * observed on the preceding Friday), and may be outside the supported
+     * serial range at either end of it.
+     *
+     * @param year  the year.
+     * @return The serial number of the holiday.
+     */
+    public abstract int serialInYear(int year);
+
+    /**
+     * A holiday on the same day and month every year.  A rule for 29
+     * February gives 28 February outside leap years.
+     *
+     * @param day  the day of the month.
+     * @param month  the month.
+     * @return A rule.
+     */
+    public static HolidayRule fixed(final int day, final Month month) {
+        if (day < 1 || day > DayDate.lastDayOfMonth(month.index, 2000)) {
+            throw new IllegalArgumentException("Invalid 'day' argument.");
+        }
+        return new HolidayRule() {
+            public int serialInYear(int year) {
+                final int d = Math.min(day, DayDate.lastDayOfMonth(month.index, year));
+                return SpreadsheetDate.encodeSerial(d, month.index, year);
+            }
+        };
+    }
+
+    /**
+     * A holiday on the given week of a month, such as the fourth Thursday in
+     * November or the last Monday in May.
+     *
+     * @param week  which occurrence of the day in the month.
+     * @param day  the day of the week.
+     * @param month  the month.
+     * @return A rule.
+     */
+    public static HolidayRule weekdayInMonth(final DayDate.WeekInMonth week,
+                                             final Day day, final Month month) {
+        return new HolidayRule() {
+            public int serialInYear(int year) {
+                return SpreadsheetDate.weekdayInMonth(week, day, month.index, year);
+            }
+        };
+    }
+
+    /**
+     * A holiday a fixed number of days from Easter Sunday (Gregorian
+     * calendar).
+     *
+     * @param days  the number of days after Easter Sunday (can be negative).
+     * @return A rule.
+     */
+    public static HolidayRule easter(final int days) {
+        return new HolidayRule() {
+            public int serialInYear(int year) {
+                return easterSunday(year) + days;
+            }
+        };
+    }
+
+    /**
+     * Returns a rule that moves this rule's weekend dates as described by the
+     * observance.
+     *
+     * @param observance  how to move a weekend holiday.
+     * @return A rule.
+     */
+    public HolidayRule observed(final Observance observance) {
+        final HolidayRule rule = this;
+        return new HolidayRule() {
+            public int serialInYear(int year) {
+                return observance.adjust(rule.serialInYear(year));
+            }
+        };
+    }
+
+    /**
+     * Returns a rule that only applies from <code>firstYear</code> to
+     * <code>lastYear</code> (inclusive).
+     *
+     * @param firstYear  the first year the holiday is kept.
+     * @param lastYear  the last year the holiday is kept.
+     * @return A rule.
+     */
+    public HolidayRule between(final int firstYear, final int lastYear) {
+        final HolidayRule rule = this;
+        return new HolidayRule() {
+            public int serialInYear(int year) {
+                return year >= firstYear && year <= lastYear ? rule.serialInYear(year) : -1;
+            }
+        };
+    }
+
+    /**
+     * Returns the serial number of Easter Sunday in the given year, using the
+     * anonymous Gregorian algorithm.
+     *
+     * @param year  the year.
+     * @return The serial number.
+     */
+    public static int easterSunday(int year) {
+        final int a = year % 19;
+        final int b = year / 100;
+        final int c = year % 100;
+        final int d = b / 4;
+        final int e = b % 4;
+        final int f = (b + 8) / 25;
+        final int g = (b - f + 1) / 3;
+        final int h = (19 * a + b - d - g + 15) % 30;
+        final int i = c / 4;
+        final int k = c % 4;
+        final int l = (32 + 2 * e + 2 * i - h - k) % 7;
+        final int m = (a + 11 * h + 22 * l) / 451;
+        final int month = (h + l - 7 * m + 114) / 31;
+        final int day = (h + l - 7 * m + 114) % 31 + 1;
+        return SpreadsheetDate.encodeSerial(day, month, year);
+    }
+}
@@ -0,0 +1,71 @@
+package org.jfree.date;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A named collection of {@link HolidayRule}s that can be compiled into a
+ * {@link DayDateSet} of holiday dates for a range of years.
+ * <p>
+ * Compiling evaluates each rule once per year; the resulting set answers
+ * "is this a holiday?" with a bitmap lookup and can be handed straight to a
+ * {@link BusinessDayCalendar}.
+ */
+public class HolidayRuleSet {
+
+    private final List<HolidayRule> rules = new ArrayList<HolidayRule>();
+
+    public HolidayRuleSet() {
+    }
+
+    /**
+     * Adds a rule to the set.
+     *
+     * @param rule  the rule.
+     * @return This rule set, so that calls can be chained.
+     */
+    public HolidayRuleSet add(HolidayRule rule) {
+        this.rules.add(rule);
+        return this;
+    }
+
+    /**
+     * Computes the holidays for every supported year (1900 to 9999).
+     *
+     * @return The holidays.
+     */
+    public DayDateSet compile() {
+        return compile(SpreadsheetDate.MINIMUM_YEAR_SUPPORTED,
+                SpreadsheetDate.MAXIMUM_YEAR_SUPPORTED);
+    }
+
+    /**
+     * Computes the holidays that fall between 1 January of
+     * <code>firstYear</code> and 31 December of <code>lastYear</code>.  A
+     * holiday that is observed across a year boundary counts in the year it
+     * is observed.
+     *
+     * @param firstYear  the first year (1900 to 9999).
+     * @param lastYear  the last year (1900 to 9999).
+     * @return The holidays.
+     */
+    public DayDateSet compile(int firstYear, int lastYear) {
+        final int firstSerial = SpreadsheetDate.serialOf(1, Month.JANUARY, firstYear);
+        final int lastSerial = SpreadsheetDate.serialOf(31, Month.DECEMBER, lastYear);
+        if (firstSerial > lastSerial) {
+            throw new IllegalArgumentException("The last year is before the first year.");
+        }
+        final int fromYear = Math.max(firstYear - 1, SpreadsheetDate.MINIMUM_YEAR_SUPPORTED);
+        final int toYear = Math.min(lastYear + 1, SpreadsheetDate.MAXIMUM_YEAR_SUPPORTED);
+        final DayDateSet holidays = new DayDateSet();
+        for (HolidayRule rule : this.rules) {
+            for (int year = fromYear; year <= toYear; year++) {
+                final int serial = rule.serialInYear(year);
+                if (serial >= firstSerial && serial <= lastSerial) {
+                    holidays.add(serial);
+                }
+            }
+        }
+        return holidays;
+    }
+}
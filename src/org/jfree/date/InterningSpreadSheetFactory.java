@@ -0,0 +1,142 @@
+package org.jfree.date;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link SpreadSheetFactory} that hands out one canonical, immutable
+ * {@link SpreadsheetDate} per serial number instead of allocating a new date
+ * on every call.
+ * <p>
+ * Dates in a "hot" window of serial numbers are created up front; all other
+ * dates in the range {@link SpreadsheetDate#SERIAL_LOWER_BOUND} to
+ * {@link SpreadsheetDate#SERIAL_UPPER_BOUND} are created the first time they
+ * are asked for.  The cache is split into pages that are only allocated when
+ * one of their dates is first used, so a factory that only ever sees recent
+ * dates stays small.  Deserialized dates are interned too, once this factory
+ * is installed with {@link DayDateFactory#setInstance(DayDateFactory)}.
+ * <p>
+ * The factory is safe for use from several threads: a date that is created
+ * by two threads at once is published with a compare-and-set, so both
+ * threads end up with the same instance.
+ */
+public class InterningSpreadSheetFactory extends SpreadSheetFactory {
+
+    /** The first serial in the default hot window (1-Jan-1970). */
+    public static final int DEFAULT_FIRST_HOT_SERIAL = 25569;
+
+    /** The last serial in the default hot window (31-Dec-2069). */
+    public static final int DEFAULT_LAST_HOT_SERIAL = 62093;
+
+    private static final int PAGE_SHIFT = 12;
+
+    private static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+
+    private final AtomicReferenceArray<AtomicReferenceArray<SpreadsheetDate>> pages =
+            new AtomicReferenceArray<AtomicReferenceArray<SpreadsheetDate>>(
+                    (SpreadsheetDate.SERIAL_UPPER_BOUND >> PAGE_SHIFT) + 1);
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Creates a factory that pre-builds the dates from 1-Jan-1970 to
+     * 31-Dec-2069.
+     */
+    public InterningSpreadSheetFactory() {
+        this(DEFAULT_FIRST_HOT_SERIAL, DEFAULT_LAST_HOT_SERIAL);
+    }
+
+    /**
+     * Creates a factory that pre-builds the dates between two serial numbers
+     * (inclusive).
+     *
+     * @param firstHotSerial  the first serial number to pre-build.
+     * @param lastHotSerial  the last serial number to pre-build.
+     */
+    public InterningSpreadSheetFactory(int firstHotSerial, int lastHotSerial) {
+        SpreadsheetDate.checkSerial(firstHotSerial);
+        SpreadsheetDate.checkSerial(lastHotSerial);
+        if (firstHotSerial > lastHotSerial) {
+            throw new IllegalArgumentException(
+                    "The hot window must not end before it starts.");
+        }
+        for (int serial = firstHotSerial; serial <= lastHotSerial; serial++) {
+            page(serial).set(serial & PAGE_MASK, new SpreadsheetDate(serial));
+        }
+    }
+
+    @Override
+    protected DayDate _makeDate(int ordinal) {
+        SpreadsheetDate.checkSerial(ordinal);
+        return canonical(ordinal, null);
+    }
+
+    @Override
+    protected DayDate _makeDate(int day, Month month, int year) {
+        return canonical(SpreadsheetDate.serialOf(day, month, year), null);
+    }
+
+    @Override
+    protected DayDate _intern(DayDate date) {
+        if (date instanceof SpreadsheetDate) {
+            return canonical(date.toSerial(), (SpreadsheetDate) date);
+        }
+        return date;
+    }
+
+    /**
+     * Returns the number of requests that were answered from the cache.
+     *
+     * @return The hit count.
+     */
+    public long getHitCount() {
+        return this.hits.sum();
+    }
+
+    /**
+     * Returns the number of requests that had to create (or adopt) a new
+     * canonical instance.
+     *
+     * @return The miss count.
+     */
+    public long getMissCount() {
+        return this.misses.sum();
+    }
+
+    /**
+     * Returns the canonical date for a serial number that has already been
+     * validated, installing <code>candidate</code> (or a new date, if
+     * <code>candidate</code> is <code>null</code>) when there is none yet.
+     */
+    private SpreadsheetDate canonical(int serial, SpreadsheetDate candidate) {
+        final AtomicReferenceArray<SpreadsheetDate> page = page(serial);
+        final int slot = serial & PAGE_MASK;
+        final SpreadsheetDate cached = page.get(slot);
+        if (cached != null) {
+            this.hits.increment();
+            return cached;
+        }
+        this.misses.increment();
+        final SpreadsheetDate created =
+                candidate != null ? candidate : new SpreadsheetDate(serial);
+        if (page.compareAndSet(slot, null, created)) {
+            return created;
+        }
+        return page.get(slot);
+    }
+
+    private AtomicReferenceArray<SpreadsheetDate> page(int serial) {
+        final int index = serial >> PAGE_SHIFT;
+        AtomicReferenceArray<SpreadsheetDate> page = this.pages.get(index);
+        if (page == null) {
+            this.pages.compareAndSet(index, null,
+                    new AtomicReferenceArray<SpreadsheetDate>(PAGE_SIZE));
+            page = this.pages.get(index);
+        }
+        return page;
+    }
+}
@@ -0,0 +1,146 @@
+package org.jfree.date;
+
+import java.util.Arrays;
+
+/**
+ * A daily time series of <code>long</code> values.  Missing days read as 0;
+ * use {@link #isMissing(int)} or {@link #get(int, long)} to tell them apart
+ * from a stored 0.
+ *
+ * @see DailySeries
+ */
+public class LongDailySeries extends DailySeries<LongDailySeries> {
+
+    private final long[] values;
+
+    /**
+     * Creates a series covering the days from <code>first</code> to
+     * <code>last</code> (inclusive), all missing.
+     *
+     * @param first  the first day.
+     * @param last  the last day.
+     */
+    public LongDailySeries(DayDate first, DayDate last) {
+        this(first.toSerial(), last.toSerial());
+    }
+
+    public LongDailySeries(int firstSerial, int lastSerial) {
+        super(firstSerial, lastSerial);
+        this.values = new long[this.length];
+    }
+
+    private LongDailySeries(LongDailySeries parent, int firstSerial, int lastSerial) {
+        super(parent, firstSerial, lastSerial);
+        this.values = parent.values;
+    }
+
+    public long get(DayDate date) {
+        return get(date.toSerial());
+    }
+
+    /**
+     * Returns the value for a day.
+     *
+     * @param serial  the serial number of the day.
+     * @return The value, or 0 if the day is missing.
+     */
+    public long get(int serial) {
+        return this.values[index(serial)];
+    }
+
+    /**
+     * Returns the value for a day, or a default if the day is missing.
+     *
+     * @param serial  the serial number of the day.
+     * @param defaultValue  the value to return for a missing day.
+     * @return The value.
+     */
+    public long get(int serial, long defaultValue) {
+        final int i = index(serial);
+        return isPresentAt(i) ? this.values[i] : defaultValue;
+    }
+
+    public void put(DayDate date, long value) {
+        put(date.toSerial(), value);
+    }
+
+    /**
+     * Sets the value for a day.
+     *
+     * @param serial  the serial number of the day.
+     * @param value  the value.
+     */
+    public void put(int serial, long value) {
+        final int i = index(serial);
+        this.values[i] = value;
+        setPresentAt(i);
+    }
+
+    /**
+     * Adds a constant to every value that is present.
+     *
+     * @param amount  the amount to add.
+     */
+    public void add(long amount) {
+        for (int i = this.offset; i < this.offset + this.length; i++) {
+            if (isPresentAt(i)) {
+                this.values[i] += amount;
+            }
+        }
+    }
+
+    /**
+     * Multiplies every value that is present by a constant.
+     *
+     * @param factor  the factor.
+     */
+    public void multiply(long factor) {
+        for (int i = this.offset; i < this.offset + this.length; i++) {
+            if (isPresentAt(i)) {
+                this.values[i] *= factor;
+            }
+        }
+    }
+
+    /**
+     * Returns the sum of the values (missing days count as 0).
+     *
+     * @return The sum.
+     */
+    public long sum() {
+        long sum = 0L;
+        for (int i = this.offset; i < this.offset + this.length; i++) {
+            sum += this.values[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Returns a copy of the values, one per day, with 0 for missing days.
+     *
+     * @return The values.
+     */
+    public long[] toArray() {
+        return Arrays.copyOfRange(this.values, this.offset, this.offset + this.length);
+    }
+
+    LongDailySeries view(int firstSerial, int lastSerial) {
+        return new LongDailySeries(this, firstSerial, lastSerial);
+    }
+
+    void addAt(int i, LongDailySeries other, int j) {
+        this.values[i] += other.values[j];
+    }
+
+    void subtractAt(int i, LongDailySeries other, int j) {
+        this.values[i] -= other.values[j];
+    }
+
+    void multiplyAt(int i, LongDailySeries other, int j) {
+        this.values[i] *= other.values[j];
+    }
+
+    void clearAt(int i) {
+        this.values[i] = 0L;
+    }
+}
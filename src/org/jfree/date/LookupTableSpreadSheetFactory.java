@@ -0,0 +1,17 @@
+package org.jfree.date;
+
+/**
+ * A {@link SpreadSheetFactory} whose dates decode their day, month and year
+ * through {@link SerialLookupTable}.
+ */
+public class LookupTableSpreadSheetFactory extends SpreadSheetFactory {
+    @Override
+    protected DayDate _makeDate(int ordinal) {
+        return new LookupTableSpreadsheetDate(ordinal);
+    }
+
+    @Override
+    protected DayDate _makeDate(int day, Month month, int year) {
+        return new LookupTableSpreadsheetDate(day, month, year);
+    }
+}
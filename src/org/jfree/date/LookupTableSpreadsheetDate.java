@@ -0,0 +1,24 @@
+package org.jfree.date;
+
+/**
+ * A {@link SpreadsheetDate} that decodes its day, month and year with the
+ * tables in {@link SerialLookupTable} rather than by arithmetic.
+ */
+public class LookupTableSpreadsheetDate extends SpreadsheetDate {
+
+    /** For serialization. */
+    private static final long serialVersionUID = 4118127862372218591L;
+
+    public LookupTableSpreadsheetDate(final int day, final Month month, final int year) {
+        super(day, month, year);
+    }
+
+    public LookupTableSpreadsheetDate(final int serial) {
+        super(serial);
+    }
+
+    @Override
+    protected int decode(final int serial) {
+        return SerialLookupTable.decodeSerial(serial);
+    }
+}
@@ -0,0 +1,119 @@
+package org.jfree.date;
+
+import java.io.Closeable;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+
+/**
+ * A fixed-length column of date serial numbers held outside the Java heap,
+ * in a direct buffer of 32-bit ints, with the same bulk operations as
+ * {@link DayDateColumn}.
+ * <p>
+ * The garbage collector sees one small buffer object however many dates the
+ * column holds, so very large series do not lengthen GC pauses.  A column
+ * can hold up to 536,870,911 dates (2 GB); a larger size is rejected rather
+ * than overflowing the byte count.
+ * <p>
+ * A column and every view taken from it share one lifetime: after
+ * {@link #close()} any further use of any of them throws an
+ * {@link IllegalStateException}.  The native memory belongs to the buffer
+ * and is handed back by its cleaner once the column and its views can no
+ * longer be reached, so it is never freed while an operation that started
+ * before the close is still reading or writing it, and it is not leaked if
+ * a column is never closed.
+ */
+public class OffHeapDayDateColumn extends AbstractDayDateColumn implements Closeable {
+
+    /** The lifetime shared by a column and its views. */
+    private static final class Scope {
+        private volatile boolean closed;
+    }
+
+    private final IntBuffer serials;
+
+    private final Scope scope;
+
+    /**
+     * Creates a column of the given size, with every entry set to
+     * 1-Jan-1900.
+     *
+     * @param size  the number of dates (at most 536,870,911).
+     */
+    public OffHeapDayDateColumn(int size) {
+        if (size < 0 || size > Integer.MAX_VALUE / 4) {
+            throw new IllegalArgumentException("Invalid column size " + size);
+        }
+        this.serials = ByteBuffer.allocateDirect(size * 4)
+                .order(ByteOrder.nativeOrder()).asIntBuffer();
+        this.scope = new Scope();
+        for (int i = 0; i < size; i++) {
+            this.serials.put(i, SpreadsheetDate.SERIAL_LOWER_BOUND);
+        }
+    }
+
+    private OffHeapDayDateColumn(IntBuffer serials, Scope scope) {
+        this.serials = serials;
+        this.scope = scope;
+    }
+
+    /**
+     * Creates an off-heap copy of an on-heap column.
+     *
+     * @param column  the column to copy.
+     * @return A new off-heap column.
+     */
+    public static OffHeapDayDateColumn copyOf(DayDateColumn column) {
+        final OffHeapDayDateColumn result = new OffHeapDayDateColumn(column.size());
+        result.serials.put(0, column.toSerialArray());
+        return result;
+    }
+
+    /**
+     * Returns a view of the dates from <code>from</code> (inclusive) to
+     * <code>to</code> (exclusive), sharing this column's storage and
+     * lifetime.
+     *
+     * @param from  the first index in the view.
+     * @param to  the index after the last one in the view.
+     * @return A view of part of this column.
+     */
+    public OffHeapDayDateColumn view(int from, int to) {
+        checkAccess();
+        if (from < 0 || to > size() || from > to) {
+            throw new IndexOutOfBoundsException(
+                    "View " + from + ".." + to + " is outside a column of " + size());
+        }
+        return new OffHeapDayDateColumn(this.serials.slice(from, to - from), this.scope);
+    }
+
+    /**
+     * Ends the lifetime of this column and of every view that shares its
+     * storage.  Closing again does nothing.
+     */
+    public void close() {
+        this.scope.closed = true;
+    }
+
+    public boolean isClosed() {
+        return this.scope.closed;
+    }
+
+    public int size() {
+        return this.serials.limit();
+    }
+
+    int serialAt(int index) {
+        return this.serials.get(index);
+    }
+
+    void setSerialAt(int index, int serial) {
+        this.serials.put(index, serial);
+    }
+
+    void checkAccess() {
+        if (this.scope.closed) {
+            throw new IllegalStateException("The column has been closed.");
+        }
+    }
+}
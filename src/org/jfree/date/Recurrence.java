@@ -0,0 +1,267 @@
+package org.jfree.date;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A repeating schedule of dates, such as "every other Tuesday", "the third
+ * Friday of every month" or "the last Monday of March, June, September and
+ * December".
+ * <p>
+ * Each occurrence is computed directly from the previous one with a few
+ * integer operations on serial numbers, so generating thousands of
+ * occurrences creates no {@link DayDate} objects: results are written into
+ * an <code>int[]</code> of serial numbers or produced lazily as an
+ * {@link IntStream}.
+ */
+public abstract class Recurrence {
+
+    /**
+     * Returns the first occurrence on or after the given serial number.
+     *
+     * @param serial  the serial number.
+     * @return The serial number of the occurrence.
+     */
+    public abstract int firstOnOrAfter(int serial);
+
+    /**
+     * Returns the occurrence that follows the given one.
+     *
+     * @param occurrence  the serial number of an occurrence.
+     * @return The serial number of the next occurrence.
+     */
+    public abstract int following(int occurrence);
+
+    /**
+     * Every week on the given day.
+     *
+     * @param day  the day of the week.
+     * @return A recurrence.
+     */
+    public static Recurrence weekly(Day day) {
+        final int lower = SpreadsheetDate.SERIAL_LOWER_BOUND;
+        return everyWeeks(1, lower + (day.index - SpreadsheetDate.dayOfWeek(lower) + 7) % 7);
+    }
+
+    /**
+     * Every <code>weeks</code> weeks, on the day of the week of
+     * <code>anchor</code>, in a cycle that includes <code>anchor</code>.
+     *
+     * @param weeks  the number of weeks between occurrences (at least 1).
+     * @param anchor  one of the occurrences.
+     * @return A recurrence.
+     */
+    public static Recurrence everyWeeks(int weeks, DayDate anchor) {
+        return everyWeeks(weeks, anchor.toSerial());
+    }
+
+    /**
+     * Every <code>weeks</code> weeks in a cycle that includes
+     * <code>anchorSerial</code>.  The occurrences do not depend on the range
+     * they are requested for.
+     *
+     * @param weeks  the number of weeks between occurrences (at least 1).
+     * @param anchorSerial  the serial number of one of the occurrences.
+     * @return A recurrence.
+     */
+    public static Recurrence everyWeeks(final int weeks, final int anchorSerial) {
+        if (weeks < 1) {
+            throw new IllegalArgumentException("The interval must be at least one week.");
+        }
+        SpreadsheetDate.checkSerial(anchorSerial);
+        return new Recurrence() {
+            public int firstOnOrAfter(int serial) {
+                return serial + Math.floorMod(anchorSerial - serial, 7 * weeks);
+            }
+
+            public int following(int occurrence) {
+                return occurrence + 7 * weeks;
+            }
+        };
+    }
+
+    /**
+     * The given week's occurrence of a day in every month, for example the
+     * third Friday or the last Monday.
+     *
+     * @param week  which occurrence in the month.
+     * @param day  the day of the week.
+     * @return A recurrence.
+     */
+    public static Recurrence monthly(DayDate.WeekInMonth week, Day day) {
+        return everyMonths(1, Month.JANUARY, week, day);
+    }
+
+    /**
+     * The given week's occurrence of a day in every third month, starting
+     * from <code>firstMonth</code>.
+     *
+     * @param firstMonth  one of the months in the cycle (for example MARCH
+     *                    for March, June, September and December).
+     * @param week  which occurrence in the month.
+     * @param day  the day of the week.
+     * @return A recurrence.
+     */
+    public static Recurrence quarterly(Month firstMonth, DayDate.WeekInMonth week, Day day) {
+        return everyMonths(3, firstMonth, week, day);
+    }
+
+    /**
+     * The given week's occurrence of a day in one month of every year.
+     *
+     * @param month  the month.
+     * @param week  which occurrence in the month.
+     * @param day  the day of the week.
+     * @return A recurrence.
+     */
+    public static Recurrence yearly(Month month, DayDate.WeekInMonth week, Day day) {
+        return everyMonths(12, month, week, day);
+    }
+
+    /**
+     * The given week's occurrence of a day in every <code>months</code>
+     * months, in a cycle that includes <code>anchor</code>.
+     *
+     * @param months  the number of months between occurrences (at least 1).
+     * @param anchor  one of the months in the cycle.
+     * @param week  which occurrence in the month.
+     * @param day  the day of the week.
+     * @return A recurrence.
+     */
+    public static Recurrence everyMonths(final int months, final Month anchor,
+                                         final DayDate.WeekInMonth week, final Day day) {
+        if (months < 1) {
+            throw new IllegalArgumentException("The interval must be at least one month.");
+        }
+        return new Recurrence() {
+            public int firstOnOrAfter(int serial) {
+                final int packed = SpreadsheetDate.decodeSerial(serial);
+                int m = 12 * SpreadsheetDate.packedYear(packed)
+                        + SpreadsheetDate.packedMonth(packed) - 1;
+                m += Math.floorMod(anchor.index - 1 - m, months);
+                int occurrence = inMonth(m);
+                if (occurrence < serial) {
+                    occurrence = inMonth(m + months);
+                }
+                return occurrence;
+            }
+
+            public int following(int occurrence) {
+                final int packed = SpreadsheetDate.decodeSerial(occurrence);
+                return inMonth(12 * SpreadsheetDate.packedYear(packed)
+                        + SpreadsheetDate.packedMonth(packed) - 1 + months);
+            }
+
+            private int inMonth(int monthIndex) {
+                return SpreadsheetDate.weekdayInMonth(
+                        week, day, monthIndex % 12 + 1, monthIndex / 12);
+            }
+        };
+    }
+
+    /**
+     * Returns the occurrences between two dates (inclusive), as serial
+     * numbers in date order.
+     *
+     * @param from  the first date in the range.
+     * @param to  the last date in the range.
+     * @return The serial numbers of the occurrences.
+     */
+    public int[] between(DayDate from, DayDate to) {
+        return between(from.toSerial(), to.toSerial());
+    }
+
+    public int[] between(int fromSerial, int toSerial) {
+        checkRange(fromSerial, toSerial);
+        int[] result = new int[16];
+        int count = 0;
+        for (int s = firstOnOrAfter(fromSerial); s <= toSerial; s = following(s)) {
+            if (count == result.length) {
+                result = Arrays.copyOf(result, 2 * count);
+            }
+            result[count++] = s;
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    /**
+     * Writes the occurrences between two serial numbers (inclusive) into
+     * <code>result</code>, stopping when it is full.
+     *
+     * @param fromSerial  the first serial number in the range.
+     * @param toSerial  the last serial number in the range.
+     * @param result  receives the serial numbers of the occurrences.
+     * @return The number of occurrences written.
+     */
+    public int fill(int fromSerial, int toSerial, int[] result) {
+        checkRange(fromSerial, toSerial);
+        int count = 0;
+        for (int s = firstOnOrAfter(fromSerial); s <= toSerial && count < result.length;
+             s = following(s)) {
+            result[count++] = s;
+        }
+        return count;
+    }
+
+    /**
+     * Returns the number of occurrences between two serial numbers
+     * (inclusive).
+     *
+     * @param fromSerial  the first serial number in the range.
+     * @param toSerial  the last serial number in the range.
+     * @return The number of occurrences.
+     */
+    public int count(int fromSerial, int toSerial) {
+        checkRange(fromSerial, toSerial);
+        int count = 0;
+        for (int s = firstOnOrAfter(fromSerial); s <= toSerial; s = following(s)) {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Returns the occurrences between two dates (inclusive) as a lazy stream
+     * of serial numbers in date order.
+     *
+     * @param from  the first date in the range.
+     * @param to  the last date in the range.
+     * @return A stream of serial numbers.
+     */
+    public IntStream stream(DayDate from, DayDate to) {
+        return stream(from.toSerial(), to.toSerial());
+    }
+
+    public IntStream stream(final int fromSerial, final int toSerial) {
+        checkRange(fromSerial, toSerial);
+        final PrimitiveIterator.OfInt occurrences = new PrimitiveIterator.OfInt() {
+            private int next = firstOnOrAfter(fromSerial);
+
+            public boolean hasNext() {
+                return this.next <= toSerial;
+            }
+
+            public int nextInt() {
+                if (this.next > toSerial) {
+                    throw new NoSuchElementException();
+                }
+                final int result = this.next;
+                this.next = following(result);
+                return result;
+            }
+        };
+        return StreamSupport.intStream(Spliterators.spliteratorUnknownSize(occurrences,
+                Spliterator.ORDERED | Spliterator.SORTED | Spliterator.DISTINCT
+                        | Spliterator.NONNULL | Spliterator.IMMUTABLE), false);
+    }
+
+    private static void checkRange(int fromSerial, int toSerial) {
+        SpreadsheetDate.checkSerial(fromSerial);
+        SpreadsheetDate.checkSerial(toSerial);
+    }
+}
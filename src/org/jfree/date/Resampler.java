@@ -0,0 +1,345 @@
+package org.jfree.date;
+
+import java.util.Arrays;
+
+/**
+ * Converts a daily series to a weekly, monthly or quarterly one, by
+ * aggregating the values in each period (first, last, minimum, maximum,
+ * sum, or all four of open, high, low and close).
+ * <p>
+ * A resampler works over a window of days, from a first to a last serial
+ * number.  Period 0 is the period holding the first day, and each period is
+ * labelled by its last day: the end of the month or quarter (as given by
+ * {@link DayDate#lastDayOfMonth(int, int)}), or for weeks the chosen day of
+ * the week, so that a day belongs to the week ending on the first such day
+ * on or after it.  A week cut off by 31-Dec-9999 is labelled by that day.
+ * <p>
+ * The values are read in one pass in serial order.  Only when a day falls
+ * after the end of the current period is its period looked up, in
+ * {@link DayDateBuckets}, and the end of that period noted; every other day
+ * costs one comparison.  No {@link DayDate} is created.  A missing value
+ * (<code>NaN</code>) is skipped.  A period with no values is
+ * <code>NaN</code>, or with {@link Fill#FORWARD} takes the value of the
+ * period before it; a sum is never carried forward, since that would count
+ * the same values twice, so an empty period's sum is 0.  A
+ * {@link DoubleDailySeries} is read in place, without copying its values.
+ */
+public class Resampler {
+
+    /**
+     * How the values in a period are combined.
+     */
+    public enum Aggregation {
+        FIRST,
+        LAST,
+        MIN,
+        MAX,
+        SUM
+    }
+
+    /**
+     * What a period with no values is given.
+     */
+    public enum Fill {
+
+        /** <code>NaN</code>. */
+        NONE,
+
+        /**
+         * The previous period's value (for OHLC, its close), or 0 for
+         * {@link Aggregation#SUM}.
+         */
+        FORWARD
+    }
+
+    private final DayDateBuckets periods;
+
+    private final Fill fill;
+
+    private Resampler(DayDateBuckets periods, Fill fill) {
+        if (fill == null) {
+            throw new IllegalArgumentException("Null 'fill' argument.");
+        }
+        this.periods = periods;
+        this.fill = fill;
+    }
+
+    /**
+     * Returns a resampler to weeks that end on the given day.
+     *
+     * @param weekEnd  the last day of each week.
+     * @param fill  what an empty week is given.
+     * @return A resampler.
+     */
+    public static Resampler weekly(Day weekEnd, Fill fill) {
+        return new Resampler(DayDateBuckets.weeks(Day.make(weekEnd.index % 7 + 1)), fill);
+    }
+
+    public static Resampler monthly(Fill fill) {
+        return new Resampler(DayDateBuckets.months(), fill);
+    }
+
+    public static Resampler quarterly(Fill fill) {
+        return new Resampler(DayDateBuckets.quarters(), fill);
+    }
+
+    /**
+     * Returns the number of periods that hold the days from
+     * <code>firstSerial</code> to <code>lastSerial</code>.
+     *
+     * @param firstSerial  the first day.
+     * @param lastSerial  the last day.
+     * @return The number of periods.
+     */
+    public int periodCount(int firstSerial, int lastSerial) {
+        checkWindow(firstSerial, lastSerial);
+        return this.periods.bucketOf(lastSerial) - this.periods.bucketOf(firstSerial) + 1;
+    }
+
+    /**
+     * Returns the label (last day) of each period that holds the days from
+     * <code>firstSerial</code> to <code>lastSerial</code>.
+     *
+     * @param firstSerial  the first day.
+     * @param lastSerial  the last day.
+     * @return The serial numbers of the period ends.
+     */
+    public int[] periodEnds(int firstSerial, int lastSerial) {
+        final int first = this.periods.bucketOf(firstSerial);
+        final int[] ends = new int[periodCount(firstSerial, lastSerial)];
+        for (int p = 0; p < ends.length; p++) {
+            ends[p] = this.periods.getEnd(first + p);
+        }
+        return ends;
+    }
+
+    /**
+     * Aggregates a daily series over every period it covers.
+     *
+     * @param series  the series.
+     * @param aggregation  how to combine the values in a period.
+     * @return One value per period, for the periods from the one holding
+     *         the series' first day to the one holding its last.
+     */
+    public double[] resample(DoubleDailySeries series, Aggregation aggregation) {
+        final int first = series.getFirstSerial();
+        final int last = series.getLastSerial();
+        final double[] result = new double[periodCount(first, last)];
+        aggregate(null, first, series.values, series.offset, series.size(), first, last,
+                aggregation, result);
+        return result;
+    }
+
+    /**
+     * Aggregates values on the given days over the periods in a window.
+     * Days outside the window are ignored.
+     *
+     * @param serials  the days, in ascending order.
+     * @param values  the value for each day (<code>NaN</code> if missing).
+     * @param firstSerial  the first day of the window.
+     * @param lastSerial  the last day of the window.
+     * @param aggregation  how to combine the values in a period.
+     * @param result  receives one value per period (at least
+     *                {@link #periodCount(int, int)} long).
+     */
+    public void resample(int[] serials, double[] values, int firstSerial, int lastSerial,
+                         Aggregation aggregation, double[] result) {
+        checkColumns(serials, values, firstSerial, lastSerial, result);
+        aggregate(serials, 0, values, 0, serials.length, firstSerial, lastSerial, aggregation,
+                result);
+    }
+
+    /**
+     * Writes the open (first), high, low and close (last) values of each
+     * period a daily series covers, in one pass.
+     *
+     * @param series  the series.
+     * @param open  receives the first value in each period.
+     * @param high  receives the highest value in each period.
+     * @param low  receives the lowest value in each period.
+     * @param close  receives the last value in each period.
+     */
+    public void ohlc(DoubleDailySeries series, double[] open, double[] high, double[] low,
+                     double[] close) {
+        final int first = series.getFirstSerial();
+        final int last = series.getLastSerial();
+        final int count = periodCount(first, last);
+        checkLength(open, count);
+        checkLength(high, count);
+        checkLength(low, count);
+        checkLength(close, count);
+        ohlc(null, first, series.values, series.offset, series.size(), first, last,
+                open, high, low, close);
+    }
+
+    /**
+     * Writes the open (first), high, low and close (last) values of each
+     * period in a window, in one pass.  Days outside the window are ignored.
+     *
+     * @param serials  the days, in ascending order.
+     * @param values  the value for each day (<code>NaN</code> if missing).
+     * @param firstSerial  the first day of the window.
+     * @param lastSerial  the last day of the window.
+     * @param open  receives the first value in each period.
+     * @param high  receives the highest value in each period.
+     * @param low  receives the lowest value in each period.
+     * @param close  receives the last value in each period.
+     */
+    public void ohlc(int[] serials, double[] values, int firstSerial, int lastSerial,
+                     double[] open, double[] high, double[] low, double[] close) {
+        checkColumns(serials, values, firstSerial, lastSerial, open);
+        final int count = periodCount(firstSerial, lastSerial);
+        checkLength(high, count);
+        checkLength(low, count);
+        checkLength(close, count);
+        ohlc(serials, 0, values, 0, serials.length, firstSerial, lastSerial,
+                open, high, low, close);
+    }
+
+    /**
+     * The single pass behind resample().  The day of entry <code>i</code> is
+     * <code>serials[i]</code>, or <code>dense + i</code> if
+     * <code>serials</code> is <code>null</code>, and its value is
+     * <code>values[from + i]</code>.
+     */
+    private void aggregate(int[] serials, int dense, double[] values, int from, int n,
+                           int firstSerial, int lastSerial, Aggregation aggregation,
+                           double[] result) {
+        final int count = periodCount(firstSerial, lastSerial);
+        final int firstPeriod = this.periods.bucketOf(firstSerial);
+        Arrays.fill(result, 0, count, Double.NaN);
+        int p = -1;
+        int end = firstSerial - 1;
+        for (int i = 0; i < n; i++) {
+            final int serial = serials == null ? dense + i : serials[i];
+            if (serial < firstSerial) {
+                continue;
+            }
+            if (serial > lastSerial) {
+                break;
+            }
+            if (serial > end) {
+                p = this.periods.bucketOf(serial) - firstPeriod;
+                end = this.periods.getEnd(firstPeriod + p);
+            }
+            final double v = values[from + i];
+            if (Double.isNaN(v)) {
+                continue;
+            }
+            final double r = result[p];
+            switch (aggregation) {
+                case FIRST:
+                    if (Double.isNaN(r)) {
+                        result[p] = v;
+                    }
+                    break;
+                case LAST:
+                    result[p] = v;
+                    break;
+                case MIN:
+                    if (Double.isNaN(r) || v < r) {
+                        result[p] = v;
+                    }
+                    break;
+                case MAX:
+                    if (Double.isNaN(r) || v > r) {
+                        result[p] = v;
+                    }
+                    break;
+                default:
+                    result[p] = Double.isNaN(r) ? v : r + v;
+            }
+        }
+        if (this.fill == Fill.FORWARD) {
+            for (p = 0; p < count; p++) {
+                if (Double.isNaN(result[p])) {
+                    if (aggregation == Aggregation.SUM) {
+                        result[p] = 0.0;
+                    }
+                    else if (p > 0) {
+                        result[p] = result[p - 1];
+                    }
+                }
+            }
+        }
+    }
+
+    private void ohlc(int[] serials, int dense, double[] values, int from, int n,
+                      int firstSerial, int lastSerial,
+                      double[] open, double[] high, double[] low, double[] close) {
+        final int count = periodCount(firstSerial, lastSerial);
+        final int firstPeriod = this.periods.bucketOf(firstSerial);
+        Arrays.fill(open, 0, count, Double.NaN);
+        Arrays.fill(high, 0, count, Double.NaN);
+        Arrays.fill(low, 0, count, Double.NaN);
+        Arrays.fill(close, 0, count, Double.NaN);
+        int p = -1;
+        int end = firstSerial - 1;
+        for (int i = 0; i < n; i++) {
+            final int serial = serials == null ? dense + i : serials[i];
+            if (serial < firstSerial) {
+                continue;
+            }
+            if (serial > lastSerial) {
+                break;
+            }
+            if (serial > end) {
+                p = this.periods.bucketOf(serial) - firstPeriod;
+                end = this.periods.getEnd(firstPeriod + p);
+            }
+            final double v = values[from + i];
+            if (Double.isNaN(v)) {
+                continue;
+            }
+            if (Double.isNaN(open[p])) {
+                open[p] = v;
+                high[p] = v;
+                low[p] = v;
+            }
+            else if (v > high[p]) {
+                high[p] = v;
+            }
+            else if (v < low[p]) {
+                low[p] = v;
+            }
+            close[p] = v;
+        }
+        if (this.fill == Fill.FORWARD) {
+            for (p = 1; p < count; p++) {
+                if (Double.isNaN(open[p])) {
+                    open[p] = close[p - 1];
+                    high[p] = close[p - 1];
+                    low[p] = close[p - 1];
+                    close[p] = close[p - 1];
+                }
+            }
+        }
+    }
+
+    private void checkColumns(int[] serials, double[] values, int firstSerial, int lastSerial,
+                              double[] result) {
+        if (values.length < serials.length) {
+            throw new IllegalArgumentException("There are " + serials.length
+                    + " serials but " + values.length + " values.");
+        }
+        if (!DayDateSort.isSorted(serials)) {
+            throw new IllegalArgumentException("The serials must be in ascending order.");
+        }
+        checkLength(result, periodCount(firstSerial, lastSerial));
+    }
+
+    private static void checkLength(double[] result, int count) {
+        if (result.length < count) {
+            throw new IllegalArgumentException("The result array holds " + result.length
+                    + " values but there are " + count + " periods.");
+        }
+    }
+
+    private static void checkWindow(int firstSerial, int lastSerial) {
+        SpreadsheetDate.checkSerial(firstSerial);
+        SpreadsheetDate.checkSerial(lastSerial);
+        if (firstSerial > lastSerial) {
+            throw new IllegalArgumentException("The first day is after the last day.");
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package org.jfree.date;
+
+/**
+ * Generates the period dates of a financial schedule, such as the coupon
+ * dates of a bond or swap, between an effective date and a termination
+ * date.
+ * <p>
+ * Regular dates are rolled from an anchor date by whole periods, always
+ * counting from the anchor rather than from the previous date, so a
+ * schedule anchored on the 31st comes back to the 31st after passing
+ * through a shorter month.  Any odd period left over becomes a stub at the
+ * start (backward generation) or at the end (forward generation).  Each date
+ * is then moved to a business day by a {@link BusinessDayConvention}.
+ * <p>
+ * The generator works on serial numbers and writes into caller-supplied
+ * <code>int[]</code> arrays, so building a schedule allocates nothing when
+ * the arrays are reused.
+ */
+public class ScheduleGenerator {
+
+    /**
+     * The length of a regular period.
+     */
+    public enum Frequency {
+        MONTHLY(1),
+        QUARTERLY(3),
+        SEMI_ANNUAL(6),
+        ANNUAL(12);
+
+        public final int months;
+
+        Frequency(int months) {
+            this.months = months;
+        }
+    }
+
+    /**
+     * Which end of the schedule the regular dates are rolled from.
+     */
+    public enum Direction {
+        /** Roll forward from the start; any stub is at the end. */
+        FORWARD,
+        /** Roll backward from the end; any stub is at the start. */
+        BACKWARD
+    }
+
+    /**
+     * How a date that is not a business day is moved to one.
+     */
+    public enum BusinessDayConvention {
+        /** The date is not moved. */
+        UNADJUSTED,
+        /** The first business day on or after the date. */
+        FOLLOWING,
+        /**
+         * The first business day on or after the date, unless that is in the
+         * next month, in which case the last business day before it.
+         */
+        MODIFIED_FOLLOWING,
+        /** The last business day on or before the date. */
+        PRECEDING,
+        /**
+         * The last business day on or before the date, unless that is in the
+         * previous month, in which case the first business day after it.
+         */
+        MODIFIED_PRECEDING;
+
+        /**
+         * Moves a date to a business day.
+         *
+         * @param serial  the serial number of the date.
+         * @param calendar  the business days.
+         * @return The serial number of the adjusted date.
+         */
+        public int adjust(int serial, BusinessDayCalendar calendar) {
+            switch (this) {
+                case FOLLOWING:
+                    return calendar.nextOrSame(serial);
+                case MODIFIED_FOLLOWING: {
+                    final int following = calendar.nextOrSame(serial);
+                    return following == serial || sameMonth(following, serial)
+                            ? following : calendar.previousOrSame(serial);
+                }
+                case PRECEDING:
+                    return calendar.previousOrSame(serial);
+                case MODIFIED_PRECEDING: {
+                    final int preceding = calendar.previousOrSame(serial);
+                    return preceding == serial || sameMonth(preceding, serial)
+                            ? preceding : calendar.nextOrSame(serial);
+                }
+                default:
+                    return serial;
+            }
+        }
+
+        private static boolean sameMonth(int serial1, int serial2) {
+            return SpreadsheetDate.packedMonth(SpreadsheetDate.decodeSerial(serial1))
+                    == SpreadsheetDate.packedMonth(SpreadsheetDate.decodeSerial(serial2));
+        }
+    }
+
+    private final Frequency frequency;
+
+    private final Direction direction;
+
+    private final boolean endOfMonth;
+
+    private final BusinessDayConvention convention;
+
+    private final BusinessDayCalendar calendar;
+
+    /**
+     * Creates a generator whose dates are not adjusted for business days.
+     *
+     * @param frequency  the length of a regular period.
+     * @param direction  the end the regular dates are rolled from.
+     * @param endOfMonth  if <code>true</code>, an anchor on the last day of a
+     *                    month rolls to the last day of every month.
+     */
+    public ScheduleGenerator(Frequency frequency, Direction direction, boolean endOfMonth) {
+        this(frequency, direction, endOfMonth, BusinessDayConvention.UNADJUSTED, null);
+    }
+
+    /**
+     * Creates a generator.
+     *
+     * @param frequency  the length of a regular period.
+     * @param direction  the end the regular dates are rolled from.
+     * @param endOfMonth  if <code>true</code>, an anchor on the last day of a
+     *                    month rolls to the last day of every month.
+     * @param convention  how dates are moved to business days.
+     * @param calendar  the business days (<code>null</code> permitted only
+     *                  for {@link BusinessDayConvention#UNADJUSTED}).
+     */
+    public ScheduleGenerator(Frequency frequency, Direction direction, boolean endOfMonth,
+                             BusinessDayConvention convention, BusinessDayCalendar calendar) {
+        if (calendar == null && convention != BusinessDayConvention.UNADJUSTED) {
+            throw new IllegalArgumentException("Null 'calendar' argument.");
+        }
+        this.frequency = frequency;
+        this.direction = direction;
+        this.endOfMonth = endOfMonth;
+        this.convention = convention;
+        this.calendar = calendar;
+    }
+
+    /**
+     * Returns the adjusted dates of the schedule from <code>effective</code>
+     * to <code>termination</code>, both included.
+     *
+     * @param effective  the start of the schedule.
+     * @param termination  the end of the schedule.
+     * @return The serial numbers of the adjusted dates.
+     */
+    public int[] generate(DayDate effective, DayDate termination) {
+        return generate(effective.toSerial(), termination.toSerial());
+    }
+
+    public int[] generate(int effective, int termination) {
+        return generate(effective, anchor(effective, termination), termination);
+    }
+
+    /**
+     * Returns the adjusted dates of a schedule with an explicit stub.  For
+     * {@link Direction#FORWARD} the anchor is the first regular date, so the
+     * first period is a stub; for {@link Direction#BACKWARD} it is the last
+     * regular date, so the last period is a stub.
+     *
+     * @param effective  the start of the schedule.
+     * @param anchor  the first or last regular date.
+     * @param termination  the end of the schedule.
+     * @return The serial numbers of the adjusted dates.
+     */
+    public int[] generate(int effective, int anchor, int termination) {
+        final int[] dates = new int[maxDates(effective, termination)];
+        final int count = generate(effective, anchor, termination, dates, dates);
+        final int[] result = new int[count];
+        System.arraycopy(dates, 0, result, 0, count);
+        return result;
+    }
+
+    /**
+     * Writes the unadjusted and adjusted dates of a schedule into the given
+     * arrays, which may be the same array if only the adjusted dates are
+     * wanted.  Both must hold at least
+     * {@link #maxDates(int, int)} values.
+     *
+     * @param effective  the start of the schedule.
+     * @param anchor  the first (forward) or last (backward) regular date.
+     * @param termination  the end of the schedule.
+     * @param unadjusted  receives the unadjusted dates.
+     * @param adjusted  receives the adjusted dates.
+     * @return The number of dates written.
+     */
+    public int generate(int effective, int anchor, int termination,
+                        int[] unadjusted, int[] adjusted) {
+        SpreadsheetDate.checkSerial(effective);
+        SpreadsheetDate.checkSerial(termination);
+        if (effective >= termination) {
+            throw new IllegalArgumentException(
+                    "The effective date must be before the termination date.");
+        }
+        if (anchor < effective || anchor > termination) {
+            throw new IllegalArgumentException(
+                    "The anchor must be between the effective and termination dates.");
+        }
+        final int count = this.direction == Direction.FORWARD
+                ? rollForward(effective, anchor, termination, unadjusted)
+                : rollBackward(effective, anchor, termination, unadjusted);
+        for (int i = 0; i < count; i++) {
+            adjusted[i] = this.convention.adjust(unadjusted[i], this.calendar);
+        }
+        return count;
+    }
+
+    /**
+     * Returns an upper bound on the number of dates in a schedule from
+     * <code>effective</code> to <code>termination</code>, for sizing the
+     * arrays passed to {@link #generate(int, int, int, int[], int[])}.
+     *
+     * @param effective  the start of the schedule.
+     * @param termination  the end of the schedule.
+     * @return The maximum number of dates.
+     */
+    public int maxDates(int effective, int termination) {
+        final int months = Math.abs(monthIndex(termination) - monthIndex(effective));
+        return months / this.frequency.months + 3;
+    }
+
+    private int anchor(int effective, int termination) {
+        return this.direction == Direction.FORWARD ? effective : termination;
+    }
+
+    private int rollForward(int effective, int anchor, int termination, int[] dates) {
+        int count = 0;
+        dates[count++] = effective;
+        if (anchor != effective && anchor != termination) {
+            dates[count++] = anchor;
+        }
+        final int anchorPacked = SpreadsheetDate.decodeSerial(anchor);
+        final int step = this.frequency.months;
+        for (int months = step; ; months += step) {
+            final int serial = roll(anchorPacked, months);
+            if (serial >= termination) {
+                break;
+            }
+            dates[count++] = serial;
+        }
+        dates[count++] = termination;
+        return count;
+    }
+
+    private int rollBackward(int effective, int anchor, int termination, int[] dates) {
+        int count = 0;
+        dates[count++] = termination;
+        if (anchor != effective && anchor != termination) {
+            dates[count++] = anchor;
+        }
+        final int anchorPacked = SpreadsheetDate.decodeSerial(anchor);
+        final int step = this.frequency.months;
+        for (int months = step; ; months += step) {
+            final int serial = roll(anchorPacked, -months);
+            if (serial <= effective) {
+                break;
+            }
+            dates[count++] = serial;
+        }
+        dates[count++] = effective;
+        for (int i = 0, j = count - 1; i < j; i++, j--) {
+            final int t = dates[i];
+            dates[i] = dates[j];
+            dates[j] = t;
+        }
+        return count;
+    }
+
+    /**
+     * Returns the serial number of the anchor date moved by a number of
+     * months, clamping the day to the end of the target month.
+     */
+    private int roll(int anchorPacked, int months) {
+        final int yyyy = SpreadsheetDate.packedYear(anchorPacked);
+        final int mm = SpreadsheetDate.packedMonth(anchorPacked);
+        final int dd = SpreadsheetDate.packedDay(anchorPacked);
+        final int total = 12 * yyyy + mm - 1 + months;
+        final int y = total / 12;
+        final int m = total % 12 + 1;
+        final int last = DayDate.lastDayOfMonth(m, y);
+        final boolean rollToEnd = this.endOfMonth && dd == DayDate.lastDayOfMonth(mm, yyyy);
+        return SpreadsheetDate.encodeSerial(rollToEnd ? last : Math.min(dd, last), m, y);
+    }
+
+    private static int monthIndex(int serial) {
+        final int packed = SpreadsheetDate.decodeSerial(serial);
+        return 12 * SpreadsheetDate.packedYear(packed) + SpreadsheetDate.packedMonth(packed);
+    }
+}
@@ -0,0 +1,100 @@
+package org.jfree.date;
+
+/**
+ * Table-driven conversion between serial numbers and day/month/year, as an
+ * alternative to the arithmetic in {@link SpreadsheetDate#decodeSerial(int)}
+ * and {@link SpreadsheetDate#encodeSerial(int, int, int)}.
+ * <p>
+ * The tables hold the serial number of 1 January for every year from 1900 to
+ * 10000, the month for each day of a normal and a leap year, and the offset
+ * of the first day of each month.  Decoding is a year estimate corrected by
+ * one table comparison, followed by two small array reads.  The whole set of
+ * tables costs {@link #footprintInBytes()} bytes of heap.
+ */
+public final class SerialLookupTable {
+
+    private static final int FIRST_YEAR = 1900;
+
+    private static final int LAST_YEAR = 9999;
+
+    /** The serial number of 1 January, for years 1900 to 10000. */
+    private static final int[] YEAR_START = new int[LAST_YEAR - FIRST_YEAR + 2];
+
+    /** The days before each month (1 to 12), for a normal then a leap year. */
+    private static final char[] MONTH_START = new char[2 * 13];
+
+    /** The month for each day of the year (0 based), for a normal then a leap year. */
+    private static final byte[] MONTH_OF_DAY = new byte[2 * 366];
+
+    static {
+        for (int y = FIRST_YEAR; y <= LAST_YEAR + 1; y++) {
+            YEAR_START[y - FIRST_YEAR] = SpreadsheetDate.encodeSerial(1, 1, y);
+        }
+        for (int leap = 0; leap <= 1; leap++) {
+            int dayOfYear = 0;
+            for (Month m : Month.values()) {
+                MONTH_START[leap * 13 + m.index] = (char) dayOfYear;
+                final int length = DayDate.lastDayOfMonth(m, leap == 1 ? 2000 : 1999);
+                for (int d = 0; d < length; d++) {
+                    MONTH_OF_DAY[leap * 366 + dayOfYear++] = (byte) m.index;
+                }
+            }
+        }
+    }
+
+    private SerialLookupTable() {
+    }
+
+    /**
+     * Calculate the day, month and year from the serial number, without
+     * validating it.  The result is packed in the same way as
+     * {@link SpreadsheetDate#decodeSerial(int)}.
+     *
+     * @param serial  the serial number (2 to 2958465).
+     *
+     * @return the day, month and year, packed into a single int.
+     */
+    public static int decodeSerial(final int serial) {
+        int i = (int) ((serial - SpreadsheetDate.SERIAL_LOWER_BOUND) * 400L / 146097);
+        if (YEAR_START[i] > serial) {
+            i--;
+        }
+        else if (YEAR_START[i + 1] <= serial) {
+            i++;
+        }
+        final int leap = YEAR_START[i + 1] - YEAR_START[i] - 365;
+        final int dayOfYear = serial - YEAR_START[i];
+        final int m = MONTH_OF_DAY[leap * 366 + dayOfYear];
+        final int d = dayOfYear - MONTH_START[leap * 13 + m] + 1;
+        return ((FIRST_YEAR + i) << 9) | (m << 5) | d;
+    }
+
+    /**
+     * Calculate the serial number from the day, month and year, without
+     * validating them.
+     *
+     * @param d  the day (1 to 31).
+     * @param m  the month (1 to 12).
+     * @param y  the year (1900 to 9999).
+     *
+     * @return the serial number from the day, month and year.
+     */
+    public static int encodeSerial(final int d, final int m, final int y) {
+        final int i = y - FIRST_YEAR;
+        final int leap = YEAR_START[i + 1] - YEAR_START[i] - 365;
+        return YEAR_START[i] + MONTH_START[leap * 13 + m] + d - 1;
+    }
+
+    /**
+     * Returns the heap used by the tables, including a 16 byte header for
+     * each array.
+     *
+     * @return The size of the tables in bytes.
+     */
+    public static long footprintInBytes() {
+        return 3 * 16
+                + 4L * YEAR_START.length
+                + 2L * MONTH_START.length
+                + MONTH_OF_DAY.length;
+    }
+}
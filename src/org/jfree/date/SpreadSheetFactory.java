@@ -20,16 +20,16 @@ public class SpreadSheetFactory extends DayDateFactory {
 
     @Override
     protected DayDate _makeDate(int day, int month, int year) {
-        return new SpreadsheetDate(day, month, year);
+        return _makeDate(day, Month.make(month), year);
     }
 
     @Override
     protected DayDate _makeDate(Date date) {
         final GregorianCalendar calendar = new GregorianCalendar();
         calendar.setTime(date);
-        return new SpreadsheetDate(
+        return _makeDate(
                 calendar.get(Calendar.DATE),
-                DayDate.Month.make(calendar.get(Calendar.MONTH) + 1),
+                Month.make(calendar.get(Calendar.MONTH) + 1),
                 calendar.get(Calendar.YEAR));
     }
 
@@ -86,28 +86,25 @@ public class SpreadsheetDate extends DayDate {
      */
     private int serial;
 
-    /** The day of the month (1 to 28, 29, 30 or 31 depending on the month). */
-    private int day;
-
-    /** The month of the year (1 to 12). */
-    private int month;
-
-    /** The year (1900 to 9999). */
-    private int year;
-
-    /** An optional description for the date. */
-    private String description;
+    /**
+     * The day, month and year packed as <code>(year << 9) | (month << 5) |
+     * day</code>, decoded from the serial number on first access (0 means
+     * not yet decoded).
+     */
+    private transient int ymd;
 
     public static final int SERIAL_LOWER_BOUND = 2; // 1/1/1900
 
     public static final int SERIAL_UPPER_BOUND = 2958465; // 12/31/9999
 
-    private static final int[] AGGREGATE_DAYS_TO_END_OF_PRECEDING_MONTH =
-            {0, 0, 31, 59, 90, 120, 151, 181, 212, 243, 273, 304, 334, 365};
+    /**
+     * The offset from a serial number to a day count whose origin is
+     * 1-Mar-0000 in the proleptic Gregorian calendar.
+     */
+    private static final int MARCH_0000_OFFSET = 693899;
 
-    private static final int[]
-            LEAP_YEAR_AGGREGATE_DAYS_TO_END_OF_PRECEDING_MONTH =
-            {0, 0, 31, 60, 91, 121, 152, 182, 213, 244, 274, 305, 335, 366};
+    /** The number of days in a 400 year Gregorian cycle. */
+    private static final int DAYS_PER_ERA = 146097;
 
     /**
      * Creates a new date instance.
@@ -118,36 +115,9 @@ public class SpreadsheetDate extends DayDate {
      */
     public SpreadsheetDate(final int day, final Month month, final int year) {
 
-        if ((year >= 1900) && (year <= 9999)) {
-            this.year = year;
-        }
-        else {
-            throw new IllegalArgumentException(
-                "The 'year' argument must be in range 1900 to 9999."
-            );
-        }
-
-        if ((month.index >= Month.JANUARY.index)
-                && (month.index <= Month.DECEMBER.index)) {
-            this.month = month.index;
-        }
-        else {
-            throw new IllegalArgumentException(
-                "The 'month' argument must be in the range 1 to 12."
-            );
-        }
-
-        if ((day >= 1) && (day <= lastDayOfMonth(month, year))) {
-            this.day = day;
-        }
-        else {
-            throw new IllegalArgumentException("Invalid 'day' argument.");
-        }
-
         // the serial number needs to be synchronised with the day-month-year...
-        this.serial = calcSerial(day, month, year);
-
-        this.description = null;
+        this.serial = serialOf(day, month, year);
+        this.ymd = pack(day, month.index, year);
 
     }
 
@@ -159,16 +129,10 @@ public class SpreadsheetDate extends DayDate {
      */
     public SpreadsheetDate(final int serial) {
 
-        if ((serial >= SERIAL_LOWER_BOUND) && (serial <= SERIAL_UPPER_BOUND)) {
-            this.serial = serial;
-        }
-        else {
-            throw new IllegalArgumentException(
-                "org.jfree.date.SpreadsheetDate: Serial must be in range 2 to 2958465.");
-        }
+        checkSerial(serial);
+        this.serial = serial;
 
-        // the day-month-year needs to be synchronised with the serial number...
-        calcDayMonthYear();
+        // the day-month-year is decoded from the serial number on demand...
 
     }
 
@@ -177,24 +141,48 @@ public class SpreadsheetDate extends DayDate {
     }
 
     /**
-     * Returns the description that is attached to the date.  It is not 
-     * required that a date have a description, but for some applications it 
-     * is useful.
+     * Validates a day, month and year and returns the matching serial number.
+     *
+     * @param day  the day (in the range 1 to 28/29/30/31).
+     * @param month  the month (in the range 1 to 12).
+     * @param year  the year (in the range 1900 to 9999).
      *
-     * @return The description that is attached to the date.
+     * @return The serial number for the date.
      */
-    public String getDescription() {
-        return this.description;
+    static int serialOf(final int day, final Month month, final int year) {
+
+        if ((year < 1900) || (year > 9999)) {
+            throw new IllegalArgumentException(
+                "The 'year' argument must be in range 1900 to 9999."
+            );
+        }
+
+        if ((month.index < Month.JANUARY.index)
+                || (month.index > Month.DECEMBER.index)) {
+            throw new IllegalArgumentException(
+                "The 'month' argument must be in the range 1 to 12."
+            );
+        }
+
+        if ((day < 1) || (day > lastDayOfMonth(month, year))) {
+            throw new IllegalArgumentException("Invalid 'day' argument.");
+        }
+
+        return encodeSerial(day, month.index, year);
+
     }
 
     /**
-     * Sets the description for the date.
+     * Throws an exception if the serial number is outside the supported
+     * range.
      *
-     * @param description  the description for this date (<code>null</code> 
-     *                     permitted).
+     * @param serial  the serial number for the day (range: 2 to 2958465).
      */
-    public void setDescription(final String description) {
-        this.description = description;
+    static void checkSerial(final int serial) {
+        if ((serial < SERIAL_LOWER_BOUND) || (serial > SERIAL_UPPER_BOUND)) {
+            throw new IllegalArgumentException(
+                "org.jfree.date.SpreadsheetDate: Serial must be in range 2 to 2958465.");
+        }
     }
 
     /**
@@ -208,6 +196,18 @@ public class SpreadsheetDate extends DayDate {
         return this.serial;
     }
 
+    /**
+     * Replaces a deserialized date with the canonical instance for its
+     * serial number, when the installed factory interns dates.  It is
+     * protected so that subclasses such as
+     * {@link LookupTableSpreadsheetDate} inherit it.
+     *
+     * @return The date to use in place of this one.
+     */
+    protected Object readResolve() {
+        return DayDateFactory.intern(this);
+    }
+
     /**
      * Returns a <code>java.util.Date</code> equivalent to this date.
      *
@@ -225,7 +225,7 @@ public class SpreadsheetDate extends DayDate {
      * @return The year.
      */
     public int getYYYY() {
-        return this.year;
+        return packedYear(ymd());
     }
 
     /**
@@ -234,7 +234,7 @@ public class SpreadsheetDate extends DayDate {
      * @return The month of the year.
      */
     public int getMonth() {
-        return this.month;
+        return packedMonth(ymd());
     }
 
     /**
@@ -243,7 +243,40 @@ public class SpreadsheetDate extends DayDate {
      * @return The day of the month.
      */
     public int getDayOfMonth() {
-        return this.day;
+        return packedDay(ymd());
+    }
+
+    /**
+     * Returns the packed day, month and year, decoding them from the serial
+     * number the first time they are needed.  The cache is written without
+     * synchronisation: every thread computes the same value, so a race only
+     * costs a repeated decode.
+     *
+     * @return The packed day, month and year.
+     */
+    private int ymd() {
+        int packed = this.ymd;
+        if (packed == 0) {
+            packed = decode(this.serial);
+            this.ymd = packed;
+        }
+        return packed;
+    }
+
+    /**
+     * Decodes a serial number into a packed day, month and year.  Subclasses
+     * can override this to use a different decoding engine.
+     *
+     * @param serial  the serial number (2 to 2958465).
+     *
+     * @return the day, month and year, packed as by {@link #decodeSerial(int)}.
+     */
+    protected int decode(final int serial) {
+        return decodeSerial(serial);
+    }
+
+    private static int pack(final int d, final int m, final int y) {
+        return (y << 9) | (m << 5) | d;
     }
 
     /**
@@ -257,7 +290,7 @@ public class SpreadsheetDate extends DayDate {
      * @return A code representing the day of the week.
      */
     public int getDayOfWeek() {
-        return (this.serial + 6) % 7 + 1;
+        return dayOfWeek(this.serial);
     }
 
     /**
@@ -432,76 +465,123 @@ public class SpreadsheetDate extends DayDate {
     }
 
     /**
-     * Calculate the serial number from the day, month and year.
+     * Calculate the serial number from the day, month and year, without
+     * validating them.
      * <P>
-     * 1-Jan-1900 = 2.
+     * 1-Jan-1900 = 2.  The calculation counts years from March, so that the
+     * leap day falls at the end of the year and the month lengths from March
+     * to January follow a repeating 153 day pattern.
      *
-     * @param d  the day.
-     * @param m  the month.
-     * @param y  the year.
+     * @param d  the day (1 to 31).
+     * @param m  the month (1 to 12).
+     * @param y  the year (1900 to 9999).
      *
      * @return the serial number from the day, month and year.
      */
-    private int calcSerial(final int d, final Month m, final int y) {
-        final int yy = ((y - 1900) * 365) + leapYearCount(y - 1);
-        int mm = AGGREGATE_DAYS_TO_END_OF_PRECEDING_MONTH[m.index];
-        if (m.index > Month.FEBRUARY.index) {
-            if (isLeapYear(y)) {
-                mm = mm + 1;
-            }
-        }
-        final int dd = d;
-        return yy + mm + dd + 1;
+    public static int encodeSerial(final int d, final int m, final int y) {
+        final int beforeMarch = (m <= 2) ? 1 : 0;
+        final int yy = y - beforeMarch;
+        final int era = yy / 400;
+        final int yearOfEra = yy - era * 400;
+        final int monthFromMarch = m - 3 + 12 * beforeMarch;
+        final int dayOfYear = (153 * monthFromMarch + 2) / 5 + d - 1;
+        final int dayOfEra = yearOfEra * 365 + yearOfEra / 4
+                - yearOfEra / 100 + dayOfYear;
+        return era * DAYS_PER_ERA + dayOfEra - MARCH_0000_OFFSET;
     }
 
     /**
-     * Calculate the day, month and year from the serial number.
+     * Calculate the day, month and year from the serial number, without
+     * validating it.
+     * <P>
+     * The result is packed as <code>(year << 9) | (month << 5) | day</code>;
+     * use {@link #packedYear(int)}, {@link #packedMonth(int)} and
+     * {@link #packedDay(int)} to unpack it.
+     *
+     * @param serial  the serial number (2 to 2958465).
+     *
+     * @return the day, month and year, packed into a single int.
      */
-    private void calcDayMonthYear() {
+    public static int decodeSerial(final int serial) {
+        final int days = serial + MARCH_0000_OFFSET;
+        final int era = days / DAYS_PER_ERA;
+        final int dayOfEra = days - era * DAYS_PER_ERA;
+        final int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524
+                - dayOfEra / 146096) / 365;
+        final int dayOfYear = dayOfEra
+                - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        final int monthFromMarch = (5 * dayOfYear + 2) / 153;
+        final int d = dayOfYear - (153 * monthFromMarch + 2) / 5 + 1;
+        final int m = monthFromMarch < 10 ? monthFromMarch + 3 : monthFromMarch - 9;
+        final int y = yearOfEra + era * 400 + (m <= 2 ? 1 : 0);
+        return pack(d, m, y);
+    }
 
-        // get the year from the serial date
-        final int days = this.serial - SERIAL_LOWER_BOUND;
-        // overestimated because we ignored leap days
-        final int overestimatedYYYY = 1900 + (days / 365);
-        final int leaps = leapYearCount(overestimatedYYYY);
-        final int nonleapdays = days - leaps;
-        // underestimated because we overestimated years
-        int underestimatedYYYY = 1900 + (nonleapdays / 365);
+    /**
+     * Returns a code representing the day of the week for a serial number,
+     * as {@link #getDayOfWeek()} does.
+     *
+     * @param serial  the serial number.
+     *
+     * @return A code representing the day of the week.
+     */
+    public static int dayOfWeek(final int serial) {
+        return (serial + 6) % 7 + 1;
+    }
 
-        if (underestimatedYYYY == overestimatedYYYY) {
-            this.year = underestimatedYYYY;
-        }
-        else {
-            int ss1 = calcSerial(1, Month.make(1), underestimatedYYYY);
-            while (ss1 <= this.serial) {
-                underestimatedYYYY = underestimatedYYYY + 1;
-                ss1 = calcSerial(1, Month.make(1), underestimatedYYYY);
-            }
-            this.year = underestimatedYYYY - 1;
+    /**
+     * Returns the serial number of a given week's occurrence of a day of the
+     * week in a month, for example the fourth Thursday in November.
+     *
+     * @param week  which occurrence (LAST for the last one in the month).
+     * @param day  the day of the week.
+     * @param month  the month (1 to 12).
+     * @param year  the year.
+     *
+     * @return The serial number.
+     */
+    public static int weekdayInMonth(final WeekInMonth week, final Day day,
+                                     final int month, final int year) {
+        if (week == WeekInMonth.LAST) {
+            final int last = encodeSerial(lastDayOfMonth(month, year), month, year);
+            return last - (dayOfWeek(last) - day.index + 7) % 7;
         }
+        final int first = encodeSerial(1, month, year);
+        return first + (day.index - dayOfWeek(first) + 7) % 7 + 7 * (week.index - 1);
+    }
 
-        final int ss2 = calcSerial(1, Month.make(1), this.year);
-
-        int[] daysToEndOfPrecedingMonth 
-            = AGGREGATE_DAYS_TO_END_OF_PRECEDING_MONTH;
-
-        if (isLeapYear(this.year)) {
-            daysToEndOfPrecedingMonth 
-                = LEAP_YEAR_AGGREGATE_DAYS_TO_END_OF_PRECEDING_MONTH;
-        }
+    /**
+     * Returns the year from a value packed by {@link #decodeSerial(int)}.
+     *
+     * @param packed  the packed day, month and year.
+     *
+     * @return The year.
+     */
+    public static int packedYear(final int packed) {
+        return packed >>> 9;
+    }
 
-        // get the month from the serial date
-        int mm = 1;
-        int sss = ss2 + daysToEndOfPrecedingMonth[mm] - 1;
-        while (sss < this.serial) {
-            mm = mm + 1;
-            sss = ss2 + daysToEndOfPrecedingMonth[mm] - 1;
-        }
-        this.month = mm - 1;
+    /**
+     * Returns the month from a value packed by {@link #decodeSerial(int)}.
+     *
+     * @param packed  the packed day, month and year.
+     *
+     * @return The month (1 to 12).
+     */
+    public static int packedMonth(final int packed) {
+        return (packed >>> 5) & 0xF;
+    }
 
-        // what's left is d(+1);
-        this.day = this.serial - ss2 
-                   - daysToEndOfPrecedingMonth[this.month] + 1;
+    /**
+     * Returns the day of the month from a value packed by
+     * {@link #decodeSerial(int)}.
+     *
+     * @param packed  the packed day, month and year.
+     *
+     * @return The day of the month.
+     */
+    public static int packedDay(final int packed) {
+        return packed & 0x1F;
     }
 
     public static int leapYearCount(int yyyy) {
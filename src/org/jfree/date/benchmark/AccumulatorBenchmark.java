@@ -0,0 +1,98 @@
+package org.jfree.date.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jfree.date.DayDate;
+import org.jfree.date.DayDateAccumulator;
+import org.jfree.date.Month;
+import org.jfree.date.SpreadsheetDate;
+
+/**
+ * Measures the throughput of counting events per date from 1, 2, 4, ... up
+ * to N threads, with a {@link DayDateAccumulator} and with a
+ * <code>ConcurrentHashMap&lt;DayDate, LongAdder&gt;</code>.
+ * <p>
+ * Run with
+ * <code>java org.jfree.date.benchmark.AccumulatorBenchmark [maxThreads]</code>
+ * (the default is the number of available processors); each line reports
+ * the best throughput over several rounds, in millions of events per second.
+ */
+public class AccumulatorBenchmark {
+
+    private static final int ROUNDS = 5;
+
+    private static final int EVENTS_PER_THREAD = 2000000;
+
+    private static final int SPAN = 3653;
+
+    public static void main(String[] args) throws InterruptedException {
+        final int maxThreads = args.length > 0 ? Integer.parseInt(args[0])
+                : Runtime.getRuntime().availableProcessors();
+        final int first = new SpreadsheetDate(1, Month.JANUARY, 2010).toSerial();
+        final Random random = new Random(42);
+        final int[] serials = new int[EVENTS_PER_THREAD];
+        final DayDate[] dates = new DayDate[SPAN];
+        for (int i = 0; i < EVENTS_PER_THREAD; i++) {
+            serials[i] = first + random.nextInt(SPAN);
+        }
+        for (int i = 0; i < SPAN; i++) {
+            dates[i] = new SpreadsheetDate(first + i);
+        }
+
+        System.out.printf("%d events per thread over %d days, %d processors%n",
+                EVENTS_PER_THREAD, SPAN, Runtime.getRuntime().availableProcessors());
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            long map = Long.MAX_VALUE;
+            long striped = Long.MAX_VALUE;
+            for (int round = 0; round < ROUNDS; round++) {
+                final ConcurrentHashMap<DayDate, LongAdder> counts
+                        = new ConcurrentHashMap<DayDate, LongAdder>();
+                long start = System.nanoTime();
+                run(threads, new Runnable() {
+                    public void run() {
+                        for (int serial : serials) {
+                            LongAdder adder = counts.get(dates[serial - first]);
+                            if (adder == null) {
+                                final LongAdder created = new LongAdder();
+                                adder = counts.putIfAbsent(dates[serial - first], created);
+                                if (adder == null) {
+                                    adder = created;
+                                }
+                            }
+                            adder.increment();
+                        }
+                    }
+                });
+                map = Math.min(map, System.nanoTime() - start);
+
+                final DayDateAccumulator acc = new DayDateAccumulator(first, first + SPAN - 1,
+                        threads);
+                start = System.nanoTime();
+                run(threads, new Runnable() {
+                    public void run() {
+                        for (int serial : serials) {
+                            acc.increment(serial);
+                        }
+                    }
+                });
+                striped = Math.min(striped, System.nanoTime() - start);
+            }
+            final double events = (double) threads * EVENTS_PER_THREAD * 1000.0;
+            System.out.printf("  %2d threads: ConcurrentHashMap %6.1f M/s, DayDateAccumulator %6.1f M/s%n",
+                    threads, events / map, events / striped);
+        }
+    }
+
+    private static void run(int count, Runnable task) throws InterruptedException {
+        final Thread[] threads = new Thread[count];
+        for (int t = 0; t < count; t++) {
+            threads[t] = new Thread(task);
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+    }
+}
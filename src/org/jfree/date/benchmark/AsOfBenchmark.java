@@ -0,0 +1,67 @@
+package org.jfree.date.benchmark;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.jfree.date.AsOfIndex;
+
+/**
+ * Compares floor lookups in an {@link AsOfIndex} with a binary search of the
+ * sorted serials, for random probes one at a time and for a sorted batch.
+ * <p>
+ * Run with <code>java org.jfree.date.benchmark.AsOfBenchmark [size]</code>;
+ * each line reports the best time per lookup over several rounds.
+ */
+public class AsOfBenchmark {
+
+    private static final int ROUNDS = 7;
+
+    private static final int PROBES = 4000000;
+
+    public static void main(String[] args) {
+        final int size = args.length > 0 ? Integer.parseInt(args[0]) : 4000000;
+        final Random random = new Random(42);
+        final int[] serials = new int[size];
+        for (int i = 0; i < size; i++) {
+            serials[i] = 2 + random.nextInt(2900000);
+        }
+        final int[] sorted = serials.clone();
+        Arrays.sort(sorted);
+        final AsOfIndex index = new AsOfIndex(serials);
+        final int[] probes = new int[PROBES];
+        for (int i = 0; i < PROBES; i++) {
+            probes[i] = 2 + random.nextInt(2900000);
+        }
+        final int[] sortedProbes = probes.clone();
+        Arrays.sort(sortedProbes);
+        final int[] result = new int[PROBES];
+
+        long binary = Long.MAX_VALUE;
+        long eytzinger = Long.MAX_VALUE;
+        long batched = Long.MAX_VALUE;
+        long sink = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (int probe : probes) {
+                final int i = Arrays.binarySearch(sorted, probe);
+                sink += i >= 0 ? i : -i - 2;
+            }
+            binary = Math.min(binary, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            for (int probe : probes) {
+                sink += index.floor(probe);
+            }
+            eytzinger = Math.min(eytzinger, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            index.floor(sortedProbes, result);
+            batched = Math.min(batched, System.nanoTime() - start);
+            sink += result[PROBES / 2];
+        }
+        System.out.printf("%d serials, %d probes (checksum %d)%n", size, PROBES, sink);
+        System.out.printf("  binary search:   %.1f ns/lookup%n", (double) binary / PROBES);
+        System.out.printf("  Eytzinger floor: %.1f ns/lookup%n", (double) eytzinger / PROBES);
+        System.out.printf("  batched floor:   %.1f ns/lookup%n", (double) batched / PROBES);
+    }
+}
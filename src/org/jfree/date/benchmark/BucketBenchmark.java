@@ -0,0 +1,75 @@
+package org.jfree.date.benchmark;
+
+import java.util.Random;
+
+import org.jfree.date.DayDate;
+import org.jfree.date.DayDateBuckets;
+import org.jfree.date.SpreadsheetDate;
+
+/**
+ * Compares grouping a column of serial numbers by month: creating a
+ * {@link DayDate} per row and calling <code>getYYYY()</code> and
+ * <code>getMonth()</code>, against the {@link DayDateBuckets} kernels.
+ * <p>
+ * Run with <code>java org.jfree.date.benchmark.BucketBenchmark [rows]</code>;
+ * each line reports the best time per row over several rounds.
+ */
+public class BucketBenchmark {
+
+    private static final int ROUNDS = 7;
+
+    public static void main(String[] args) {
+        final int rows = args.length > 0 ? Integer.parseInt(args[0]) : 10000000;
+        final Random random = new Random(42);
+        final int[] serials = new int[rows];
+        for (int i = 0; i < rows; i++) {
+            serials[i] = 36526 + random.nextInt(36525);
+        }
+        final int[] result = new int[rows];
+        final DayDateBuckets months = DayDateBuckets.months();
+        final int first = months.bucketOf(36526);
+        final long[] counts = new long[months.bucketOf(36526 + 36524) - first + 1];
+
+        long perRow = Long.MAX_VALUE;
+        long bulk = Long.MAX_VALUE;
+        long parallel = Long.MAX_VALUE;
+        long histogram = Long.MAX_VALUE;
+        long parallelHistogram = Long.MAX_VALUE;
+        long sink = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < rows; i++) {
+                final DayDate date = new SpreadsheetDate(serials[i]);
+                result[i] = 12 * (date.getYYYY() - 1900) + date.getMonth() - 1;
+            }
+            perRow = Math.min(perRow, System.nanoTime() - start);
+            sink += result[rows / 2];
+
+            start = System.nanoTime();
+            months.bucketsOf(serials, result);
+            bulk = Math.min(bulk, System.nanoTime() - start);
+            sink += result[rows / 2];
+
+            start = System.nanoTime();
+            months.parallelBucketsOf(serials, result);
+            parallel = Math.min(parallel, System.nanoTime() - start);
+            sink += result[rows / 2];
+
+            start = System.nanoTime();
+            months.histogram(serials, first, counts);
+            histogram = Math.min(histogram, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            months.parallelHistogram(serials, first, counts);
+            parallelHistogram = Math.min(parallelHistogram, System.nanoTime() - start);
+            sink += counts[0];
+        }
+        System.out.printf("%d rows over a century, %d processors (checksum %d)%n", rows,
+                Runtime.getRuntime().availableProcessors(), sink);
+        System.out.printf("  DayDate per row:    %.2f ns/row%n", (double) perRow / rows);
+        System.out.printf("  bucketsOf:          %.2f ns/row%n", (double) bulk / rows);
+        System.out.printf("  parallelBucketsOf:  %.2f ns/row%n", (double) parallel / rows);
+        System.out.printf("  histogram:          %.2f ns/row%n", (double) histogram / rows);
+        System.out.printf("  parallelHistogram:  %.2f ns/row%n", (double) parallelHistogram / rows);
+    }
+}
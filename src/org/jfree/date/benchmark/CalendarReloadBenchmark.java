@@ -0,0 +1,94 @@
+package org.jfree.date.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jfree.date.BusinessCalendarRegistry;
+import org.jfree.date.BusinessDayCalendar;
+import org.jfree.date.DayDateSet;
+
+/**
+ * Measures read throughput on a {@link BusinessCalendarRegistry} while
+ * another thread keeps publishing new calendars, for 1 to N reader threads.
+ * <p>
+ * Run with <code>java org.jfree.date.benchmark.CalendarReloadBenchmark
+ * [maxThreads]</code>.  If reads scale, operations per second grow in
+ * proportion to the number of readers up to the number of cores.
+ */
+public class CalendarReloadBenchmark {
+
+    private static final long MEASURE_MILLIS = 1000;
+
+    public static void main(String[] args) throws Exception {
+        final int maxThreads = args.length > 0
+                ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        final BusinessCalendarRegistry registry = new BusinessCalendarRegistry();
+        registry.put("NYC", calendar(1));
+        registry.put("LON", calendar(2));
+
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            run(registry, threads);
+        }
+        if (Integer.bitCount(maxThreads) != 1) {
+            run(registry, maxThreads);
+        }
+    }
+
+    private static void run(final BusinessCalendarRegistry registry, int threads)
+            throws InterruptedException {
+        final AtomicBoolean running = new AtomicBoolean(true);
+        final LongAdder operations = new LongAdder();
+        final CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            final int seed = t;
+            new Thread(new Runnable() {
+                public void run() {
+                    final Random random = new Random(seed);
+                    long count = 0;
+                    long sink = 0;
+                    while (running.get()) {
+                        final int serial = 40000 + random.nextInt(10000);
+                        sink += registry.joint(BusinessDayCalendar.JoinRule.JOIN_HOLIDAYS,
+                                "NYC", "LON").addBusinessDays(5, serial);
+                        count++;
+                    }
+                    operations.add(count + (sink == 42 ? 1 : 0));
+                    done.countDown();
+                }
+            }).start();
+        }
+        final Thread reloader = new Thread(new Runnable() {
+            public void run() {
+                int generation = 3;
+                while (running.get()) {
+                    registry.put(generation % 2 == 0 ? "NYC" : "LON", calendar(generation++));
+                    try {
+                        Thread.sleep(10);
+                    }
+                    catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            }
+        });
+        reloader.start();
+
+        Thread.sleep(MEASURE_MILLIS);
+        running.set(false);
+        done.await();
+        reloader.join();
+        System.out.printf("%2d readers: %,12d ops/s (registry version %d)%n",
+                threads, operations.sum() * 1000 / MEASURE_MILLIS, registry.getVersion());
+    }
+
+    private static BusinessDayCalendar calendar(int seed) {
+        final Random random = new Random(seed);
+        final DayDateSet holidays = new DayDateSet();
+        for (int i = 0; i < 400; i++) {
+            holidays.add(40000 + random.nextInt(10000));
+        }
+        return new BusinessDayCalendar(holidays);
+    }
+}
@@ -0,0 +1,69 @@
+package org.jfree.date.benchmark;
+
+import java.util.Random;
+
+import org.jfree.date.SerialLookupTable;
+import org.jfree.date.SpreadsheetDate;
+
+/**
+ * Compares the arithmetic and table-driven serial number decoders, over
+ * serial numbers in order and in random order.
+ * <p>
+ * Run with <code>java org.jfree.date.benchmark.DecodeBenchmark</code>; each
+ * line reports the average time per decode once the JIT has warmed up.
+ */
+public class DecodeBenchmark {
+
+    private static final int ROUNDS = 10;
+
+    public static void main(String[] args) {
+        final int count = SpreadsheetDate.SERIAL_UPPER_BOUND - SpreadsheetDate.SERIAL_LOWER_BOUND + 1;
+        final int[] sequential = new int[count];
+        final int[] shuffled = new int[count];
+        for (int i = 0; i < count; i++) {
+            sequential[i] = SpreadsheetDate.SERIAL_LOWER_BOUND + i;
+            shuffled[i] = sequential[i];
+        }
+        final Random random = new Random(42);
+        for (int i = count - 1; i > 0; i--) {
+            final int j = random.nextInt(i + 1);
+            final int t = shuffled[i];
+            shuffled[i] = shuffled[j];
+            shuffled[j] = t;
+        }
+
+        System.out.println("lookup tables: " + SerialLookupTable.footprintInBytes() + " bytes");
+        report("arithmetic, sequential", sequential, false);
+        report("lookup,     sequential", sequential, true);
+        report("arithmetic, random    ", shuffled, false);
+        report("lookup,     random    ", shuffled, true);
+    }
+
+    private static void report(String label, int[] serials, boolean lookup) {
+        long sink = 0;
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            final long start = System.nanoTime();
+            sink += lookup ? decodeWithTable(serials) : decodeWithArithmetic(serials);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        System.out.printf("%s: %.2f ns/decode (checksum %d)%n",
+                label, (double) best / serials.length, sink);
+    }
+
+    private static long decodeWithArithmetic(int[] serials) {
+        long sum = 0;
+        for (int serial : serials) {
+            sum += SpreadsheetDate.decodeSerial(serial);
+        }
+        return sum;
+    }
+
+    private static long decodeWithTable(int[] serials) {
+        long sum = 0;
+        for (int serial : serials) {
+            sum += SerialLookupTable.decodeSerial(serial);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,62 @@
+package org.jfree.date.benchmark;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.jfree.date.DayDate;
+import org.jfree.date.DayDateToIntMap;
+import org.jfree.date.Month;
+import org.jfree.date.SpreadsheetDate;
+
+/**
+ * Compares counting events per date in a {@link DayDateToIntMap} with a
+ * <code>HashMap&lt;DayDate, Integer&gt;</code>, for dates spread over a
+ * century.
+ * <p>
+ * Run with <code>java org.jfree.date.benchmark.MapBenchmark [events]</code>;
+ * each line reports the best time per event over several rounds.
+ */
+public class MapBenchmark {
+
+    private static final int ROUNDS = 7;
+
+    private static final int SPAN = 36525;
+
+    public static void main(String[] args) {
+        final int events = args.length > 0 ? Integer.parseInt(args[0]) : 4000000;
+        final Random random = new Random(42);
+        final int first = new SpreadsheetDate(1, Month.JANUARY, 1950).toSerial();
+        final int[] serials = new int[events];
+        final DayDate[] dates = new DayDate[events];
+        for (int i = 0; i < events; i++) {
+            serials[i] = first + random.nextInt(SPAN);
+            dates[i] = new SpreadsheetDate(serials[i]);
+        }
+
+        long hash = Long.MAX_VALUE;
+        long primitive = Long.MAX_VALUE;
+        long sink = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            final Map<DayDate, Integer> counts = new HashMap<DayDate, Integer>();
+            for (DayDate date : dates) {
+                final Integer count = counts.get(date);
+                counts.put(date, count == null ? 1 : count + 1);
+            }
+            sink += counts.get(dates[0]);
+            hash = Math.min(hash, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            final DayDateToIntMap map = new DayDateToIntMap();
+            for (int serial : serials) {
+                map.addTo(serial, 1);
+            }
+            sink += map.get(serials[0], 0);
+            primitive = Math.min(primitive, System.nanoTime() - start);
+        }
+        System.out.printf("%d events over %d days (checksum %d)%n", events, SPAN, sink);
+        System.out.printf("  HashMap<DayDate, Integer>: %.1f ns/event%n", (double) hash / events);
+        System.out.printf("  DayDateToIntMap:           %.1f ns/event%n", (double) primitive / events);
+    }
+}
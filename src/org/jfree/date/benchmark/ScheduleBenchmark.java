@@ -0,0 +1,61 @@
+package org.jfree.date.benchmark;
+
+import java.util.Random;
+
+import org.jfree.date.BusinessDayCalendar;
+import org.jfree.date.DayDateSet;
+import org.jfree.date.HolidayRule;
+import org.jfree.date.HolidayRuleSet;
+import org.jfree.date.Month;
+import org.jfree.date.ScheduleGenerator;
+import org.jfree.date.SpreadsheetDate;
+
+/**
+ * Measures the time to rebuild the adjusted quarterly schedules of a
+ * portfolio of instruments with random start dates and terms of 1 to 30
+ * years, reusing one pair of arrays.
+ * <p>
+ * Run with <code>java org.jfree.date.benchmark.ScheduleBenchmark
+ * [instruments]</code>.
+ */
+public class ScheduleBenchmark {
+
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) {
+        final int instruments = args.length > 0 ? Integer.parseInt(args[0]) : 500000;
+        final DayDateSet holidays = new HolidayRuleSet()
+                .add(HolidayRule.fixed(1, Month.JANUARY).observed(HolidayRule.Observance.NEAREST_WEEKDAY))
+                .add(HolidayRule.fixed(25, Month.DECEMBER).observed(HolidayRule.Observance.NEAREST_WEEKDAY))
+                .add(HolidayRule.easter(-2))
+                .add(HolidayRule.easter(1))
+                .compile();
+        final ScheduleGenerator generator = new ScheduleGenerator(
+                ScheduleGenerator.Frequency.QUARTERLY, ScheduleGenerator.Direction.BACKWARD, true,
+                ScheduleGenerator.BusinessDayConvention.MODIFIED_FOLLOWING,
+                new BusinessDayCalendar(holidays));
+
+        final Random random = new Random(1);
+        final int[] effective = new int[instruments];
+        final int[] termination = new int[instruments];
+        final int first = SpreadsheetDate.encodeSerial(1, 1, 2000);
+        for (int i = 0; i < instruments; i++) {
+            effective[i] = first + random.nextInt(365 * 20);
+            termination[i] = effective[i] + 365 * (1 + random.nextInt(30)) + random.nextInt(90);
+        }
+        final int[] unadjusted = new int[31 * 4 + 3];
+        final int[] adjusted = new int[unadjusted.length];
+
+        for (int round = 0; round < ROUNDS; round++) {
+            final long start = System.nanoTime();
+            long dates = 0;
+            for (int i = 0; i < instruments; i++) {
+                dates += generator.generate(effective[i], termination[i], termination[i],
+                        unadjusted, adjusted);
+            }
+            final double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("%d schedules, %d dates in %.3f s (%.0f ns per date)%n",
+                    instruments, dates, seconds, seconds * 1e9 / dates);
+        }
+    }
+}
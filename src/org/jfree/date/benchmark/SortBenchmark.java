@@ -0,0 +1,111 @@
+package org.jfree.date.benchmark;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+import org.jfree.date.DayDate;
+import org.jfree.date.DayDateSort;
+import org.jfree.date.SpreadsheetDate;
+
+/**
+ * Compares {@link DayDateSort} with <code>Arrays.sort</code> and
+ * <code>Arrays.parallelSort</code>, for serial number arrays and for
+ * {@link DayDate} arrays sorted by a comparator on the serial number.
+ * <p>
+ * Run with <code>java org.jfree.date.benchmark.SortBenchmark [size]</code>;
+ * each line reports the best time over several rounds.
+ */
+public class SortBenchmark {
+
+    private static final int ROUNDS = 7;
+
+    private static final Comparator<DayDate> BY_SERIAL = new Comparator<DayDate>() {
+        public int compare(DayDate d1, DayDate d2) {
+            return Integer.compare(d1.toSerial(), d2.toSerial());
+        }
+    };
+
+    /** A sort under test. */
+    private interface Sort<T> {
+        void sort(T data);
+    }
+
+    public static void main(String[] args) {
+        final int size = args.length > 0 ? Integer.parseInt(args[0]) : 2000000;
+        final Random random = new Random(42);
+        final int[] serials = new int[size];
+        final DayDate[] dates = new DayDate[size];
+        for (int i = 0; i < size; i++) {
+            serials[i] = SpreadsheetDate.SERIAL_LOWER_BOUND
+                    + random.nextInt(SpreadsheetDate.SERIAL_UPPER_BOUND - 1);
+            dates[i] = new SpreadsheetDate(serials[i]);
+        }
+
+        System.out.println(size + " serials");
+        reportSerials("Arrays.sort            ", serials, new Sort<int[]>() {
+            public void sort(int[] data) {
+                Arrays.sort(data);
+            }
+        });
+        reportSerials("Arrays.parallelSort    ", serials, new Sort<int[]>() {
+            public void sort(int[] data) {
+                Arrays.parallelSort(data);
+            }
+        });
+        reportSerials("DayDateSort.sort       ", serials, new Sort<int[]>() {
+            public void sort(int[] data) {
+                DayDateSort.sort(data);
+            }
+        });
+        reportSerials("DayDateSort.parallel   ", serials, new Sort<int[]>() {
+            public void sort(int[] data) {
+                DayDateSort.parallelSort(data);
+            }
+        });
+
+        System.out.println(size + " dates");
+        reportDates("Arrays.sort            ", dates, new Sort<DayDate[]>() {
+            public void sort(DayDate[] data) {
+                Arrays.sort(data, BY_SERIAL);
+            }
+        });
+        reportDates("Arrays.parallelSort    ", dates, new Sort<DayDate[]>() {
+            public void sort(DayDate[] data) {
+                Arrays.parallelSort(data, BY_SERIAL);
+            }
+        });
+        reportDates("DayDateSort.sort       ", dates, new Sort<DayDate[]>() {
+            public void sort(DayDate[] data) {
+                DayDateSort.sort(data);
+            }
+        });
+        reportDates("DayDateSort.parallel   ", dates, new Sort<DayDate[]>() {
+            public void sort(DayDate[] data) {
+                DayDateSort.parallelSort(data);
+            }
+        });
+    }
+
+    private static void reportSerials(String label, int[] input, Sort<int[]> sort) {
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            final int[] data = input.clone();
+            final long start = System.nanoTime();
+            sort.sort(data);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        System.out.printf("  %s: %7.1f ms%n", label, best / 1e6);
+    }
+
+    private static void reportDates(String label, DayDate[] input, Sort<DayDate[]> sort) {
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            final DayDate[] data = input.clone();
+            final long start = System.nanoTime();
+            sort.sort(data);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        System.out.printf("  %s: %7.1f ms%n", label, best / 1e6);
+    }
+}
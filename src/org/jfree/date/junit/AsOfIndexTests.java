@@ -0,0 +1,133 @@
+package org.jfree.date.junit;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import junit.framework.Assert;
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+import org.jfree.date.*;
+
+/**
+ * Tests for the {@link AsOfIndex} class.
+ */
+public class AsOfIndexTests extends TestCase {
+
+    /**
+     * Returns a test suite for the JUnit test runner.
+     *
+     * @return the test suite.
+     */
+    public static Test suite() {
+        return new TestSuite(AsOfIndexTests.class);
+    }
+
+    /**
+     * Creates a new test case.
+     *
+     * @param name  the name.
+     */
+    public AsOfIndexTests(final String name) {
+        super(name);
+    }
+
+    private static int expectedFloor(int[] sorted, int serial) {
+        int result = -1;
+        for (int i = 0; i < sorted.length && sorted[i] <= serial; i++) {
+            result = i;
+        }
+        return result;
+    }
+
+    private static int expectedRank(int[] sorted, int serial) {
+        int rank = 0;
+        while (rank < sorted.length && sorted[rank] < serial) {
+            rank++;
+        }
+        return rank;
+    }
+
+    /**
+     * Single and batched lookups agree with a linear scan, for index sizes
+     * that do and do not fill the last level of the implicit tree, with
+     * duplicate serials.
+     */
+    public void testAgainstLinearScan() {
+        final Random random = new Random(9);
+        for (int n : new int[] {0, 1, 2, 3, 7, 8, 100, 1023}) {
+            final int[] serials = new int[n];
+            for (int i = 0; i < n; i++) {
+                serials[i] = 40000 + 3 * random.nextInt(n + 1);
+            }
+            final AsOfIndex index = new AsOfIndex(serials);
+            final int[] sorted = serials.clone();
+            Arrays.sort(sorted);
+            Assert.assertEquals(n, index.size());
+
+            final int[] probes = new int[3 * n + 20];
+            for (int i = 0; i < probes.length; i++) {
+                probes[i] = 39995 + i;
+            }
+            final int[] floors = new int[probes.length];
+            final int[] ceilings = new int[probes.length];
+            final int[] nearests = new int[probes.length];
+            index.floor(probes, floors);
+            index.ceiling(probes, ceilings);
+            index.nearest(probes, nearests);
+            for (int i = 0; i < probes.length; i++) {
+                final int probe = probes[i];
+                final int floor = expectedFloor(sorted, probe);
+                final int rank = expectedRank(sorted, probe);
+                final int ceiling = rank < n ? rank : -1;
+                Assert.assertEquals(floor, index.floor(probe));
+                Assert.assertEquals(floor, floors[i]);
+                Assert.assertEquals(ceiling, index.ceiling(probe));
+                Assert.assertEquals(ceiling, ceilings[i]);
+                Assert.assertEquals(rank, index.rank(probe));
+
+                int nearest = floor;
+                if (ceiling >= 0 && (floor < 0
+                        || sorted[ceiling] - probe < probe - sorted[floor])) {
+                    nearest = ceiling;
+                }
+                if (nearest >= 0) {
+                    Assert.assertEquals(sorted[nearest], index.getSerial(index.nearest(probe)));
+                    Assert.assertEquals(sorted[nearest], index.getSerial(nearests[i]));
+                }
+                else {
+                    Assert.assertEquals(-1, index.nearest(probe));
+                }
+            }
+        }
+    }
+
+    /**
+     * Lookups by date, with an equally close date on each side.
+     */
+    public void testDates() {
+        final DayDate jan1 = new SpreadsheetDate(1, Month.JANUARY, 2016);
+        final DayDate jan5 = new SpreadsheetDate(5, Month.JANUARY, 2016);
+        final DayDate jan3 = new SpreadsheetDate(3, Month.JANUARY, 2016);
+        final AsOfIndex index = AsOfIndex.of(jan5, jan1);
+        Assert.assertEquals(0, index.floor(jan3));
+        Assert.assertEquals(1, index.ceiling(jan3));
+        Assert.assertEquals(0, index.nearest(jan3));
+        Assert.assertEquals(1, index.rank(jan5));
+        Assert.assertEquals(-1, index.floor(DayDate.addDays(-1, jan1)));
+    }
+
+    /**
+     * Batched lookups need ascending probes.
+     */
+    public void testUnsortedProbes() {
+        try {
+            new AsOfIndex(new int[] {10, 20}).floor(new int[] {15, 12}, new int[2]);
+            fail("Expected an IllegalArgumentException.");
+        }
+        catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+}
@@ -0,0 +1,145 @@
+package org.jfree.date.junit;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import junit.framework.Assert;
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+import org.jfree.date.*;
+
+/**
+ * Tests for the {@link AsOfJoin} class.
+ */
+public class AsOfJoinTests extends TestCase {
+
+    /**
+     * Returns a test suite for the JUnit test runner.
+     *
+     * @return the test suite.
+     */
+    public static Test suite() {
+        return new TestSuite(AsOfJoinTests.class);
+    }
+
+    /**
+     * Creates a new test case.
+     *
+     * @param name  the name.
+     */
+    public AsOfJoinTests(final String name) {
+        super(name);
+    }
+
+    /**
+     * Finds the expected match for one left value by scanning every right
+     * value.
+     */
+    private static int expected(int x, int[] right, DayDate.WeekdayRange direction,
+                                int tolerance, boolean exact) {
+        int before = -1;
+        int after = -1;
+        for (int j = 0; j < right.length; j++) {
+            final int r = right[j];
+            if (r < x || (exact && r == x)) {
+                before = j;
+            }
+            if (after < 0 && (r > x || (exact && r == x))) {
+                after = j;
+            }
+        }
+        if (before >= 0 && x - right[before] > tolerance) {
+            before = -1;
+        }
+        if (after >= 0 && right[after] - x > tolerance) {
+            after = -1;
+        }
+        if (direction == DayDate.WeekdayRange.LAST) {
+            return before;
+        }
+        if (direction == DayDate.WeekdayRange.NEXT) {
+            return after;
+        }
+        if (before >= 0 && after >= 0) {
+            return x - right[before] <= right[after] - x ? before : after;
+        }
+        return before >= 0 ? before : after;
+    }
+
+    private static int[] sortedRandom(Random random, int n) {
+        final int[] serials = new int[n];
+        for (int i = 0; i < n; i++) {
+            serials[i] = 40000 + random.nextInt(3 * n + 1);
+        }
+        Arrays.sort(serials);
+        return serials;
+    }
+
+    /**
+     * Every mode, tolerance and exact-match setting agrees with a scan, for
+     * both the array and the streaming joins.
+     */
+    public void testAgainstScan() {
+        final Random random = new Random(13);
+        for (int trial = 0; trial < 20; trial++) {
+            final int[] left = sortedRandom(random, 1 + random.nextInt(200));
+            final int[] right = sortedRandom(random, random.nextInt(100));
+            for (DayDate.WeekdayRange direction : DayDate.WeekdayRange.values()) {
+                for (int tolerance : new int[] {0, 2, AsOfJoin.UNLIMITED}) {
+                    for (boolean exact : new boolean[] {true, false}) {
+                        final AsOfJoin join = new AsOfJoin(direction, tolerance, exact);
+                        final int[] result = new int[left.length];
+                        join.join(left, right, result);
+                        final int[] streamed = new int[left.length];
+                        Arrays.fill(streamed, -2);
+                        join.join(Arrays.stream(left).iterator(), Arrays.stream(right).iterator(),
+                                new AsOfJoin.MatchHandler() {
+                                    public void match(int leftIndex, int rightIndex) {
+                                        streamed[leftIndex] = rightIndex;
+                                    }
+                                });
+                        for (int i = 0; i < left.length; i++) {
+                            final int e = expected(left[i], right, direction, tolerance, exact);
+                            final String label = direction + " " + tolerance + " " + exact + " " + i;
+                            Assert.assertEquals(label, e, result[i]);
+                            Assert.assertEquals(label, e, streamed[i]);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * The pair form lists only matched rows.
+     */
+    public void testPairs() {
+        final int[] left = {10, 20, 30};
+        final int[] right = {15, 29};
+        final int[] leftIndices = new int[3];
+        final int[] rightIndices = new int[3];
+        final int count = new AsOfJoin(DayDate.WeekdayRange.LAST, 5, true).join(
+                left, right, leftIndices, rightIndices);
+        Assert.assertEquals(2, count);
+        Assert.assertEquals(1, leftIndices[0]);
+        Assert.assertEquals(0, rightIndices[0]);
+        Assert.assertEquals(2, leftIndices[1]);
+        Assert.assertEquals(1, rightIndices[1]);
+    }
+
+    /**
+     * Unsorted input is rejected.
+     */
+    public void testUnsorted() {
+        try {
+            new AsOfJoin(DayDate.WeekdayRange.NEXT).join(new int[] {2, 1}, new int[] {1},
+                    new int[2]);
+            fail("Expected an IllegalArgumentException.");
+        }
+        catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+}
@@ -0,0 +1,163 @@
+package org.jfree.date.junit;
+
+import java.util.EnumSet;
+import java.util.Random;
+
+import junit.framework.Assert;
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+import org.jfree.date.*;
+
+/**
+ * Tests for the {@link BusinessDayCalendar} class, checked against a
+ * day-by-day walk.
+ */
+public class BusinessDayCalendarTests extends TestCase {
+
+    /**
+     * Returns a test suite for the JUnit test runner.
+     *
+     * @return the test suite.
+     */
+    public static Test suite() {
+        return new TestSuite(BusinessDayCalendarTests.class);
+    }
+
+    /**
+     * Creates a new test case.
+     *
+     * @param name  the name.
+     */
+    public BusinessDayCalendarTests(final String name) {
+        super(name);
+    }
+
+    /**
+     * Christmas 2015 was a Friday, so the next business day after Thursday
+     * 24 December is Monday 28 December.
+     */
+    public void testChristmas2015() {
+        final BusinessDayCalendar calendar = new BusinessDayCalendar(
+                DayDateSet.of(new SpreadsheetDate(25, Month.DECEMBER, 2015)));
+        final DayDate eve = new SpreadsheetDate(24, Month.DECEMBER, 2015);
+        Assert.assertEquals(new SpreadsheetDate(28, Month.DECEMBER, 2015),
+                calendar.addBusinessDays(1, eve));
+        Assert.assertEquals(eve, calendar.addBusinessDays(-1,
+                new SpreadsheetDate(28, Month.DECEMBER, 2015)));
+        Assert.assertEquals(1, calendar.businessDaysBetween(eve,
+                new SpreadsheetDate(28, Month.DECEMBER, 2015)));
+        Assert.assertFalse(calendar.isBusinessDay(new SpreadsheetDate(25, Month.DECEMBER, 2015)));
+    }
+
+    /**
+     * Counting and stepping agree with walking one day at a time, for a
+     * Friday/Saturday weekend and random holidays.
+     */
+    public void testAgreesWithDayByDayWalk() {
+        final Random random = new Random(7);
+        final DayDateSet holidays = new DayDateSet();
+        for (int i = 0; i < 300; i++) {
+            holidays.add(40000 + random.nextInt(3000));
+        }
+        final BusinessDayCalendar calendar = new BusinessDayCalendar(
+                EnumSet.of(Day.FRIDAY, Day.SATURDAY), holidays);
+
+        for (int trial = 0; trial < 500; trial++) {
+            final int from = 40000 + random.nextInt(3000);
+            final int to = 40000 + random.nextInt(3000);
+            int expected = 0;
+            for (int s = Math.min(from, to); s < Math.max(from, to); s++) {
+                if (isBusinessDay(s, holidays)) {
+                    expected++;
+                }
+            }
+            if (to < from) {
+                expected = -expected;
+            }
+            Assert.assertEquals(expected, calendar.businessDaysBetween(from, to));
+
+            final int days = random.nextInt(61) - 30;
+            int walked = from;
+            for (int step = 0; step < Math.abs(days); step++) {
+                do {
+                    walked += days > 0 ? 1 : -1;
+                } while (!isBusinessDay(walked, holidays));
+            }
+            Assert.assertEquals(walked, calendar.addBusinessDays(days, from));
+        }
+    }
+
+    /**
+     * Joining on holidays keeps every non-business day; joining on business
+     * days keeps only the days that are non-business everywhere.
+     */
+    public void testJoin() {
+        // 4 July 2016 was a Monday, 29 August 2016 a Monday
+        final DayDate july4 = new SpreadsheetDate(4, Month.JULY, 2016);
+        final DayDate august29 = new SpreadsheetDate(29, Month.AUGUST, 2016);
+        final DayDate december26 = new SpreadsheetDate(26, Month.DECEMBER, 2016);
+        final BusinessDayCalendar nyc = new BusinessDayCalendar(DayDateSet.of(july4, december26));
+        final BusinessDayCalendar lon = new BusinessDayCalendar(DayDateSet.of(august29, december26));
+
+        final BusinessDayCalendar both = BusinessDayCalendar.join(
+                BusinessDayCalendar.JoinRule.JOIN_HOLIDAYS, nyc, lon);
+        Assert.assertFalse(both.isBusinessDay(july4));
+        Assert.assertFalse(both.isBusinessDay(august29));
+        Assert.assertEquals(new SpreadsheetDate(5, Month.JULY, 2016),
+                both.addBusinessDays(1, new SpreadsheetDate(1, Month.JULY, 2016)));
+
+        final BusinessDayCalendar either = BusinessDayCalendar.join(
+                BusinessDayCalendar.JoinRule.JOIN_BUSINESS_DAYS, nyc, lon);
+        Assert.assertTrue(either.isBusinessDay(july4));
+        Assert.assertTrue(either.isBusinessDay(august29));
+        Assert.assertFalse(either.isBusinessDay(december26));
+        Assert.assertFalse(either.isBusinessDay(new SpreadsheetDate(25, Month.DECEMBER, 2016)));
+    }
+
+    /**
+     * The registry caches joint calendars until one of their members is
+     * replaced.
+     */
+    public void testRegistryCachesJointCalendars() {
+        final BusinessCalendarRegistry registry = new BusinessCalendarRegistry();
+        registry.put("NYC", new BusinessDayCalendar(new DayDateSet()));
+        registry.put("LON", new BusinessDayCalendar(new DayDateSet()));
+        registry.put("TKY", new BusinessDayCalendar(new DayDateSet()));
+
+        final BusinessDayCalendar.JoinRule rule = BusinessDayCalendar.JoinRule.JOIN_HOLIDAYS;
+        final BusinessDayCalendar joint = registry.joint(rule, "NYC", "LON");
+        final BusinessDayCalendar other = registry.joint(rule, "TKY", "LON");
+        Assert.assertSame(joint, registry.joint(rule, "LON", "NYC"));
+
+        final DayDate july4 = new SpreadsheetDate(4, Month.JULY, 2016);
+        registry.put("NYC", new BusinessDayCalendar(DayDateSet.of(july4)));
+        final BusinessDayCalendar rebuilt = registry.joint(rule, "NYC", "LON");
+        Assert.assertNotSame(joint, rebuilt);
+        Assert.assertFalse(rebuilt.isBusinessDay(july4));
+        Assert.assertSame(other, registry.joint(rule, "LON", "TKY"));
+    }
+
+    /**
+     * A snapshot keeps answering with the calendars it was taken with.
+     */
+    public void testSnapshotIsPinned() {
+        final BusinessCalendarRegistry registry = new BusinessCalendarRegistry();
+        Assert.assertEquals(1, registry.put("NYC", new BusinessDayCalendar(new DayDateSet())));
+        final BusinessCalendarRegistry.Snapshot pinned = registry.snapshot();
+
+        final DayDate july4 = new SpreadsheetDate(4, Month.JULY, 2016);
+        Assert.assertEquals(2, registry.put("NYC", new BusinessDayCalendar(DayDateSet.of(july4))));
+        Assert.assertTrue(pinned.get("NYC").isBusinessDay(july4));
+        Assert.assertFalse(registry.get("NYC").isBusinessDay(july4));
+        Assert.assertEquals(1, pinned.getVersion());
+        Assert.assertEquals(2, registry.getVersion());
+    }
+
+    private static boolean isBusinessDay(int serial, DayDateSet holidays) {
+        final int dow = new SpreadsheetDate(serial).getDayOfWeek();
+        return dow != Day.FRIDAY.index && dow != Day.SATURDAY.index
+                && !holidays.contains(serial);
+    }
+
+}
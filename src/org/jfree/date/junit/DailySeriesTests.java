@@ -0,0 +1,249 @@
+package org.jfree.date.junit;
+
+import junit.framework.Assert;
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+import org.jfree.date.*;
+
+/**
+ * Tests for the {@link DailySeries} classes.
+ */
+public class DailySeriesTests extends TestCase {
+
+    private final DayDate jan1 = new SpreadsheetDate(1, Month.JANUARY, 2016);
+
+    private final DayDate jan31 = new SpreadsheetDate(31, Month.JANUARY, 2016);
+
+    private final DayDate dec31 = new SpreadsheetDate(31, Month.DECEMBER, 2016);
+
+    /**
+     * Returns a test suite for the JUnit test runner.
+     *
+     * @return the test suite.
+     */
+    public static Test suite() {
+        return new TestSuite(DailySeriesTests.class);
+    }
+
+    /**
+     * Creates a new test case.
+     *
+     * @param name  the name.
+     */
+    public DailySeriesTests(final String name) {
+        super(name);
+    }
+
+    /**
+     * Every day starts missing; put() and remove() change one day only.
+     */
+    public void testGetAndPut() {
+        final DoubleDailySeries s = new DoubleDailySeries(this.jan1, this.dec31);
+        Assert.assertEquals(366, s.size());
+        Assert.assertEquals(0, s.presentCount());
+        Assert.assertTrue(s.isMissing(this.jan31));
+        Assert.assertTrue(Double.isNaN(s.get(this.jan31)));
+
+        s.put(this.jan31, 2.5);
+        Assert.assertEquals(2.5, s.get(this.jan31), 0.0);
+        Assert.assertEquals(2.5, s.get(this.jan31.toSerial()), 0.0);
+        Assert.assertFalse(s.isMissing(this.jan31));
+        Assert.assertTrue(s.isMissing(this.jan31.toSerial() + 1));
+        Assert.assertEquals(1, s.presentCount());
+
+        s.remove(this.jan31);
+        Assert.assertTrue(s.isMissing(this.jan31));
+        Assert.assertTrue(Double.isNaN(s.get(this.jan31)));
+
+        final LongDailySeries l = new LongDailySeries(this.jan1, this.jan31);
+        l.put(this.jan1, 0L);
+        Assert.assertEquals(0L, l.get(this.jan1.toSerial(), -1L));
+        Assert.assertEquals(-1L, l.get(this.jan31.toSerial(), -1L));
+        Assert.assertEquals(0L, l.get(this.jan31));
+    }
+
+    /**
+     * Days outside the series are rejected.
+     */
+    public void testOutside() {
+        final IntDailySeries s = new IntDailySeries(this.jan1, this.jan31);
+        Assert.assertFalse(s.covers(this.dec31));
+        Assert.assertTrue(s.covers(this.jan31));
+        try {
+            s.put(this.dec31, 1);
+            Assert.fail("Expected IllegalArgumentException.");
+        }
+        catch (IllegalArgumentException e) {
+            // expected
+        }
+        try {
+            new IntDailySeries(this.jan31, this.jan1);
+            Assert.fail("Expected IllegalArgumentException.");
+        }
+        catch (IllegalArgumentException e) {
+            // expected
+        }
+        try {
+            s.slice(this.jan1, this.dec31);
+            Assert.fail("Expected IllegalArgumentException.");
+        }
+        catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    /**
+     * A slice shares its parent's storage, including the missing-value
+     * bitmap, and a slice of a slice lines up with the original.
+     */
+    public void testSliceSharesStorage() {
+        final IntDailySeries s = new IntDailySeries(this.jan1, this.dec31);
+        for (int serial = s.getFirstSerial(); serial <= s.getLastSerial(); serial++) {
+            s.put(serial, serial);
+        }
+        final DayDate feb1 = new SpreadsheetDate(1, Month.FEBRUARY, 2016);
+        final DayDate feb29 = new SpreadsheetDate(29, Month.FEBRUARY, 2016);
+        final IntDailySeries feb = s.slice(feb1, feb29);
+        Assert.assertEquals(29, feb.size());
+        Assert.assertEquals(feb1.toSerial(), feb.get(feb1));
+        Assert.assertFalse(feb.covers(this.jan31));
+
+        feb.put(feb29, -1);
+        Assert.assertEquals(-1, s.get(feb29));
+        s.remove(feb1);
+        Assert.assertTrue(feb.isMissing(feb1));
+
+        final IntDailySeries inner = feb.slice(feb1.toSerial() + 10, feb1.toSerial() + 19);
+        Assert.assertEquals(10, inner.size());
+        Assert.assertEquals(feb1.toSerial() + 10, inner.get(feb1.toSerial() + 10));
+        inner.put(feb1.toSerial() + 19, 7);
+        Assert.assertEquals(7, s.get(feb1.toSerial() + 19));
+        Assert.assertEquals(10, inner.presentCount());
+    }
+
+    /**
+     * The interval decides which boundary dates are in a slice.
+     */
+    public void testSliceIntervals() {
+        final LongDailySeries s = new LongDailySeries(this.jan1, this.dec31);
+        Assert.assertEquals(31, s.slice(this.jan1, this.jan31).size());
+        Assert.assertEquals(30, s.slice(this.jan31, this.jan1,
+                DayDate.DateInterval.CLOSED_LEFT).size());
+        Assert.assertEquals(29, s.slice(this.jan1, this.jan31,
+                DayDate.DateInterval.OPEN).size());
+        Assert.assertEquals(0, s.slice(this.jan1, this.jan1,
+                DayDate.DateInterval.OPEN).size());
+        Assert.assertEquals(this.jan1.toSerial() + 1, s.slice(this.jan1, this.jan31,
+                DayDate.DateInterval.CLOSED_RIGHT).getFirstSerial());
+    }
+
+    /**
+     * Series arithmetic works over the overlap, and a day missing from
+     * either side is missing in the result.
+     */
+    public void testArithmetic() {
+        final int first = this.jan1.toSerial();
+        final DoubleDailySeries a = new DoubleDailySeries(first, first + 9);
+        final DoubleDailySeries b = new DoubleDailySeries(first + 5, first + 20);
+        for (int i = 0; i < 10; i++) {
+            a.put(first + i, i);
+        }
+        for (int i = 5; i <= 20; i++) {
+            b.put(first + i, 10.0);
+        }
+        b.remove(first + 7);
+        a.add(b);
+        Assert.assertEquals(4.0, a.get(first + 4), 0.0);
+        Assert.assertEquals(15.0, a.get(first + 5), 0.0);
+        Assert.assertTrue(a.isMissing(first + 7));
+        Assert.assertTrue(Double.isNaN(a.get(first + 7)));
+        Assert.assertEquals(19.0, a.get(first + 9), 0.0);
+
+        a.multiply(2.0);
+        Assert.assertEquals(30.0, a.get(first + 5), 0.0);
+        a.add(-1.0);
+        Assert.assertEquals(29.0, a.get(first + 5), 0.0);
+        Assert.assertTrue(Double.isNaN(a.get(first + 7)));
+
+        final LongDailySeries x = new LongDailySeries(first, first + 3);
+        final LongDailySeries y = new LongDailySeries(first + 2, first + 5);
+        x.put(first, 1L);
+        x.put(first + 2, 5L);
+        x.put(first + 3, 7L);
+        y.put(first + 2, 2L);
+        x.subtract(y);
+        Assert.assertEquals(3L, x.get(first + 2));
+        Assert.assertTrue(x.isMissing(first + 3));
+        Assert.assertEquals(0L, x.get(first + 3));
+        x.add(10L);
+        Assert.assertEquals(13L, x.get(first + 2));
+        Assert.assertEquals(0L, x.get(first + 3));
+        Assert.assertEquals(24L, x.sum());
+
+        try {
+            x.add(new LongDailySeries(first + 10, first + 11));
+            Assert.fail("Expected IllegalArgumentException.");
+        }
+        catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    /**
+     * Constant arithmetic changes only the days that have values, for every
+     * element type.
+     */
+    public void testConstantsSkipMissingDays() {
+        final int first = this.jan1.toSerial();
+        final IntDailySeries ints = new IntDailySeries(first, first + 1);
+        ints.put(first, 3);
+        ints.add(1);
+        ints.multiply(2);
+        Assert.assertEquals(8, ints.get(first));
+        Assert.assertEquals(0, ints.get(first + 1));
+        Assert.assertTrue(ints.isMissing(first + 1));
+
+        final LongDailySeries longs = new LongDailySeries(first, first + 1);
+        longs.put(first, 3L);
+        longs.multiply(2L);
+        longs.add(1L);
+        Assert.assertEquals(7L, longs.get(first));
+        Assert.assertEquals(0L, longs.get(first + 1));
+
+        final DoubleDailySeries doubles = new DoubleDailySeries(first, first + 1);
+        doubles.put(first, 3.0);
+        doubles.multiply(0.0);
+        doubles.add(1.0);
+        Assert.assertEquals(1.0, doubles.get(first), 0.0);
+        Assert.assertTrue(Double.isNaN(doubles.get(first + 1)));
+    }
+
+    /**
+     * The aggregates skip missing days and respect slices.
+     */
+    public void testAggregates() {
+        final int first = this.jan1.toSerial();
+        final DoubleDailySeries s = new DoubleDailySeries(first, first + 99);
+        Assert.assertTrue(Double.isNaN(s.mean()));
+        for (int i = 0; i < 100; i += 2) {
+            s.put(first + i, i);
+        }
+        Assert.assertEquals(50, s.presentCount());
+        Assert.assertEquals(2450.0, s.sum(), 0.0);
+        Assert.assertEquals(49.0, s.mean(), 0.0);
+
+        final DoubleDailySeries tail = s.slice(first + 90, first + 99);
+        Assert.assertEquals(5, tail.presentCount());
+        Assert.assertEquals(90.0 + 92.0 + 94.0 + 96.0 + 98.0, tail.sum(), 0.0);
+        final double[] values = tail.toArray();
+        Assert.assertEquals(10, values.length);
+        Assert.assertEquals(90.0, values[0], 0.0);
+        Assert.assertTrue(Double.isNaN(values[1]));
+
+        final IntDailySeries ints = new IntDailySeries(first, first + 2);
+        ints.put(first, Integer.MAX_VALUE);
+        ints.put(first + 1, Integer.MAX_VALUE);
+        Assert.assertEquals(2L * Integer.MAX_VALUE, ints.sum());
+    }
+}
@@ -0,0 +1,121 @@
+package org.jfree.date.junit;
+
+import java.util.Random;
+
+import junit.framework.Assert;
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+import org.jfree.date.*;
+
+/**
+ * Tests for the {@link DayCountConvention} class.
+ */
+public class DayCountConventionTests extends TestCase {
+
+    private static final double EPSILON = 1e-12;
+
+    /**
+     * Returns a test suite for the JUnit test runner.
+     *
+     * @return the test suite.
+     */
+    public static Test suite() {
+        return new TestSuite(DayCountConventionTests.class);
+    }
+
+    /**
+     * Creates a new test case.
+     *
+     * @param name  the name.
+     */
+    public DayCountConventionTests(final String name) {
+        super(name);
+    }
+
+    private static int serial(int day, Month month, int year) {
+        return new SpreadsheetDate(day, month, year).toSerial();
+    }
+
+    /**
+     * The actual/fixed conventions divide the actual number of days.
+     */
+    public void testActualFixed() {
+        final DayDate start = new SpreadsheetDate(15, Month.JANUARY, 2016);
+        final DayDate end = new SpreadsheetDate(15, Month.JULY, 2016);
+        Assert.assertEquals(182 / 360.0, DayCountConvention.ACT_360.yearFraction(start, end), EPSILON);
+        Assert.assertEquals(182 / 365.0,
+                DayCountConvention.ACT_365_FIXED.yearFraction(start, end), EPSILON);
+        Assert.assertEquals(-182 / 360.0, DayCountConvention.ACT_360.yearFraction(end, start), EPSILON);
+    }
+
+    /**
+     * The 30/360 variants differ in how they treat the 31st.
+     */
+    public void testThirty360() {
+        final int jan31 = serial(31, Month.JANUARY, 2016);
+        final int mar1 = serial(1, Month.MARCH, 2016);
+        final int mar30 = serial(30, Month.MARCH, 2016);
+        final int mar31 = serial(31, Month.MARCH, 2016);
+        Assert.assertEquals(31, DayCountConvention.THIRTY_360.dayCount(jan31, mar1));
+        Assert.assertEquals(30, DayCountConvention.THIRTY_360.dayCount(mar1, mar31));
+        Assert.assertEquals(29, DayCountConvention.THIRTY_E_360.dayCount(mar1, mar31));
+        Assert.assertEquals(60, DayCountConvention.THIRTY_360.dayCount(jan31, mar31));
+        Assert.assertEquals(0, DayCountConvention.THIRTY_360.dayCount(mar30, mar31));
+        Assert.assertEquals(178 / 360.0, DayCountConvention.THIRTY_E_360.yearFraction(
+                serial(31, Month.AUGUST, 2015), serial(28, Month.FEBRUARY, 2016)), EPSILON);
+    }
+
+    /**
+     * Actual/actual (ISDA) splits a period at each year end.
+     */
+    public void testActActIsda() {
+        final int start = serial(1, Month.NOVEMBER, 2015);
+        final int end = serial(1, Month.MAY, 2016);
+        Assert.assertEquals(61 / 365.0 + 121 / 366.0,
+                DayCountConvention.ACT_ACT_ISDA.yearFraction(start, end), EPSILON);
+        Assert.assertEquals(2.0, DayCountConvention.ACT_ACT_ISDA.yearFraction(
+                serial(1, Month.JANUARY, 2015), serial(1, Month.JANUARY, 2017)), EPSILON);
+        Assert.assertEquals(-(61 / 365.0 + 121 / 366.0),
+                DayCountConvention.ACT_ACT_ISDA.yearFraction(end, start), EPSILON);
+    }
+
+    /**
+     * The column and parallel methods agree with the single-pair method for
+     * every convention.
+     */
+    public void testBulkMatchesSingle() {
+        final Random random = new Random(7);
+        final int n = 100000;
+        final int[] starts = new int[n];
+        final int[] ends = new int[n];
+        for (int i = 0; i < n; i++) {
+            starts[i] = 2 + random.nextInt(2900000);
+            ends[i] = starts[i] + random.nextInt(20000);
+        }
+        for (DayCountConvention convention : DayCountConvention.values()) {
+            final double[] bulk = convention.yearFractions(starts, ends);
+            final double[] parallel = new double[n];
+            convention.parallelYearFractions(starts, ends, parallel);
+            for (int i = 0; i < n; i++) {
+                final double expected = convention.yearFraction(starts[i], ends[i]);
+                Assert.assertEquals(expected, bulk[i], 0.0);
+                Assert.assertEquals(expected, parallel[i], 0.0);
+            }
+        }
+    }
+
+    /**
+     * Mismatched columns are rejected.
+     */
+    public void testMismatchedLengths() {
+        try {
+            DayCountConvention.ACT_360.yearFractions(new int[3], new int[2]);
+            fail("Expected an IllegalArgumentException.");
+        }
+        catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+}
@@ -0,0 +1,102 @@
+package org.jfree.date.junit;
+
+import junit.framework.Assert;
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+import org.jfree.date.*;
+
+/**
+ * Tests for the {@link DayDateAccumulator} class.
+ */
+public class DayDateAccumulatorTests extends TestCase {
+
+    private final DayDate jan1 = new SpreadsheetDate(1, Month.JANUARY, 2016);
+
+    private final DayDate dec31 = new SpreadsheetDate(31, Month.DECEMBER, 2016);
+
+    /**
+     * Returns a test suite for the JUnit test runner.
+     *
+     * @return the test suite.
+     */
+    public static Test suite() {
+        return new TestSuite(DayDateAccumulatorTests.class);
+    }
+
+    /**
+     * Creates a new test case.
+     *
+     * @param name  the name.
+     */
+    public DayDateAccumulatorTests(final String name) {
+        super(name);
+    }
+
+    public void testAddAndSum() {
+        final DayDateAccumulator acc = new DayDateAccumulator(this.jan1, this.dec31);
+        Assert.assertEquals(0L, acc.sum(this.jan1));
+        acc.increment(this.jan1);
+        acc.add(this.jan1.toSerial(), 41L);
+        acc.add(this.dec31, -5L);
+        Assert.assertEquals(42L, acc.sum(this.jan1));
+        Assert.assertEquals(-5L, acc.sum(this.dec31.toSerial()));
+        try {
+            acc.increment(this.dec31.toSerial() + 1);
+            Assert.fail("Expected IllegalArgumentException.");
+        }
+        catch (IllegalArgumentException e) {
+            // expected
+        }
+        acc.reset();
+        Assert.assertEquals(0L, acc.sum(this.jan1));
+    }
+
+    /**
+     * Additions from many threads, several of them sharing a stripe, are
+     * all counted.
+     */
+    public void testConcurrentAdds() throws InterruptedException {
+        final int first = this.jan1.toSerial();
+        final DayDateAccumulator acc = new DayDateAccumulator(first, first + 99, 4);
+        final Thread[] threads = new Thread[12];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(new Runnable() {
+                public void run() {
+                    for (int i = 0; i < 100000; i++) {
+                        acc.increment(first + i % 100);
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        final LongDailySeries totals = acc.snapshot();
+        Assert.assertEquals(100, totals.presentCount());
+        for (int serial = first; serial < first + 100; serial++) {
+            Assert.assertEquals(12000L, totals.get(serial));
+        }
+        Assert.assertEquals(1200000L, totals.sum());
+    }
+
+    /**
+     * Merging adds the other accumulator's totals over the common days.
+     */
+    public void testMerge() {
+        final int first = this.jan1.toSerial();
+        final DayDateAccumulator a = new DayDateAccumulator(first, first + 9, 2);
+        final DayDateAccumulator b = new DayDateAccumulator(first + 5, first + 20, 2);
+        a.add(first + 5, 1L);
+        b.add(first + 5, 2L);
+        b.add(first + 9, 3L);
+        b.add(first + 15, 4L);
+        a.merge(b);
+        Assert.assertEquals(3L, a.sum(first + 5));
+        Assert.assertEquals(3L, a.sum(first + 9));
+        Assert.assertEquals(2L, b.sum(first + 5));
+        a.merge(new DayDateAccumulator(first + 50, first + 60, 1));
+        Assert.assertEquals(6L, a.snapshot().sum());
+    }
+}
@@ -0,0 +1,173 @@
+package org.jfree.date.junit;
+
+import java.util.Random;
+
+import junit.framework.Assert;
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+import org.jfree.date.*;
+
+/**
+ * Tests for the {@link DayDateBuckets} class.
+ */
+public class DayDateBucketsTests extends TestCase {
+
+    /**
+     * Returns a test suite for the JUnit test runner.
+     *
+     * @return the test suite.
+     */
+    public static Test suite() {
+        return new TestSuite(DayDateBucketsTests.class);
+    }
+
+    /**
+     * Creates a new test case.
+     *
+     * @param name  the name.
+     */
+    public DayDateBucketsTests(final String name) {
+        super(name);
+    }
+
+    /**
+     * Every supported serial is put in the month, quarter and year found by
+     * decoding it, so the estimate is never more than one bucket out.
+     */
+    public void testEverySerial() {
+        final DayDateBuckets months = DayDateBuckets.months();
+        final DayDateBuckets quarters = DayDateBuckets.quarters();
+        final DayDateBuckets years = DayDateBuckets.years();
+        for (int serial = SpreadsheetDate.SERIAL_LOWER_BOUND;
+             serial <= SpreadsheetDate.SERIAL_UPPER_BOUND; serial++) {
+            final int packed = SpreadsheetDate.decodeSerial(serial);
+            final int y = SpreadsheetDate.packedYear(packed) - 1900;
+            final int m = SpreadsheetDate.packedMonth(packed);
+            Assert.assertEquals(12 * y + m - 1, months.bucketOf(serial));
+            Assert.assertEquals(4 * y + Month.make(m).quarter() - 1, quarters.bucketOf(serial));
+            Assert.assertEquals(y, years.bucketOf(serial));
+        }
+        Assert.assertEquals(8100 * 12, months.bucketCount());
+        Assert.assertEquals(8100 * 4, quarters.bucketCount());
+        Assert.assertEquals(8100, years.bucketCount());
+    }
+
+    public void testBounds() {
+        final DayDateBuckets quarters = DayDateBuckets.quarters();
+        final DayDate d = new SpreadsheetDate(15, Month.MAY, 2016);
+        final int q = quarters.bucketOf(d);
+        Assert.assertEquals(new SpreadsheetDate(1, Month.APRIL, 2016).toSerial(),
+                quarters.getStart(q));
+        Assert.assertEquals(new SpreadsheetDate(30, Month.JUNE, 2016).toSerial(),
+                quarters.getEnd(q));
+        Assert.assertEquals(SpreadsheetDate.SERIAL_UPPER_BOUND,
+                quarters.getEnd(quarters.bucketCount() - 1));
+        try {
+            quarters.getStart(quarters.bucketCount());
+            Assert.fail("Expected IndexOutOfBoundsException.");
+        }
+        catch (IndexOutOfBoundsException e) {
+            // expected
+        }
+        try {
+            quarters.bucketOf(1);
+            Assert.fail("Expected IllegalArgumentException.");
+        }
+        catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    /**
+     * Each week starts on the chosen day and holds seven days, except where
+     * cut off by the supported range.
+     */
+    public void testWeeks() {
+        // 1-Jan-1900 was a Monday
+        final DayDateBuckets mondays = DayDateBuckets.weeks(Day.MONDAY);
+        Assert.assertEquals(2, mondays.getStart(0));
+        Assert.assertEquals(8, mondays.getEnd(0));
+        final DayDateBuckets wednesdays = DayDateBuckets.weeks(Day.WEDNESDAY);
+        Assert.assertEquals(2, wednesdays.getStart(0));
+        Assert.assertEquals(3, wednesdays.getEnd(0));
+        Assert.assertEquals(1, wednesdays.bucketOf(4));
+
+        final DayDate d = new SpreadsheetDate(18, Month.OCTOBER, 2026);
+        for (Day day : Day.values()) {
+            final DayDateBuckets weeks = DayDateBuckets.weeks(day);
+            final int w = weeks.bucketOf(d);
+            final int start = weeks.getStart(w);
+            Assert.assertEquals(day.index, SpreadsheetDate.dayOfWeek(start));
+            Assert.assertEquals(start + 6, weeks.getEnd(w));
+            Assert.assertTrue(start <= d.toSerial() && d.toSerial() <= start + 6);
+            Assert.assertEquals(w + 1, weeks.bucketOf(start + 7));
+            Assert.assertEquals(SpreadsheetDate.SERIAL_UPPER_BOUND,
+                    weeks.getEnd(weeks.bucketCount() - 1));
+        }
+    }
+
+    /**
+     * The bulk and parallel kernels agree with bucketOf().
+     */
+    public void testColumns() {
+        final Random random = new Random(3);
+        final int[] serials = new int[300000];
+        for (int i = 0; i < serials.length; i++) {
+            serials[i] = 40000 + random.nextInt(5000);
+        }
+        final DayDateBuckets[] groupings = {DayDateBuckets.weeks(Day.SUNDAY),
+                DayDateBuckets.months(), DayDateBuckets.quarters(), DayDateBuckets.years()};
+        for (DayDateBuckets g : groupings) {
+            final int[] sequential = new int[serials.length];
+            final int[] parallel = new int[serials.length];
+            g.bucketsOf(serials, sequential);
+            g.parallelBucketsOf(serials, parallel);
+            final int first = g.bucketOf(40000);
+            final long[] expected = new long[g.bucketOf(44999) - first + 1];
+            for (int i = 0; i < serials.length; i++) {
+                Assert.assertEquals(g.bucketOf(serials[i]), sequential[i]);
+                Assert.assertEquals(sequential[i], parallel[i]);
+                expected[sequential[i] - first]++;
+            }
+            final long[] counts = new long[expected.length];
+            Assert.assertEquals(serials.length, g.histogram(serials, first, counts));
+            Assert.assertTrue(java.util.Arrays.equals(expected, counts));
+            final long[] doubled = counts.clone();
+            Assert.assertEquals(serials.length, g.parallelHistogram(serials, first, doubled));
+            for (int b = 0; b < counts.length; b++) {
+                Assert.assertEquals(2 * expected[b], doubled[b]);
+            }
+            // a window that leaves out the first bucket
+            final long[] window = new long[expected.length - 1];
+            Assert.assertEquals(serials.length - expected[0],
+                    g.histogram(serials, first + 1, window));
+        }
+    }
+
+    public void testInvalidSerial() {
+        try {
+            DayDateBuckets.months().bucketsOf(new int[] {100, 0}, new int[2]);
+            Assert.fail("Expected IllegalArgumentException.");
+        }
+        catch (IllegalArgumentException e) {
+            // expected
+        }
+        final long[] counts = new long[12];
+        try {
+            DayDateBuckets.months().parallelHistogram(new int[] {100, 3000000}, 0, counts);
+            Assert.fail("Expected IllegalArgumentException.");
+        }
+        catch (IllegalArgumentException e) {
+            // expected
+        }
+        Assert.assertEquals(0L, counts[3]);
+        try {
+            DayDateBuckets.weeks(Day.MONDAY).histogram(new int[] {1}, 0, counts);
+            Assert.fail("Expected IllegalArgumentException.");
+        }
+        catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+}
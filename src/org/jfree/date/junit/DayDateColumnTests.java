@@ -0,0 +1,132 @@
+package org.jfree.date.junit;
+
+import junit.framework.Assert;
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+import org.jfree.date.*;
+
+/**
+ * Tests for the {@link DayDateColumn} class.
+ */
+public class DayDateColumnTests extends TestCase {
+
+    /** 31-Jan-2004, 29-Feb-2004 and 15-May-2005. */
+    private DayDateColumn column;
+
+    /**
+     * Returns a test suite for the JUnit test runner.
+     *
+     * @return the test suite.
+     */
+    public static Test suite() {
+        return new TestSuite(DayDateColumnTests.class);
+    }
+
+    /**
+     * Creates a new test case.
+     *
+     * @param name  the name.
+     */
+    public DayDateColumnTests(final String name) {
+        super(name);
+    }
+
+    /**
+     * Setup.
+     */
+    protected void setUp() {
+        this.column = DayDateColumn.of(
+                new SpreadsheetDate(31, Month.JANUARY, 2004),
+                new SpreadsheetDate(29, Month.FEBRUARY, 2004),
+                new SpreadsheetDate(15, Month.MAY, 2005));
+    }
+
+    /**
+     * The bulk accessors agree with the equivalent DayDate methods.
+     */
+    public void testBulkAccessors() {
+        final int[] years = new int[3];
+        final int[] months = new int[3];
+        final int[] days = new int[3];
+        final int[] weekdays = new int[3];
+        this.column.years(years);
+        this.column.months(months);
+        this.column.daysOfMonth(days);
+        this.column.daysOfWeek(weekdays);
+        for (int i = 0; i < 3; i++) {
+            final DayDate d = this.column.get(i);
+            Assert.assertEquals(d.getYYYY(), years[i]);
+            Assert.assertEquals(d.getMonth(), months[i]);
+            Assert.assertEquals(d.getDayOfMonth(), days[i]);
+            Assert.assertEquals(d.getDayOfWeek(), weekdays[i]);
+        }
+    }
+
+    /**
+     * Adding months clamps to the end of the month, like DayDate.addMonths.
+     */
+    public void testAddMonths() {
+        this.column.addMonths(1);
+        Assert.assertEquals(new SpreadsheetDate(29, Month.FEBRUARY, 2004), this.column.get(0));
+        Assert.assertEquals(new SpreadsheetDate(29, Month.MARCH, 2004), this.column.get(1));
+        Assert.assertEquals(new SpreadsheetDate(15, Month.JUNE, 2005), this.column.get(2));
+        this.column.addMonths(-13);
+        Assert.assertEquals(new SpreadsheetDate(29, Month.JANUARY, 2003), this.column.get(0));
+    }
+
+    /**
+     * A failed addDays leaves the column unchanged.
+     */
+    public void testAddDaysOutOfRange() {
+        final int[] before = this.column.toSerialArray();
+        try {
+            this.column.addDays(-100000);
+            fail("Expected an IllegalArgumentException.");
+        }
+        catch (IllegalArgumentException e) {
+            // expected
+        }
+        Assert.assertEquals(before[0], this.column.getSerial(0));
+        this.column.addDays(1);
+        Assert.assertEquals(new SpreadsheetDate(1, Month.FEBRUARY, 2004), this.column.get(0));
+    }
+
+    /**
+     * Views share storage with the column they were taken from.
+     */
+    public void testViewSharesStorage() {
+        final DayDateColumn view = this.column.view(1, 3);
+        Assert.assertEquals(2, view.size());
+        view.addDays(1);
+        Assert.assertEquals(new SpreadsheetDate(31, Month.JANUARY, 2004), this.column.get(0));
+        Assert.assertEquals(new SpreadsheetDate(1, Month.MARCH, 2004), this.column.get(1));
+        try {
+            view.getSerial(2);
+            fail("Expected an IndexOutOfBoundsException.");
+        }
+        catch (IndexOutOfBoundsException e) {
+            // expected
+        }
+    }
+
+    /**
+     * Comparisons mark each date and return the number of matches.
+     */
+    public void testComparisons() {
+        final DayDate feb29 = new SpreadsheetDate(29, Month.FEBRUARY, 2004);
+        final boolean[] flags = new boolean[3];
+        Assert.assertEquals(1, this.column.isBefore(feb29, flags));
+        Assert.assertTrue(flags[0]);
+        Assert.assertFalse(flags[1]);
+        Assert.assertEquals(2, this.column.isOnOrBefore(feb29, flags));
+        Assert.assertEquals(1, this.column.isOn(feb29, flags));
+        Assert.assertEquals(2, this.column.isOnOrAfter(feb29, flags));
+        Assert.assertEquals(1, this.column.isAfter(feb29, flags));
+        final int[] diff = new int[3];
+        this.column.compare(feb29, diff);
+        Assert.assertEquals(-29, diff[0]);
+        Assert.assertEquals(0, diff[1]);
+    }
+
+}
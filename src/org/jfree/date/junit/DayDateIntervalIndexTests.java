@@ -0,0 +1,144 @@
+package org.jfree.date.junit;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import junit.framework.Assert;
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+import org.jfree.date.*;
+
+/**
+ * Tests for the {@link DayDateIntervalIndex} class.
+ */
+public class DayDateIntervalIndexTests extends TestCase {
+
+    /**
+     * Returns a test suite for the JUnit test runner.
+     *
+     * @return the test suite.
+     */
+    public static Test suite() {
+        return new TestSuite(DayDateIntervalIndexTests.class);
+    }
+
+    /**
+     * Creates a new test case.
+     *
+     * @param name  the name.
+     */
+    public DayDateIntervalIndexTests(final String name) {
+        super(name);
+    }
+
+    private static int[] bruteForce(int[] starts, int[] ends, boolean[] live, int from, int to) {
+        int[] result = new int[starts.length];
+        int count = 0;
+        for (int i = 0; i < starts.length; i++) {
+            if (live[i] && starts[i] <= to && ends[i] >= from) {
+                result[count++] = i;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    private static int[] sorted(int[] ids) {
+        final int[] copy = ids.clone();
+        Arrays.sort(copy);
+        return copy;
+    }
+
+    /**
+     * Bulk-built, inserted and removed ranges all answer window queries as
+     * a linear scan would.
+     */
+    public void testAgainstLinearScan() {
+        final Random random = new Random(3);
+        final int n = 4000;
+        final int[] starts = new int[2 * n];
+        final int[] ends = new int[2 * n];
+        final boolean[] live = new boolean[2 * n];
+        for (int i = 0; i < 2 * n; i++) {
+            starts[i] = 40000 + random.nextInt(5000);
+            ends[i] = starts[i] + random.nextInt(random.nextBoolean() ? 10 : 400);
+        }
+        final DayDateIntervalIndex index = new DayDateIntervalIndex(
+                Arrays.copyOf(starts, n), Arrays.copyOf(ends, n));
+        Arrays.fill(live, 0, n, true);
+        for (int i = n; i < 2 * n; i++) {
+            Assert.assertEquals(i, index.insert(starts[i], ends[i]));
+            live[i] = true;
+        }
+        for (int i = 0; i < 2 * n; i += 3) {
+            Assert.assertTrue(index.remove(i));
+            live[i] = false;
+        }
+        Assert.assertFalse(index.remove(0));
+        Assert.assertEquals(2 * n - (2 * n + 2) / 3, index.size());
+        for (int q = 0; q < 500; q++) {
+            final int from = 39900 + random.nextInt(5600);
+            final int to = from + random.nextInt(q % 2 == 0 ? 1 : 60);
+            final int[] expected = bruteForce(starts, ends, live, from, to);
+            Assert.assertTrue(Arrays.equals(expected, sorted(index.overlapping(from, to))));
+            Assert.assertEquals(expected.length, index.countOverlapping(from, to));
+        }
+    }
+
+    /**
+     * Under churn the ids of removed ranges are reused, so ids stay below
+     * the largest number of ranges held at once.
+     */
+    public void testRemovedIdsAreReused() {
+        final Random random = new Random(5);
+        final DayDateIntervalIndex index = new DayDateIntervalIndex();
+        final int[] held = new int[100];
+        for (int i = 0; i < held.length; i++) {
+            held[i] = index.insert(40000 + i, 40000 + i + 10);
+        }
+        for (int round = 0; round < 10000; round++) {
+            final int slot = random.nextInt(held.length);
+            Assert.assertTrue(index.remove(held[slot]));
+            final int start = 40000 + random.nextInt(1000);
+            held[slot] = index.insert(start, start + 5);
+            Assert.assertTrue(held[slot] < held.length);
+            Assert.assertEquals(start, index.getStart(held[slot]));
+        }
+        Assert.assertEquals(held.length, index.size());
+        Assert.assertEquals(held.length, index.countOverlapping(40000, 41010));
+    }
+
+    /**
+     * Ranges given as dates follow the isInRange() rules for end points.
+     */
+    public void testDateIntervals() {
+        final DayDate jan1 = new SpreadsheetDate(1, Month.JANUARY, 2016);
+        final DayDate jan10 = new SpreadsheetDate(10, Month.JANUARY, 2016);
+        final DayDate jan20 = new SpreadsheetDate(20, Month.JANUARY, 2016);
+        final DayDateIntervalIndex index = new DayDateIntervalIndex();
+        final int a = index.insert(jan10, jan1, DayDate.DateInterval.CLOSED_LEFT);
+        final int b = index.insert(jan10, jan20, DayDate.DateInterval.CLOSED);
+        Assert.assertEquals(jan1.toSerial(), index.getStart(a));
+        Assert.assertEquals(jan10.toSerial() - 1, index.getEnd(a));
+        Assert.assertTrue(Arrays.equals(new int[] {b}, index.stab(jan10)));
+        Assert.assertTrue(Arrays.equals(new int[] {a},
+                index.overlapping(jan1, jan10, DayDate.DateInterval.CLOSED_LEFT)));
+        Assert.assertEquals(0, index.overlapping(jan10, DayDate.addDays(1, jan10),
+                DayDate.DateInterval.OPEN).length);
+    }
+
+    /**
+     * A range with no days is rejected.
+     */
+    public void testEmptyRange() {
+        final DayDate jan1 = new SpreadsheetDate(1, Month.JANUARY, 2016);
+        try {
+            new DayDateIntervalIndex().insert(jan1, jan1, DayDate.DateInterval.OPEN);
+            fail("Expected an IllegalArgumentException.");
+        }
+        catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+}
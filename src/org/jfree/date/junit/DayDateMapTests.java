@@ -0,0 +1,183 @@
+package org.jfree.date.junit;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import junit.framework.Assert;
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+import org.jfree.date.*;
+
+/**
+ * Tests for the {@link DayDateMap} classes.
+ */
+public class DayDateMapTests extends TestCase {
+
+    private final DayDate jan1 = new SpreadsheetDate(1, Month.JANUARY, 2016);
+
+    private final DayDate jan2 = new SpreadsheetDate(2, Month.JANUARY, 2016);
+
+    /**
+     * Returns a test suite for the JUnit test runner.
+     *
+     * @return the test suite.
+     */
+    public static Test suite() {
+        return new TestSuite(DayDateMapTests.class);
+    }
+
+    /**
+     * Creates a new test case.
+     *
+     * @param name  the name.
+     */
+    public DayDateMapTests(final String name) {
+        super(name);
+    }
+
+    /**
+     * A date and its serial number are the same key.
+     */
+    public void testIntMap() {
+        final DayDateToIntMap map = new DayDateToIntMap();
+        Assert.assertTrue(map.isEmpty());
+        Assert.assertEquals(-1, map.get(this.jan1, -1));
+        map.put(this.jan1, 5);
+        Assert.assertEquals(5, map.get(this.jan1.toSerial(), -1));
+        Assert.assertTrue(map.containsKey(this.jan1.toSerial()));
+        Assert.assertFalse(map.containsKey(this.jan2));
+        Assert.assertEquals(3, map.addTo(this.jan2, 3));
+        Assert.assertEquals(4, map.addTo(this.jan2.toSerial(), 1));
+        Assert.assertEquals(2, map.size());
+        map.put(this.jan1, 6);
+        Assert.assertEquals(2, map.size());
+        Assert.assertTrue(map.remove(this.jan1));
+        Assert.assertFalse(map.remove(this.jan1));
+        Assert.assertEquals(1, map.size());
+        Assert.assertEquals(0, map.get(this.jan1, 0));
+        Assert.assertEquals(1, map.addTo(this.jan1, 1));
+    }
+
+    public void testDoubleMap() {
+        final DayDateToDoubleMap map = new DayDateToDoubleMap(2);
+        Assert.assertTrue(Double.isNaN(map.get(this.jan1, Double.NaN)));
+        map.put(this.jan1, 1.5);
+        Assert.assertEquals(1.5, map.get(this.jan1, Double.NaN), 0.0);
+        Assert.assertEquals(2.0, map.addTo(this.jan1, 0.5), 0.0);
+        Assert.assertEquals(0.25, map.addTo(this.jan2, 0.25), 0.0);
+        map.clear();
+        Assert.assertEquals(0, map.size());
+        Assert.assertFalse(map.containsKey(this.jan1));
+        Assert.assertEquals(0.5, map.addTo(this.jan1, 0.5), 0.0);
+    }
+
+    public void testObjectMap() {
+        final DayDateToObjectMap<String> map = new DayDateToObjectMap<String>();
+        Assert.assertNull(map.get(this.jan1));
+        Assert.assertNull(map.put(this.jan1, "a"));
+        Assert.assertEquals("a", map.put(this.jan1.toSerial(), "b"));
+        Assert.assertEquals("b", map.get(this.jan1));
+        try {
+            map.put(this.jan2, null);
+            Assert.fail("Expected IllegalArgumentException.");
+        }
+        catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    /**
+     * Keys must be valid serial numbers.
+     */
+    public void testInvalidKey() {
+        final DayDateToIntMap map = new DayDateToIntMap();
+        try {
+            map.put(0, 1);
+            Assert.fail("Expected IllegalArgumentException.");
+        }
+        catch (IllegalArgumentException e) {
+            // expected
+        }
+        Assert.assertFalse(map.containsKey(0));
+        Assert.assertFalse(map.remove(0));
+    }
+
+    /**
+     * Entries are visited in the order added, skipping removed keys, or in
+     * serial order.
+     */
+    public void testIterationOrder() {
+        final DayDateToObjectMap<String> map = new DayDateToObjectMap<String>();
+        final int base = this.jan1.toSerial();
+        map.put(base + 30, "c");
+        map.put(base + 10, "a");
+        map.put(base + 20, "x");
+        map.put(base + 5, "b");
+        map.remove(base + 20);
+        final List<String> seen = new ArrayList<String>();
+        final DayDateToObjectMap.Visitor<String> visitor = new DayDateToObjectMap.Visitor<String>() {
+            public void visit(int serial, String value) {
+                seen.add(value + (serial - base));
+            }
+        };
+        map.forEach(visitor);
+        Assert.assertEquals("[c30, a10, b5]", seen.toString());
+        seen.clear();
+        map.forEachInSerialOrder(visitor);
+        Assert.assertEquals("[b5, a10, c30]", seen.toString());
+        Assert.assertEquals(base + 5, map.sortedSerials()[0]);
+        Assert.assertEquals(base + 30, map.serials()[0]);
+    }
+
+    /**
+     * Many puts, updates and removes, including runs of consecutive serials
+     * and enough keys to grow the table several times, agree with a
+     * HashMap.
+     */
+    public void testAgainstHashMap() {
+        final Random random = new Random(7);
+        final DayDateToIntMap map = new DayDateToIntMap();
+        final Map<Integer, Integer> expected = new HashMap<Integer, Integer>();
+        for (int i = 0; i < 200000; i++) {
+            final int serial = random.nextBoolean()
+                    ? 40000 + random.nextInt(3000) : 2 + random.nextInt(2958464);
+            final int op = random.nextInt(4);
+            if (op == 0) {
+                Assert.assertEquals(expected.remove(serial) != null, map.remove(serial));
+            }
+            else if (op == 1) {
+                final Integer old = expected.get(serial);
+                expected.put(serial, (old == null ? 0 : old) + i);
+                map.addTo(serial, i);
+            }
+            else {
+                expected.put(serial, i);
+                map.put(serial, i);
+            }
+            if (i % 1000 == 0) {
+                Assert.assertEquals(expected.size(), map.size());
+            }
+        }
+        Assert.assertEquals(expected.size(), map.size());
+        for (int serial = 40000; serial < 43000; serial++) {
+            final Integer value = expected.get(serial);
+            Assert.assertEquals(value == null ? -1 : value.intValue(), map.get(serial, -1));
+        }
+        final int[] count = new int[1];
+        map.forEachInSerialOrder(new DayDateToIntMap.Visitor() {
+            private int previous;
+
+            public void visit(int serial, int value) {
+                Assert.assertTrue(serial > this.previous);
+                Assert.assertEquals(expected.get(serial).intValue(), value);
+                this.previous = serial;
+                count[0]++;
+            }
+        });
+        Assert.assertEquals(expected.size(), count[0]);
+    }
+}
@@ -0,0 +1,115 @@
+package org.jfree.date.junit;
+
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.function.ToLongFunction;
+
+import junit.framework.Assert;
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+import org.jfree.date.*;
+
+/**
+ * Tests for the {@link DayDateRange} class.
+ */
+public class DayDateRangeTests extends TestCase {
+
+    private final DayDate jan1 = new SpreadsheetDate(1, Month.JANUARY, 2016);
+
+    private final DayDate jan31 = new SpreadsheetDate(31, Month.JANUARY, 2016);
+
+    /**
+     * Returns a test suite for the JUnit test runner.
+     *
+     * @return the test suite.
+     */
+    public static Test suite() {
+        return new TestSuite(DayDateRangeTests.class);
+    }
+
+    /**
+     * Creates a new test case.
+     *
+     * @param name  the name.
+     */
+    public DayDateRangeTests(final String name) {
+        super(name);
+    }
+
+    /**
+     * The interval decides which end points are in the range, as it does
+     * for isInRange().
+     */
+    public void testIntervals() {
+        Assert.assertEquals(31, new DayDateRange(this.jan1, this.jan31).size());
+        Assert.assertEquals(30, new DayDateRange(this.jan1, this.jan31,
+                DayDate.DateInterval.CLOSED_LEFT).size());
+        Assert.assertEquals(30, new DayDateRange(this.jan1, this.jan31,
+                DayDate.DateInterval.CLOSED_RIGHT).size());
+        Assert.assertEquals(29, new DayDateRange(this.jan31, this.jan1,
+                DayDate.DateInterval.OPEN).size());
+        Assert.assertEquals(0, new DayDateRange(this.jan1, this.jan1,
+                DayDate.DateInterval.OPEN).size());
+        Assert.assertTrue(new DayDateRange(this.jan1, this.jan1).equals(
+                java.util.Collections.singletonList(this.jan1)));
+    }
+
+    /**
+     * Every date in the range is found by get(), contains() and indexOf(),
+     * and agrees with isInRange().
+     */
+    public void testAgreesWithIsInRange() {
+        final DayDate[] ends = {this.jan1, this.jan31};
+        for (DayDate.DateInterval interval : DayDate.DateInterval.values()) {
+            final DayDateRange range = new DayDateRange(ends[0], ends[1], interval);
+            for (int i = -2; i < 34; i++) {
+                final DayDate d = DayDate.addDays(i, this.jan1);
+                final boolean in = d.isInRange(ends[0], ends[1], interval.index);
+                Assert.assertEquals(interval + " " + i, in, range.contains(d));
+                if (in) {
+                    Assert.assertEquals(d, range.get(range.indexOf(d)));
+                }
+            }
+        }
+    }
+
+    /**
+     * Iterating, sub-lists and serial streams agree.
+     */
+    public void testIterationAndSubList() {
+        final DayDateRange range = new DayDateRange(this.jan1, this.jan31);
+        final Iterator<DayDate> iterator = range.iterator();
+        DayDate expected = this.jan1;
+        while (iterator.hasNext()) {
+            Assert.assertEquals(expected, iterator.next());
+            expected = DayDate.addDays(1, expected);
+        }
+        final DayDateRange sub = range.subList(10, 20);
+        Assert.assertEquals(10, sub.size());
+        Assert.assertEquals(range.get(10), sub.get(0));
+        Assert.assertEquals(range.getSerial(19), sub.serials().max().getAsInt());
+    }
+
+    /**
+     * The spliterator splits exactly and a parallel stream sees every day
+     * once.
+     */
+    public void testSpliterator() {
+        final DayDateRange range = new DayDateRange(this.jan1,
+                new SpreadsheetDate(31, Month.DECEMBER, 2099));
+        final Spliterator<DayDate> right = range.spliterator();
+        Assert.assertTrue(right.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED));
+        final Spliterator<DayDate> left = right.trySplit();
+        Assert.assertEquals(range.size(), left.estimateSize() + right.estimateSize());
+        Assert.assertTrue(Math.abs(left.estimateSize() - right.estimateSize()) <= 1);
+        Assert.assertEquals(range.size(), range.parallelStream().count());
+        Assert.assertEquals((long) range.size() * (range.getSerial(0) + range.getSerial(range.size() - 1)) / 2,
+                range.parallelStream().mapToLong(new ToLongFunction<DayDate>() {
+                    public long applyAsLong(DayDate d) {
+                        return d.toSerial();
+                    }
+                }).sum());
+    }
+
+}
@@ -0,0 +1,134 @@
+package org.jfree.date.junit;
+
+import java.util.Random;
+
+import junit.framework.Assert;
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+import org.jfree.date.*;
+
+/**
+ * Tests for the {@link DayDateRanges} class.
+ */
+public class DayDateRangesTests extends TestCase {
+
+    /**
+     * Returns a test suite for the JUnit test runner.
+     *
+     * @return the test suite.
+     */
+    public static Test suite() {
+        return new TestSuite(DayDateRangesTests.class);
+    }
+
+    /**
+     * Creates a new test case.
+     *
+     * @param name  the name.
+     */
+    public DayDateRangesTests(final String name) {
+        super(name);
+    }
+
+    private static DayDateSet toSet(DayDateRanges ranges) {
+        final DayDateSet set = new DayDateSet();
+        for (int i = 0; i < ranges.size(); i++) {
+            for (int s = ranges.getStart(i); s <= ranges.getEnd(i); s++) {
+                set.add(s);
+            }
+        }
+        return set;
+    }
+
+    private static void assertNormalized(DayDateRanges ranges) {
+        for (int i = 0; i < ranges.size(); i++) {
+            Assert.assertTrue(ranges.getStart(i) <= ranges.getEnd(i));
+            if (i > 0) {
+                Assert.assertTrue(ranges.getStart(i) > ranges.getEnd(i - 1) + 1);
+            }
+        }
+    }
+
+    private static DayDateRanges randomRanges(Random random, int n, DayDateSet expected) {
+        final int[] starts = new int[n];
+        final int[] ends = new int[n];
+        for (int i = 0; i < n; i++) {
+            starts[i] = 40000 + random.nextInt(3000);
+            ends[i] = starts[i] + random.nextInt(20) - 2;
+            for (int s = starts[i]; s <= ends[i]; s++) {
+                expected.add(s);
+            }
+        }
+        return DayDateRanges.coalesce(starts, ends);
+    }
+
+    /**
+     * Coalescing, on both the comparison and radix paths, and the set
+     * operations agree with a bitmap of the same days.
+     */
+    public void testAgainstDayDateSet() {
+        final Random random = new Random(11);
+        for (int n : new int[] {0, 1, 50, 200, 1000}) {
+            final DayDateSet a = new DayDateSet();
+            final DayDateSet b = new DayDateSet();
+            final DayDateRanges ra = randomRanges(random, n, a);
+            final DayDateRanges rb = randomRanges(random, n / 2 + 3, b);
+            assertNormalized(ra);
+            Assert.assertEquals(a, toSet(ra));
+            Assert.assertEquals(a.cardinality(), ra.dayCount());
+
+            final DayDateRanges union = ra.union(rb);
+            final DayDateRanges intersection = ra.intersection(rb);
+            final DayDateRanges difference = ra.difference(rb);
+            assertNormalized(union);
+            assertNormalized(intersection);
+            assertNormalized(difference);
+            Assert.assertEquals(a.union(b), toSet(union));
+            Assert.assertEquals(a.intersection(b), toSet(intersection));
+            Assert.assertEquals(a.difference(b), toSet(difference));
+            for (int s = 39990; s < 43030; s++) {
+                Assert.assertEquals(a.contains(s), ra.contains(s));
+            }
+        }
+    }
+
+    /**
+     * Adjacent ranges are merged and date end points follow DateInterval.
+     */
+    public void testDateIntervals() {
+        final DayDate jan1 = new SpreadsheetDate(1, Month.JANUARY, 2016);
+        final DayDate jan10 = new SpreadsheetDate(10, Month.JANUARY, 2016);
+        final DayDate jan20 = new SpreadsheetDate(20, Month.JANUARY, 2016);
+        final DayDateRanges halfOpen = DayDateRanges.coalesce(
+                new DayDate[] {jan1, jan20}, new DayDate[] {jan10, jan10},
+                DayDate.DateInterval.CLOSED_LEFT);
+        Assert.assertEquals(1, halfOpen.size());
+        Assert.assertEquals(jan1.toSerial(), halfOpen.getStart(0));
+        Assert.assertEquals(jan20.toSerial() - 1, halfOpen.getEnd(0));
+        final DayDateRanges open = DayDateRanges.coalesce(
+                new DayDate[] {jan1, jan10}, new DayDate[] {jan10, jan20},
+                DayDate.DateInterval.OPEN);
+        Assert.assertEquals(2, open.size());
+        Assert.assertFalse(open.contains(jan10));
+    }
+
+    /**
+     * Empty open ranges at the ends of the supported range are dropped
+     * rather than rejected.
+     */
+    public void testEmptyRangesAtBounds() {
+        final DayDate first = new SpreadsheetDate(1, Month.JANUARY, 1900);
+        final DayDate last = new SpreadsheetDate(31, Month.DECEMBER, 9999);
+        final DayDate jan1 = new SpreadsheetDate(1, Month.JANUARY, 2016);
+        final DayDate jan10 = new SpreadsheetDate(10, Month.JANUARY, 2016);
+        final DayDateRanges ranges = DayDateRanges.coalesce(
+                new DayDate[] {last, first, jan1}, new DayDate[] {last, first, jan10},
+                DayDate.DateInterval.OPEN);
+        Assert.assertEquals(1, ranges.size());
+        Assert.assertEquals(jan1.toSerial() + 1, ranges.getStart(0));
+        Assert.assertTrue(DayDateRanges.coalesce(new DayDate[] {last}, new DayDate[] {last},
+                DayDate.DateInterval.OPEN).isEmpty());
+    }
+
+}
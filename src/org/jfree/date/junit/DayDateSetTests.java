@@ -0,0 +1,114 @@
+package org.jfree.date.junit;
+
+import java.util.Iterator;
+import java.util.Random;
+import java.util.TreeSet;
+
+import junit.framework.Assert;
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+import org.jfree.date.*;
+
+/**
+ * Tests for the {@link DayDateSet} class.
+ */
+public class DayDateSetTests extends TestCase {
+
+    /**
+     * Returns a test suite for the JUnit test runner.
+     *
+     * @return the test suite.
+     */
+    public static Test suite() {
+        return new TestSuite(DayDateSetTests.class);
+    }
+
+    /**
+     * Creates a new test case.
+     *
+     * @param name  the name.
+     */
+    public DayDateSetTests(final String name) {
+        super(name);
+    }
+
+    /**
+     * Membership, rank, select and ordered iteration agree with a TreeSet.
+     */
+    public void testAgreesWithTreeSet() {
+        final Random random = new Random(1);
+        final DayDateSet set = new DayDateSet();
+        final TreeSet<Integer> expected = new TreeSet<Integer>();
+        for (int i = 0; i < 5000; i++) {
+            final int serial = 30000 + random.nextInt(20000);
+            Assert.assertEquals(expected.add(serial), set.add(serial));
+        }
+        for (int i = 0; i < 1000; i++) {
+            final int serial = 30000 + random.nextInt(20000);
+            Assert.assertEquals(expected.remove(serial), set.remove(serial));
+        }
+        Assert.assertEquals(expected.size(), set.cardinality());
+
+        int index = 0;
+        for (Integer serial : expected) {
+            Assert.assertEquals(serial.intValue(), set.select(index));
+            Assert.assertEquals(index + 1, set.rank(serial));
+            Assert.assertTrue(set.contains(serial));
+            index++;
+        }
+        Assert.assertEquals(expected.headSet(40000, true).size(), set.rank(40000));
+
+        final Iterator<DayDate> dates = set.iterator();
+        for (Integer serial : expected) {
+            Assert.assertEquals(serial.intValue(), dates.next().toSerial());
+        }
+        Assert.assertFalse(dates.hasNext());
+    }
+
+    /**
+     * Rank, select and iteration over dates spread across the whole range,
+     * including removing the only date in a region.
+     */
+    public void testSparseAcrossRange() {
+        final int upper = SpreadsheetDate.SERIAL_UPPER_BOUND;
+        final DayDateSet set = DayDateSet.ofSerials(2, 70000, 70001, 1000000, upper);
+        Assert.assertTrue(set.remove(1000000));
+        Assert.assertFalse(set.contains(1000000));
+        Assert.assertEquals(4, set.cardinality());
+        Assert.assertEquals(70001, set.select(2));
+        Assert.assertEquals(upper, set.select(3));
+        Assert.assertEquals(3, set.rank(2000000));
+        Assert.assertEquals(upper, set.nextSerial(70002));
+        Assert.assertEquals(DayDateSet.ofSerials(2, 70000, 70001, upper), set);
+        Assert.assertEquals(DayDateSet.ofSerials(2, 70000, 70001, upper).hashCode(),
+                set.hashCode());
+        Assert.assertEquals(DayDateSet.ofSerials(70001),
+                set.intersection(DayDateSet.ofSerials(70001, 1000000)));
+    }
+
+    /**
+     * Union, intersection and difference.
+     */
+    public void testSetAlgebra() {
+        final DayDateSet a = DayDateSet.ofSerials(2, 100, 1000, SpreadsheetDate.SERIAL_UPPER_BOUND);
+        final DayDateSet b = DayDateSet.ofSerials(100, 1001, SpreadsheetDate.SERIAL_UPPER_BOUND);
+        Assert.assertEquals(DayDateSet.ofSerials(2, 100, 1000, 1001, SpreadsheetDate.SERIAL_UPPER_BOUND),
+                a.union(b));
+        Assert.assertEquals(DayDateSet.ofSerials(100, SpreadsheetDate.SERIAL_UPPER_BOUND),
+                a.intersection(b));
+        Assert.assertEquals(DayDateSet.ofSerials(2, 1000), a.difference(b));
+        Assert.assertEquals(4, a.cardinality());
+    }
+
+    /**
+     * Dates are found by DayDate as well as by serial number.
+     */
+    public void testContainsDayDate() {
+        final DayDateSet set = DayDateSet.of(new SpreadsheetDate(25, Month.DECEMBER, 2015));
+        Assert.assertTrue(set.contains(DayDateFactory.makeDate(25, Month.DECEMBER, 2015)));
+        Assert.assertFalse(set.contains(DayDateFactory.makeDate(26, Month.DECEMBER, 2015)));
+        Assert.assertFalse(set.contains(0));
+    }
+
+}
@@ -0,0 +1,126 @@
+package org.jfree.date.junit;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import junit.framework.Assert;
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+import org.jfree.date.*;
+
+/**
+ * Tests for the {@link DayDateSort} class.
+ */
+public class DayDateSortTests extends TestCase {
+
+    /**
+     * Returns a test suite for the JUnit test runner.
+     *
+     * @return the test suite.
+     */
+    public static Test suite() {
+        return new TestSuite(DayDateSortTests.class);
+    }
+
+    /**
+     * Creates a new test case.
+     *
+     * @param name  the name.
+     */
+    public DayDateSortTests(final String name) {
+        super(name);
+    }
+
+    private static int[] randomSerials(Random random, int n, int spread) {
+        final int[] serials = new int[n];
+        for (int i = 0; i < n; i++) {
+            serials[i] = SpreadsheetDate.SERIAL_LOWER_BOUND + random.nextInt(spread);
+        }
+        return serials;
+    }
+
+    /**
+     * Serial arrays of several sizes and spreads (one, two and no radix
+     * passes) sort as Arrays.sort() does, sequentially and in parallel.
+     */
+    public void testSerials() {
+        final Random random = new Random(5);
+        final int fullRange = SpreadsheetDate.SERIAL_UPPER_BOUND - SpreadsheetDate.SERIAL_LOWER_BOUND + 1;
+        for (int n : new int[] {0, 1, 63, 64, 1000, 200000}) {
+            for (int spread : new int[] {1, 1500, fullRange}) {
+                final int[] serials = randomSerials(random, n, spread);
+                final int[] expected = serials.clone();
+                Arrays.sort(expected);
+                final int[] sequential = serials.clone();
+                DayDateSort.sort(sequential);
+                Assert.assertTrue(Arrays.equals(expected, sequential));
+                final int[] parallel = serials.clone();
+                DayDateSort.parallelSort(parallel);
+                Assert.assertTrue(Arrays.equals(expected, parallel));
+            }
+        }
+    }
+
+    /**
+     * Sorting part of an array leaves the rest alone.
+     */
+    public void testSubRange() {
+        final int[] serials = randomSerials(new Random(1), 500, 100000);
+        final int[] expected = serials.clone();
+        Arrays.sort(expected, 100, 400);
+        DayDateSort.sort(serials, 100, 400);
+        Assert.assertTrue(Arrays.equals(expected, serials));
+    }
+
+    /**
+     * The permutation is stable and leaves its input unchanged.
+     */
+    public void testSortPermutation() {
+        final int[] serials = randomSerials(new Random(2), 5000, 300);
+        final int[] copy = serials.clone();
+        final int[] order = DayDateSort.sortPermutation(serials);
+        Assert.assertTrue(Arrays.equals(copy, serials));
+        for (int i = 1; i < order.length; i++) {
+            final int a = serials[order[i - 1]];
+            final int b = serials[order[i]];
+            Assert.assertTrue(a < b || (a == b && order[i - 1] < order[i]));
+        }
+    }
+
+    /**
+     * Dates sort stably, as Arrays.sort() sorts them, sequentially and in
+     * parallel.
+     */
+    public void testDates() {
+        final Random random = new Random(3);
+        for (int n : new int[] {10, 5000, 100000}) {
+            final DayDate[] dates = new DayDate[n];
+            for (int i = 0; i < n; i++) {
+                dates[i] = new SpreadsheetDate(40000 + random.nextInt(4000));
+            }
+            final DayDate[] expected = dates.clone();
+            Arrays.sort(expected);
+            final DayDate[] sequential = dates.clone();
+            DayDateSort.sort(sequential);
+            final DayDate[] parallel = dates.clone();
+            DayDateSort.parallelSort(parallel);
+            for (int i = 0; i < n; i++) {
+                Assert.assertSame(expected[i], sequential[i]);
+                Assert.assertSame(expected[i], parallel[i]);
+            }
+        }
+    }
+
+    /**
+     * unique() keeps one copy of each value.
+     */
+    public void testUnique() {
+        final int[] sorted = {3, 3, 4, 7, 7, 7, 9};
+        Assert.assertTrue(DayDateSort.isSorted(sorted));
+        Assert.assertEquals(4, DayDateSort.unique(sorted, sorted.length));
+        Assert.assertTrue(Arrays.equals(new int[] {3, 4, 7, 9}, Arrays.copyOf(sorted, 4)));
+        Assert.assertFalse(DayDateSort.isSorted(new int[] {2, 1}));
+    }
+
+}
@@ -0,0 +1,95 @@
+package org.jfree.date.junit;
+
+import junit.framework.Assert;
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+import org.jfree.date.*;
+
+/**
+ * Tests for the {@link HolidayRule} and {@link HolidayRuleSet} classes.
+ */
+public class HolidayRuleSetTests extends TestCase {
+
+    /** A handful of US-style holidays. */
+    private HolidayRuleSet rules;
+
+    /**
+     * Returns a test suite for the JUnit test runner.
+     *
+     * @return the test suite.
+     */
+    public static Test suite() {
+        return new TestSuite(HolidayRuleSetTests.class);
+    }
+
+    /**
+     * Creates a new test case.
+     *
+     * @param name  the name.
+     */
+    public HolidayRuleSetTests(final String name) {
+        super(name);
+    }
+
+    /**
+     * Setup.
+     */
+    protected void setUp() {
+        this.rules = new HolidayRuleSet()
+                .add(HolidayRule.fixed(1, Month.JANUARY)
+                        .observed(HolidayRule.Observance.NEAREST_WEEKDAY))
+                .add(HolidayRule.weekdayInMonth(DayDate.WeekInMonth.LAST, Day.MONDAY, Month.MAY))
+                .add(HolidayRule.weekdayInMonth(DayDate.WeekInMonth.FOURTH, Day.THURSDAY, Month.NOVEMBER))
+                .add(HolidayRule.fixed(25, Month.DECEMBER)
+                        .observed(HolidayRule.Observance.NEAREST_WEEKDAY))
+                .add(HolidayRule.easter(-2));
+    }
+
+    /**
+     * The 2015 holidays.
+     */
+    public void test2015() {
+        final DayDateSet holidays = this.rules.compile(2015, 2015);
+        Assert.assertEquals(5, holidays.cardinality());
+        Assert.assertTrue(holidays.contains(new SpreadsheetDate(1, Month.JANUARY, 2015)));
+        Assert.assertTrue(holidays.contains(new SpreadsheetDate(25, Month.MAY, 2015)));
+        Assert.assertTrue(holidays.contains(new SpreadsheetDate(26, Month.NOVEMBER, 2015)));
+        Assert.assertTrue(holidays.contains(new SpreadsheetDate(25, Month.DECEMBER, 2015)));
+        Assert.assertTrue(holidays.contains(new SpreadsheetDate(3, Month.APRIL, 2015)));
+    }
+
+    /**
+     * In 2021 Christmas Day and the following New Year's Day both fell on
+     * a Saturday, so both were observed on the Friday before, in 2021.
+     */
+    public void testObservedAcrossYearEnd() {
+        final DayDateSet holidays2021 = this.rules.compile(2021, 2021);
+        Assert.assertTrue(holidays2021.contains(new SpreadsheetDate(24, Month.DECEMBER, 2021)));
+        Assert.assertTrue(holidays2021.contains(new SpreadsheetDate(31, Month.DECEMBER, 2021)));
+        final DayDateSet holidays2022 = this.rules.compile(2022, 2022);
+        Assert.assertFalse(holidays2022.contains(new SpreadsheetDate(31, Month.DECEMBER, 2021)));
+        Assert.assertEquals(4, holidays2022.cardinality());
+    }
+
+    /**
+     * Easter Sunday for a few known years.
+     */
+    public void testEasterSunday() {
+        Assert.assertEquals(new SpreadsheetDate(23, Month.APRIL, 2000).toSerial(),
+                HolidayRule.easterSunday(2000));
+        Assert.assertEquals(new SpreadsheetDate(27, Month.MARCH, 2016).toSerial(),
+                HolidayRule.easterSunday(2016));
+        Assert.assertEquals(new SpreadsheetDate(25, Month.APRIL, 2038).toSerial(),
+                HolidayRule.easterSunday(2038));
+    }
+
+    /**
+     * The whole supported range compiles.
+     */
+    public void testCompileFullRange() {
+        final DayDateSet holidays = this.rules.compile();
+        Assert.assertEquals(5 * (9999 - 1900 + 1), holidays.cardinality());
+    }
+
+}
@@ -0,0 +1,143 @@
+package org.jfree.date.junit;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInput;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutput;
+import java.io.ObjectOutputStream;
+
+import junit.framework.Assert;
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+import org.jfree.date.*;
+
+/**
+ * Tests for the {@link InterningSpreadSheetFactory} class.
+ */
+public class InterningSpreadSheetFactoryTests extends TestCase {
+
+    /** The factory under test, installed for the duration of each test. */
+    private InterningSpreadSheetFactory factory;
+
+    /**
+     * Returns a test suite for the JUnit test runner.
+     *
+     * @return the test suite.
+     */
+    public static Test suite() {
+        return new TestSuite(InterningSpreadSheetFactoryTests.class);
+    }
+
+    /**
+     * Creates a new test case.
+     *
+     * @param name  the name.
+     */
+    public InterningSpreadSheetFactoryTests(final String name) {
+        super(name);
+    }
+
+    /**
+     * Installs a factory with a small hot window around 1-Jan-2000.
+     */
+    protected void setUp() {
+        this.factory = new InterningSpreadSheetFactory(36526, 36530);
+        DayDateFactory.setInstance(this.factory);
+    }
+
+    /**
+     * Restores the default factory.
+     */
+    protected void tearDown() {
+        DayDateFactory.setInstance(new SpreadSheetFactory());
+    }
+
+    /**
+     * Dates in the hot window are served from the cache straight away.
+     */
+    public void testHotWindowIsPrebuilt() {
+        final DayDate d1 = DayDateFactory.makeDate(36526);
+        final DayDate d2 = DayDateFactory.makeDate(1, Month.JANUARY, 2000);
+        Assert.assertSame(d1, d2);
+        Assert.assertEquals(2, this.factory.getHitCount());
+        Assert.assertEquals(0, this.factory.getMissCount());
+    }
+
+    /**
+     * Dates outside the hot window are created once and then reused.
+     */
+    public void testColdDatesAreCreatedOnce() {
+        final DayDate d1 = DayDateFactory.makeDate(2);
+        final DayDate d2 = DayDateFactory.makeDate(2);
+        final DayDate d3 = DayDateFactory.makeDate(SpreadsheetDate.SERIAL_UPPER_BOUND);
+        Assert.assertSame(d1, d2);
+        Assert.assertEquals(31, d3.getDayOfMonth());
+        Assert.assertEquals(1, this.factory.getHitCount());
+        Assert.assertEquals(2, this.factory.getMissCount());
+    }
+
+    /**
+     * Date arithmetic returns canonical instances too.
+     */
+    public void testAddDaysReturnsCanonicalInstance() {
+        final DayDate d = DayDateFactory.makeDate(1, Month.JANUARY, 2000);
+        Assert.assertSame(DayDateFactory.makeDate(36527), DayDate.addDays(1, d));
+    }
+
+    /**
+     * Serial numbers outside the supported range are still rejected.
+     */
+    public void testInvalidSerial() {
+        try {
+            DayDateFactory.makeDate(SpreadsheetDate.SERIAL_UPPER_BOUND + 1);
+            fail("Expected an IllegalArgumentException.");
+        }
+        catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    /**
+     * A deserialized date resolves to the canonical instance.
+     */
+    public void testDeserializedDateIsInterned() throws Exception {
+
+        final DayDate d1 = DayDateFactory.makeDate(15, Month.APRIL, 2000);
+
+        final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        final ObjectOutput out = new ObjectOutputStream(buffer);
+        out.writeObject(d1);
+        out.close();
+
+        final ObjectInput in = new ObjectInputStream(new ByteArrayInputStream(buffer.toByteArray()));
+        final DayDate d2 = (DayDate) in.readObject();
+        in.close();
+
+        Assert.assertSame(d1, d2);
+
+    }
+
+    /**
+     * A deserialized subclass instance resolves to the canonical instance
+     * too, since readResolve() is inherited.
+     */
+    public void testDeserializedSubclassIsInterned() throws Exception {
+
+        final DayDate d1 = DayDateFactory.makeDate(16, Month.APRIL, 2000);
+
+        final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        final ObjectOutput out = new ObjectOutputStream(buffer);
+        out.writeObject(new LookupTableSpreadsheetDate(16, Month.APRIL, 2000));
+        out.close();
+
+        final ObjectInput in = new ObjectInputStream(new ByteArrayInputStream(buffer.toByteArray()));
+        final DayDate d2 = (DayDate) in.readObject();
+        in.close();
+
+        Assert.assertSame(d1, d2);
+
+    }
+
+}
@@ -0,0 +1,83 @@
+package org.jfree.date.junit;
+
+import junit.framework.Assert;
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+import org.jfree.date.*;
+
+/**
+ * Tests for the {@link OffHeapDayDateColumn} class.
+ */
+public class OffHeapDayDateColumnTests extends TestCase {
+
+    /**
+     * Returns a test suite for the JUnit test runner.
+     *
+     * @return the test suite.
+     */
+    public static Test suite() {
+        return new TestSuite(OffHeapDayDateColumnTests.class);
+    }
+
+    /**
+     * Creates a new test case.
+     *
+     * @param name  the name.
+     */
+    public OffHeapDayDateColumnTests(final String name) {
+        super(name);
+    }
+
+    /**
+     * Bulk operations give the same results as the on-heap column.
+     */
+    public void testMatchesOnHeapColumn() {
+        final int[] serials = new int[1000];
+        for (int i = 0; i < serials.length; i++) {
+            serials[i] = 36526 + i * 17;
+        }
+        final DayDateColumn onHeap = DayDateColumn.wrap(serials);
+        final OffHeapDayDateColumn offHeap = OffHeapDayDateColumn.copyOf(onHeap);
+        onHeap.addMonths(7);
+        offHeap.addMonths(7);
+        onHeap.addDays(-3);
+        offHeap.addDays(-3);
+
+        final int[] expected = new int[serials.length];
+        final int[] actual = new int[serials.length];
+        onHeap.daysOfMonth(expected);
+        offHeap.daysOfMonth(actual);
+        for (int i = 0; i < serials.length; i++) {
+            Assert.assertEquals(expected[i], actual[i]);
+            Assert.assertEquals(onHeap.getSerial(i), offHeap.getSerial(i));
+        }
+        offHeap.close();
+    }
+
+    /**
+     * Views share storage and lifetime with the column they came from.
+     */
+    public void testViewSharesLifetime() {
+        final OffHeapDayDateColumn column = new OffHeapDayDateColumn(10);
+        final OffHeapDayDateColumn view = column.view(5, 10);
+        view.set(0, new SpreadsheetDate(1, Month.MARCH, 2000));
+        Assert.assertEquals(new SpreadsheetDate(1, Month.MARCH, 2000), column.get(5));
+        Assert.assertEquals(SpreadsheetDate.SERIAL_LOWER_BOUND, column.getSerial(4));
+
+        column.close();
+        Assert.assertTrue(view.isClosed());
+        try {
+            view.getSerial(0);
+            fail("Expected an IllegalStateException.");
+        }
+        catch (IllegalStateException e) {
+            // expected
+        }
+
+        // the memory is freed once, so a second close does nothing
+        view.close();
+        Assert.assertTrue(column.isClosed());
+    }
+
+}
@@ -0,0 +1,111 @@
+package org.jfree.date.junit;
+
+import junit.framework.Assert;
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+import org.jfree.date.*;
+
+/**
+ * Tests for the {@link Recurrence} class.
+ */
+public class RecurrenceTests extends TestCase {
+
+    /**
+     * Returns a test suite for the JUnit test runner.
+     *
+     * @return the test suite.
+     */
+    public static Test suite() {
+        return new TestSuite(RecurrenceTests.class);
+    }
+
+    /**
+     * Creates a new test case.
+     *
+     * @param name  the name.
+     */
+    public RecurrenceTests(final String name) {
+        super(name);
+    }
+
+    /**
+     * The third Friday of every month from 2000 to 2050 matches stepping
+     * with addMonths and getFollowingDayOfWeek.
+     */
+    public void testThirdFridayMatchesDayDateArithmetic() {
+        final DayDate from = new SpreadsheetDate(1, Month.JANUARY, 2000);
+        final DayDate to = new SpreadsheetDate(31, Month.DECEMBER, 2050);
+        final int[] occurrences = Recurrence.monthly(DayDate.WeekInMonth.THIRD, Day.FRIDAY)
+                .between(from, to);
+        Assert.assertEquals(51 * 12, occurrences.length);
+        DayDate first = from;
+        for (int i = 0; i < occurrences.length; i++) {
+            final DayDate expected = DayDate.addDays(14,
+                    DayDate.getFollowingDayOfWeek(Day.FRIDAY, DayDate.addDays(-1, first)));
+            Assert.assertEquals(expected.toSerial(), occurrences[i]);
+            first = DayDate.addMonths(1, first);
+        }
+    }
+
+    /**
+     * The last Monday of each quarter-end month.
+     */
+    public void testQuarterlyLastMonday() {
+        final Recurrence recurrence = Recurrence.quarterly(
+                Month.MARCH, DayDate.WeekInMonth.LAST, Day.MONDAY);
+        final int[] occurrences = recurrence.between(
+                new SpreadsheetDate(1, Month.APRIL, 2016), new SpreadsheetDate(31, Month.MARCH, 2017));
+        Assert.assertEquals(4, occurrences.length);
+        Assert.assertEquals(new SpreadsheetDate(27, Month.JUNE, 2016).toSerial(), occurrences[0]);
+        Assert.assertEquals(new SpreadsheetDate(26, Month.SEPTEMBER, 2016).toSerial(), occurrences[1]);
+        Assert.assertEquals(new SpreadsheetDate(26, Month.DECEMBER, 2016).toSerial(), occurrences[2]);
+        Assert.assertEquals(new SpreadsheetDate(27, Month.MARCH, 2017).toSerial(), occurrences[3]);
+    }
+
+    /**
+     * An occurrence earlier in the month than the start date is skipped.
+     */
+    public void testYearlySkipsPastOccurrence() {
+        final Recurrence thanksgiving = Recurrence.yearly(
+                Month.NOVEMBER, DayDate.WeekInMonth.FOURTH, Day.THURSDAY);
+        Assert.assertEquals(new SpreadsheetDate(24, Month.NOVEMBER, 2016).toSerial(),
+                thanksgiving.firstOnOrAfter(new SpreadsheetDate(27, Month.NOVEMBER, 2015).toSerial()));
+    }
+
+    /**
+     * Every other Tuesday, as an array, a count and a stream.
+     */
+    public void testFortnightly() {
+        final Recurrence recurrence = Recurrence.everyWeeks(2,
+                new SpreadsheetDate(22, Month.DECEMBER, 2015));
+        final int from = new SpreadsheetDate(1, Month.JANUARY, 2016).toSerial();
+        final int to = new SpreadsheetDate(31, Month.DECEMBER, 2016).toSerial();
+        final int[] occurrences = recurrence.between(from, to);
+        Assert.assertEquals(new SpreadsheetDate(5, Month.JANUARY, 2016).toSerial(), occurrences[0]);
+        Assert.assertEquals(26, occurrences.length);
+        Assert.assertEquals(26, recurrence.count(from, to));
+        Assert.assertEquals(26, recurrence.stream(from, to).count());
+        final int[] firstFive = new int[5];
+        Assert.assertEquals(5, recurrence.fill(from, to, firstFive));
+        Assert.assertEquals(occurrences[4], firstFive[4]);
+    }
+
+    /**
+     * The occurrences of a fortnightly recurrence are the same whichever
+     * window they are requested for.
+     */
+    public void testFortnightlyPhaseIsFixed() {
+        final Recurrence recurrence = Recurrence.everyWeeks(2,
+                new SpreadsheetDate(5, Month.JANUARY, 2016));
+        final int tuesday = new SpreadsheetDate(19, Month.JANUARY, 2016).toSerial();
+        final int wednesday = tuesday + 1;
+        Assert.assertEquals(tuesday, recurrence.firstOnOrAfter(tuesday));
+        Assert.assertEquals(tuesday + 14, recurrence.firstOnOrAfter(wednesday));
+        Assert.assertEquals(tuesday, recurrence.firstOnOrAfter(tuesday - 13));
+        Assert.assertEquals(new SpreadsheetDate(22, Month.DECEMBER, 2015).toSerial(),
+                recurrence.firstOnOrAfter(new SpreadsheetDate(20, Month.DECEMBER, 2015).toSerial()));
+        Assert.assertEquals(tuesday + 7, Recurrence.weekly(Day.TUESDAY).firstOnOrAfter(wednesday));
+    }
+
+}
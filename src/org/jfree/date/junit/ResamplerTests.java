@@ -0,0 +1,213 @@
+package org.jfree.date.junit;
+
+import junit.framework.Assert;
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+import org.jfree.date.*;
+
+/**
+ * Tests for the {@link Resampler} class.
+ */
+public class ResamplerTests extends TestCase {
+
+    private final int jan1 = new SpreadsheetDate(1, Month.JANUARY, 2016).toSerial();
+
+    private final int jan31 = new SpreadsheetDate(31, Month.JANUARY, 2016).toSerial();
+
+    private final int mar31 = new SpreadsheetDate(31, Month.MARCH, 2016).toSerial();
+
+    /**
+     * Returns a test suite for the JUnit test runner.
+     *
+     * @return the test suite.
+     */
+    public static Test suite() {
+        return new TestSuite(ResamplerTests.class);
+    }
+
+    /**
+     * Creates a new test case.
+     *
+     * @param name  the name.
+     */
+    public ResamplerTests(final String name) {
+        super(name);
+    }
+
+    /**
+     * Monthly periods are labelled by the last day of the month.
+     */
+    public void testMonthlyPeriods() {
+        final Resampler monthly = Resampler.monthly(Resampler.Fill.NONE);
+        Assert.assertEquals(3, monthly.periodCount(this.jan1, this.mar31));
+        Assert.assertEquals(2, monthly.periodCount(this.jan31, this.jan31 + 1));
+        final int[] ends = monthly.periodEnds(this.jan1 + 10, this.mar31 - 10);
+        Assert.assertEquals(this.jan31, ends[0]);
+        Assert.assertEquals(new SpreadsheetDate(29, Month.FEBRUARY, 2016).toSerial(), ends[1]);
+        Assert.assertEquals(this.mar31, ends[2]);
+    }
+
+    /**
+     * Weekly periods end on the chosen day, and a day on that day ends its
+     * own week.
+     */
+    public void testWeeklyPeriods() {
+        // 1-Jan-2016 was a Friday
+        final Resampler fridays = Resampler.weekly(Day.FRIDAY, Resampler.Fill.NONE);
+        final int[] ends = fridays.periodEnds(this.jan1, this.jan1 + 7);
+        Assert.assertEquals(2, ends.length);
+        Assert.assertEquals(this.jan1, ends[0]);
+        Assert.assertEquals(this.jan1 + 7, ends[1]);
+        for (Day day : Day.values()) {
+            final int[] e = Resampler.weekly(day, Resampler.Fill.NONE)
+                    .periodEnds(this.jan1, this.mar31);
+            for (int end : e) {
+                Assert.assertEquals(day.index, SpreadsheetDate.dayOfWeek(end));
+                Assert.assertEquals(end, DayDate.getPreviousDayOfWeek(day,
+                        new SpreadsheetDate(end + 7)).toSerial());
+            }
+        }
+    }
+
+    /**
+     * Each aggregation agrees with a direct calculation, and missing days
+     * are skipped.
+     */
+    public void testAggregations() {
+        final DoubleDailySeries series = new DoubleDailySeries(this.jan1, this.mar31);
+        for (int s = this.jan1; s <= this.mar31; s++) {
+            if ((s - this.jan1) % 10 != 3) {
+                series.put(s, (s * 37) % 101);
+            }
+        }
+        final Resampler monthly = Resampler.monthly(Resampler.Fill.NONE);
+        final int[] ends = monthly.periodEnds(this.jan1, this.mar31);
+        for (Resampler.Aggregation aggregation : Resampler.Aggregation.values()) {
+            final double[] result = monthly.resample(series, aggregation);
+            Assert.assertEquals(3, result.length);
+            int start = this.jan1;
+            for (int p = 0; p < 3; p++) {
+                double expected = Double.NaN;
+                for (int s = start; s <= ends[p]; s++) {
+                    final double v = series.get(s);
+                    if (Double.isNaN(v)) {
+                        continue;
+                    }
+                    if (Double.isNaN(expected)) {
+                        expected = v;
+                    }
+                    else if (aggregation == Resampler.Aggregation.LAST) {
+                        expected = v;
+                    }
+                    else if (aggregation == Resampler.Aggregation.MIN) {
+                        expected = Math.min(expected, v);
+                    }
+                    else if (aggregation == Resampler.Aggregation.MAX) {
+                        expected = Math.max(expected, v);
+                    }
+                    else if (aggregation == Resampler.Aggregation.SUM) {
+                        expected += v;
+                    }
+                }
+                Assert.assertEquals(aggregation + " " + p, expected, result[p], 0.0);
+                start = ends[p] + 1;
+            }
+        }
+    }
+
+    /**
+     * OHLC gives the same values as the four separate aggregations.
+     */
+    public void testOhlc() {
+        final DoubleDailySeries series = new DoubleDailySeries(this.jan1, this.mar31);
+        for (int s = this.jan1; s <= this.mar31; s++) {
+            series.put(s, Math.sin(s));
+        }
+        final Resampler weekly = Resampler.weekly(Day.FRIDAY, Resampler.Fill.NONE);
+        final int n = weekly.periodCount(this.jan1, this.mar31);
+        final double[] open = new double[n];
+        final double[] high = new double[n];
+        final double[] low = new double[n];
+        final double[] close = new double[n];
+        weekly.ohlc(series, open, high, low, close);
+        Assert.assertTrue(java.util.Arrays.equals(open,
+                weekly.resample(series, Resampler.Aggregation.FIRST)));
+        Assert.assertTrue(java.util.Arrays.equals(high,
+                weekly.resample(series, Resampler.Aggregation.MAX)));
+        Assert.assertTrue(java.util.Arrays.equals(low,
+                weekly.resample(series, Resampler.Aggregation.MIN)));
+        Assert.assertTrue(java.util.Arrays.equals(close,
+                weekly.resample(series, Resampler.Aggregation.LAST)));
+        Assert.assertEquals(Math.sin(this.jan1), open[0], 0.0);
+        Assert.assertEquals(Math.sin(this.jan1), close[0], 0.0);
+    }
+
+    /**
+     * A slice of a series is resampled over its own days only.
+     */
+    public void testSlice() {
+        final DoubleDailySeries series = new DoubleDailySeries(this.jan1 - 31, this.mar31);
+        for (int serial = series.getFirstSerial(); serial <= series.getLastSerial(); serial++) {
+            series.put(serial, 1.0);
+        }
+        final DoubleDailySeries slice = series.slice(this.jan1, this.mar31);
+        final double[] sums = Resampler.monthly(Resampler.Fill.NONE).resample(slice,
+                Resampler.Aggregation.SUM);
+        Assert.assertEquals(3, sums.length);
+        Assert.assertEquals(31.0, sums[0], 0.0);
+        Assert.assertEquals(31.0, sums[2], 0.0);
+    }
+
+    /**
+     * Sparse columns leave empty periods NaN, or fill them forward.
+     */
+    public void testFill() {
+        final int[] serials = {this.jan1 - 5, this.jan1 + 3, this.jan1 + 4, this.mar31,
+                this.mar31 + 40};
+        final double[] values = {99.0, 1.0, 2.0, 3.0, 99.0};
+        final double[] result = new double[3];
+        Resampler.monthly(Resampler.Fill.NONE).resample(serials, values, this.jan1,
+                this.mar31, Resampler.Aggregation.SUM, result);
+        Assert.assertEquals(3.0, result[0], 0.0);
+        Assert.assertTrue(Double.isNaN(result[1]));
+        Assert.assertEquals(3.0, result[2], 0.0);
+
+        final Resampler filled = Resampler.monthly(Resampler.Fill.FORWARD);
+        filled.resample(serials, values, this.jan1, this.mar31, Resampler.Aggregation.LAST,
+                result);
+        Assert.assertEquals(2.0, result[0], 0.0);
+        Assert.assertEquals(2.0, result[1], 0.0);
+        Assert.assertEquals(3.0, result[2], 0.0);
+
+        // a sum is not carried forward, which would count January twice
+        filled.resample(serials, values, this.jan1, this.mar31, Resampler.Aggregation.SUM,
+                result);
+        Assert.assertEquals(3.0, result[0], 0.0);
+        Assert.assertEquals(0.0, result[1], 0.0);
+        Assert.assertEquals(3.0, result[2], 0.0);
+
+        final double[] open = new double[3];
+        final double[] high = new double[3];
+        final double[] low = new double[3];
+        final double[] close = new double[3];
+        filled.ohlc(serials, values, this.jan1, this.mar31, open, high, low, close);
+        Assert.assertEquals(1.0, open[0], 0.0);
+        Assert.assertEquals(2.0, high[0], 0.0);
+        Assert.assertEquals(2.0, open[1], 0.0);
+        Assert.assertEquals(2.0, low[1], 0.0);
+        Assert.assertEquals(3.0, close[2], 0.0);
+    }
+
+    public void testUnsorted() {
+        try {
+            Resampler.quarterly(Resampler.Fill.NONE).resample(
+                    new int[] {this.jan31, this.jan1}, new double[2], this.jan1, this.mar31,
+                    Resampler.Aggregation.SUM, new double[1]);
+            Assert.fail("Expected IllegalArgumentException.");
+        }
+        catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package org.jfree.date.junit;
+
+import java.util.EnumSet;
+
+import junit.framework.Assert;
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+import org.jfree.date.*;
+
+/**
+ * Tests for the {@link ScheduleGenerator} class.
+ */
+public class ScheduleGeneratorTests extends TestCase {
+
+    /**
+     * Returns a test suite for the JUnit test runner.
+     *
+     * @return the test suite.
+     */
+    public static Test suite() {
+        return new TestSuite(ScheduleGeneratorTests.class);
+    }
+
+    /**
+     * Creates a new test case.
+     *
+     * @param name  the name.
+     */
+    public ScheduleGeneratorTests(final String name) {
+        super(name);
+    }
+
+    private static int serial(int day, Month month, int year) {
+        return new SpreadsheetDate(day, month, year).toSerial();
+    }
+
+    private static void assertDates(int[] expected, int[] actual) {
+        Assert.assertEquals(expected.length, actual.length);
+        for (int i = 0; i < expected.length; i++) {
+            Assert.assertEquals("date " + i, expected[i], actual[i]);
+        }
+    }
+
+    /**
+     * A forward schedule with an odd end gets a short final stub.
+     */
+    public void testForwardShortFinalStub() {
+        final ScheduleGenerator generator = new ScheduleGenerator(
+                ScheduleGenerator.Frequency.SEMI_ANNUAL, ScheduleGenerator.Direction.FORWARD, false);
+        assertDates(new int[] {serial(15, Month.JANUARY, 2016), serial(15, Month.JULY, 2016),
+                        serial(15, Month.JANUARY, 2017), serial(1, Month.MARCH, 2017)},
+                generator.generate(serial(15, Month.JANUARY, 2016), serial(1, Month.MARCH, 2017)));
+    }
+
+    /**
+     * A backward schedule with an odd start gets a short first stub.
+     */
+    public void testBackwardShortFirstStub() {
+        final ScheduleGenerator generator = new ScheduleGenerator(
+                ScheduleGenerator.Frequency.QUARTERLY, ScheduleGenerator.Direction.BACKWARD, false);
+        assertDates(new int[] {serial(10, Month.FEBRUARY, 2016), serial(15, Month.MARCH, 2016),
+                        serial(15, Month.JUNE, 2016), serial(15, Month.SEPTEMBER, 2016)},
+                generator.generate(serial(10, Month.FEBRUARY, 2016), serial(15, Month.SEPTEMBER, 2016)));
+    }
+
+    /**
+     * With end-of-month rolling, a schedule anchored on 30 April stays on
+     * month ends; without it, the day is only clamped.
+     */
+    public void testEndOfMonth() {
+        final int effective = serial(30, Month.APRIL, 2015);
+        final int termination = serial(30, Month.APRIL, 2016);
+        final int[] eom = new ScheduleGenerator(ScheduleGenerator.Frequency.QUARTERLY,
+                ScheduleGenerator.Direction.FORWARD, true).generate(effective, termination);
+        assertDates(new int[] {effective, serial(31, Month.JULY, 2015),
+                serial(31, Month.OCTOBER, 2015), serial(31, Month.JANUARY, 2016), termination}, eom);
+        final int[] clamped = new ScheduleGenerator(ScheduleGenerator.Frequency.QUARTERLY,
+                ScheduleGenerator.Direction.FORWARD, false).generate(effective, termination);
+        assertDates(new int[] {effective, serial(30, Month.JULY, 2015),
+                serial(30, Month.OCTOBER, 2015), serial(30, Month.JANUARY, 2016), termination}, clamped);
+    }
+
+    /**
+     * Rolling counts from the anchor, so the 31st returns after February.
+     */
+    public void testRollDoesNotDrift() {
+        final int[] dates = new ScheduleGenerator(ScheduleGenerator.Frequency.MONTHLY,
+                ScheduleGenerator.Direction.FORWARD, false).generate(
+                serial(31, Month.JANUARY, 2016), serial(31, Month.MAY, 2016));
+        Assert.assertEquals(serial(29, Month.FEBRUARY, 2016), dates[1]);
+        Assert.assertEquals(serial(31, Month.MARCH, 2016), dates[2]);
+    }
+
+    /**
+     * An explicit first regular date gives a long front stub.
+     */
+    public void testForwardWithAnchor() {
+        final ScheduleGenerator generator = new ScheduleGenerator(
+                ScheduleGenerator.Frequency.ANNUAL, ScheduleGenerator.Direction.FORWARD, false);
+        assertDates(new int[] {serial(1, Month.JANUARY, 2016), serial(20, Month.JUNE, 2017),
+                        serial(20, Month.JUNE, 2018), serial(20, Month.JUNE, 2019)},
+                generator.generate(serial(1, Month.JANUARY, 2016), serial(20, Month.JUNE, 2017),
+                        serial(20, Month.JUNE, 2019)));
+    }
+
+    /**
+     * Checks the business day conventions around a month end that falls on
+     * a weekend.
+     */
+    public void testBusinessDayConventions() {
+        final BusinessDayCalendar calendar = new BusinessDayCalendar(
+                EnumSet.of(Day.SATURDAY, Day.SUNDAY), new DayDateSet());
+        final int saturday = serial(30, Month.APRIL, 2016);
+        final int sunday = serial(1, Month.MAY, 2016);
+        Assert.assertEquals(serial(2, Month.MAY, 2016),
+                ScheduleGenerator.BusinessDayConvention.FOLLOWING.adjust(saturday, calendar));
+        Assert.assertEquals(serial(29, Month.APRIL, 2016),
+                ScheduleGenerator.BusinessDayConvention.MODIFIED_FOLLOWING.adjust(saturday, calendar));
+        Assert.assertEquals(serial(29, Month.APRIL, 2016),
+                ScheduleGenerator.BusinessDayConvention.PRECEDING.adjust(sunday, calendar));
+        Assert.assertEquals(serial(2, Month.MAY, 2016),
+                ScheduleGenerator.BusinessDayConvention.MODIFIED_PRECEDING.adjust(sunday, calendar));
+        Assert.assertEquals(sunday,
+                ScheduleGenerator.BusinessDayConvention.UNADJUSTED.adjust(sunday, calendar));
+    }
+
+    /**
+     * The generator writes unadjusted and adjusted dates side by side.
+     */
+    public void testAdjustedAndUnadjusted() {
+        final BusinessDayCalendar calendar = new BusinessDayCalendar(new DayDateSet());
+        final ScheduleGenerator generator = new ScheduleGenerator(
+                ScheduleGenerator.Frequency.QUARTERLY, ScheduleGenerator.Direction.BACKWARD, true,
+                ScheduleGenerator.BusinessDayConvention.MODIFIED_FOLLOWING, calendar);
+        final int effective = serial(31, Month.MARCH, 2016);
+        final int termination = serial(31, Month.DECEMBER, 2016);
+        final int[] unadjusted = new int[generator.maxDates(effective, termination)];
+        final int[] adjusted = new int[unadjusted.length];
+        final int count = generator.generate(effective, termination, termination,
+                unadjusted, adjusted);
+        Assert.assertEquals(4, count);
+        Assert.assertEquals(serial(30, Month.SEPTEMBER, 2016), unadjusted[2]);
+        Assert.assertEquals(serial(30, Month.JUNE, 2016), unadjusted[1]);
+        Assert.assertEquals(serial(30, Month.DECEMBER, 2016), adjusted[3]);
+        Assert.assertEquals(serial(30, Month.SEPTEMBER, 2016), adjusted[2]);
+    }
+
+    /**
+     * An anchor outside the schedule is rejected.
+     */
+    public void testAnchorOutsideSchedule() {
+        final ScheduleGenerator generator = new ScheduleGenerator(
+                ScheduleGenerator.Frequency.ANNUAL, ScheduleGenerator.Direction.FORWARD, false);
+        try {
+            generator.generate(serial(1, Month.JANUARY, 2016), serial(1, Month.JANUARY, 2020),
+                    serial(1, Month.JANUARY, 2019));
+            fail("Expected an IllegalArgumentException.");
+        }
+        catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+}
@@ -0,0 +1,182 @@
+package org.jfree.date.junit;
+
+import junit.framework.Assert;
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+import org.jfree.date.*;
+
+/**
+ * Checks the closed-form serial number encoder and decoder in
+ * {@link SpreadsheetDate} against the original loop-based calculation, for
+ * every supported serial number.
+ */
+public class SpreadsheetDateCodecTests extends TestCase {
+
+    private static final int[] AGGREGATE_DAYS_TO_END_OF_PRECEDING_MONTH =
+            {0, 0, 31, 59, 90, 120, 151, 181, 212, 243, 273, 304, 334, 365};
+
+    private static final int[]
+            LEAP_YEAR_AGGREGATE_DAYS_TO_END_OF_PRECEDING_MONTH =
+            {0, 0, 31, 60, 91, 121, 152, 182, 213, 244, 274, 305, 335, 366};
+
+    /**
+     * Returns a test suite for the JUnit test runner.
+     *
+     * @return the test suite.
+     */
+    public static Test suite() {
+        return new TestSuite(SpreadsheetDateCodecTests.class);
+    }
+
+    /**
+     * Creates a new test case.
+     *
+     * @param name  the name.
+     */
+    public SpreadsheetDateCodecTests(final String name) {
+        super(name);
+    }
+
+    /**
+     * Every serial number decodes to the same day, month and year as before.
+     */
+    public void testDecodeMatchesOriginal() {
+        for (int serial = SpreadsheetDate.SERIAL_LOWER_BOUND;
+             serial <= SpreadsheetDate.SERIAL_UPPER_BOUND; serial++) {
+            final int expected = originalDayMonthYear(serial);
+            final int packed = SpreadsheetDate.decodeSerial(serial);
+            if (packed != expected) {
+                Assert.assertEquals("serial " + serial, expected, packed);
+            }
+        }
+    }
+
+    /**
+     * Every day, month and year encodes to the same serial number as before.
+     */
+    public void testEncodeMatchesOriginal() {
+        for (int serial = SpreadsheetDate.SERIAL_LOWER_BOUND;
+             serial <= SpreadsheetDate.SERIAL_UPPER_BOUND; serial++) {
+            final int packed = originalDayMonthYear(serial);
+            final int d = SpreadsheetDate.packedDay(packed);
+            final int m = SpreadsheetDate.packedMonth(packed);
+            final int y = SpreadsheetDate.packedYear(packed);
+            final int encoded = SpreadsheetDate.encodeSerial(d, m, y);
+            if (encoded != originalSerial(d, m, y)) {
+                Assert.assertEquals(d + "-" + m + "-" + y,
+                        originalSerial(d, m, y), encoded);
+            }
+            if (encoded != serial) {
+                Assert.assertEquals(d + "-" + m + "-" + y, serial, encoded);
+            }
+        }
+    }
+
+    /**
+     * The lookup tables agree with the arithmetic for every serial number.
+     */
+    public void testLookupTableMatchesArithmetic() {
+        for (int serial = SpreadsheetDate.SERIAL_LOWER_BOUND;
+             serial <= SpreadsheetDate.SERIAL_UPPER_BOUND; serial++) {
+            final int packed = SpreadsheetDate.decodeSerial(serial);
+            if (SerialLookupTable.decodeSerial(serial) != packed) {
+                Assert.assertEquals("serial " + serial, packed,
+                        SerialLookupTable.decodeSerial(serial));
+            }
+            final int encoded = SerialLookupTable.encodeSerial(
+                    SpreadsheetDate.packedDay(packed),
+                    SpreadsheetDate.packedMonth(packed),
+                    SpreadsheetDate.packedYear(packed));
+            if (encoded != serial) {
+                Assert.assertEquals("serial " + serial, serial, encoded);
+            }
+        }
+    }
+
+    /**
+     * Dates made by the lookup table factory behave like any other date.
+     */
+    public void testLookupTableFactory() {
+        DayDateFactory.setInstance(new LookupTableSpreadSheetFactory());
+        try {
+            final DayDate d = DayDateFactory.makeDate(36585);
+            Assert.assertEquals(29, d.getDayOfMonth());
+            Assert.assertEquals(Month.FEBRUARY.index, d.getMonth());
+            Assert.assertEquals(2000, d.getYYYY());
+            Assert.assertEquals(new SpreadsheetDate(36585), d);
+        }
+        finally {
+            DayDateFactory.setInstance(new SpreadSheetFactory());
+        }
+    }
+
+    /**
+     * The packed accessors pick out the right fields.
+     */
+    public void testPackedFields() {
+        final int packed = SpreadsheetDate.decodeSerial(SpreadsheetDate.SERIAL_UPPER_BOUND);
+        Assert.assertEquals(31, SpreadsheetDate.packedDay(packed));
+        Assert.assertEquals(12, SpreadsheetDate.packedMonth(packed));
+        Assert.assertEquals(9999, SpreadsheetDate.packedYear(packed));
+    }
+
+    /**
+     * The serial number calculation that SpreadsheetDate used before the
+     * closed-form encoder.
+     */
+    private static int originalSerial(final int d, final int m, final int y) {
+        final int yy = ((y - 1900) * 365) + SpreadsheetDate.leapYearCount(y - 1);
+        int mm = AGGREGATE_DAYS_TO_END_OF_PRECEDING_MONTH[m];
+        if (m > Month.FEBRUARY.index) {
+            if (DayDate.isLeapYear(y)) {
+                mm = mm + 1;
+            }
+        }
+        return yy + mm + d + 1;
+    }
+
+    /**
+     * The day, month and year calculation that SpreadsheetDate used before
+     * the closed-form decoder, packed in the same way.
+     */
+    private static int originalDayMonthYear(final int serial) {
+        final int days = serial - SpreadsheetDate.SERIAL_LOWER_BOUND;
+        final int overestimatedYYYY = 1900 + (days / 365);
+        final int leaps = SpreadsheetDate.leapYearCount(overestimatedYYYY);
+        final int nonleapdays = days - leaps;
+        int underestimatedYYYY = 1900 + (nonleapdays / 365);
+
+        final int year;
+        if (underestimatedYYYY == overestimatedYYYY) {
+            year = underestimatedYYYY;
+        }
+        else {
+            int ss1 = originalSerial(1, 1, underestimatedYYYY);
+            while (ss1 <= serial) {
+                underestimatedYYYY = underestimatedYYYY + 1;
+                ss1 = originalSerial(1, 1, underestimatedYYYY);
+            }
+            year = underestimatedYYYY - 1;
+        }
+
+        final int ss2 = originalSerial(1, 1, year);
+
+        int[] daysToEndOfPrecedingMonth = AGGREGATE_DAYS_TO_END_OF_PRECEDING_MONTH;
+        if (DayDate.isLeapYear(year)) {
+            daysToEndOfPrecedingMonth = LEAP_YEAR_AGGREGATE_DAYS_TO_END_OF_PRECEDING_MONTH;
+        }
+
+        int mm = 1;
+        int sss = ss2 + daysToEndOfPrecedingMonth[mm] - 1;
+        while (sss < serial) {
+            mm = mm + 1;
+            sss = ss2 + daysToEndOfPrecedingMonth[mm] - 1;
+        }
+        final int month = mm - 1;
+        final int day = serial - ss2 - daysToEndOfPrecedingMonth[month] + 1;
+
+        return (year << 9) | (month << 5) | day;
+    }
+
+}
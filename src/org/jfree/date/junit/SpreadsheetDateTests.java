@@ -302,4 +302,27 @@ public class SpreadsheetDateTests extends TestCase {
 
     }
 
+    /**
+     * The day, month and year are not serialized, so a restored instance
+     * must decode them again from the serial number.
+     */
+    public void testSerializationRestoresDayMonthYear() throws Exception {
+
+        final SpreadsheetDate d1 = new SpreadsheetDate(29, Month.FEBRUARY, 2004);
+
+        final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        final ObjectOutput out = new ObjectOutputStream(buffer);
+        out.writeObject(d1);
+        out.close();
+
+        final ObjectInput in = new ObjectInputStream(new ByteArrayInputStream(buffer.toByteArray()));
+        final SpreadsheetDate d2 = (SpreadsheetDate) in.readObject();
+        in.close();
+
+        Assert.assertEquals(29, d2.getDayOfMonth());
+        Assert.assertEquals(Month.FEBRUARY, Month.make(d2.getMonth()));
+        Assert.assertEquals(2004, d2.getYYYY());
+
+    }
+
 }